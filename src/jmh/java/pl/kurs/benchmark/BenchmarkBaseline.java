@@ -0,0 +1,105 @@
+package pl.kurs.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Compares a JMH JSON result file with the committed baseline and fails when a benchmark got slower by more
+ * than the tolerance and by more than the combined score errors. Merges the results into the baseline
+ * when asked to, or when no baseline exists yet, so a run of a single benchmark class only replaces its own entries.
+ * <p>
+ * Arguments: results file, baseline file, tolerance (e.g. 0.10), update baseline (true/false).
+ */
+public final class BenchmarkBaseline {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BenchmarkBaseline() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path results = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double tolerance = Double.parseDouble(args[2]);
+        boolean updateBaseline = Boolean.parseBoolean(args[3]);
+
+        if (!Files.exists(results)) {
+            System.out.println("[BENCHMARK] No results at " + results);
+            return;
+        }
+        Map<String, JsonNode> currentRuns = read(results);
+        if (updateBaseline || !Files.exists(baseline)) {
+            Map<String, JsonNode> baselineRuns = Files.exists(baseline) ? read(baseline) : new TreeMap<>();
+            baselineRuns.putAll(currentRuns);
+            Files.createDirectories(baseline.getParent());
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(baseline.toFile(), baselineRuns.values());
+            System.out.println("[BENCHMARK] Baseline recorded at " + baseline + " (" + currentRuns.size() + " runs updated)");
+            return;
+        }
+
+        Map<String, JsonNode> baselineRuns = read(baseline);
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : currentRuns.entrySet()) {
+            Score current = Score.of(entry.getValue());
+            JsonNode baselineRun = baselineRuns.get(entry.getKey());
+            if (baselineRun == null) {
+                System.out.println("[BENCHMARK] " + entry.getKey() + ": " + current + " (new)");
+                continue;
+            }
+            Score previous = Score.of(baselineRun);
+            double change = (current.score() - previous.score()) / previous.score();
+            String line = entry.getKey() + ": " + previous + " -> " + current + String.format(" (%+.1f%%)", change * 100);
+            System.out.println("[BENCHMARK] " + line);
+            if (current.isRegressionOf(previous, tolerance)) {
+                regressions.add(line);
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException("Benchmark regressions over " + Math.round(tolerance * 100) + "%:\n"
+                                            + String.join("\n", regressions));
+        }
+        System.out.println("[BENCHMARK] No regressions over " + Math.round(tolerance * 100) + "% against " + baseline);
+    }
+
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> runs = new TreeMap<>();
+        for (JsonNode run : OBJECT_MAPPER.readTree(file.toFile())) {
+            JsonNode params = run.path("params");
+            List<String> names = new ArrayList<>();
+            params.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+            StringJoiner paramsKey = new StringJoiner(", ", " [", "]").setEmptyValue("");
+            for (String name : names) {
+                paramsKey.add(name + "=" + params.path(name).asText());
+            }
+            runs.put(run.path("benchmark").asText() + paramsKey, run);
+        }
+        return runs;
+    }
+
+    private record Score(String mode, double score, double error, String unit) {
+
+        static Score of(JsonNode run) {
+            JsonNode metric = run.path("primaryMetric");
+            return new Score(run.path("mode").asText(), metric.path("score").asDouble(),
+                    metric.path("scoreError").asDouble(0), metric.path("scoreUnit").asText());
+        }
+
+        boolean isRegressionOf(Score previous, double tolerance) {
+            double difference = mode.equals("thrpt") ? previous.score - score : score - previous.score;
+            double safeError = Double.isNaN(error) ? 0 : error;
+            double safePreviousError = Double.isNaN(previous.error) ? 0 : previous.error;
+            return difference > previous.score * tolerance && difference > safeError + safePreviousError;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.3f %s", score, unit);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package pl.kurs.benchmark;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.kurs.Application;
+import pl.kurs.service.CarAvailabilityIndex;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts the application without a web server on the embedded H2 database of the test profile and
+ * bulk-loads benchmark data with set-based inserts.
+ */
+final class BenchmarkContext {
+    static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    static final int RESERVATION_DAYS = 700;
+    private static final int ID_ALLOCATION = 50;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... arguments) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("tracing.enabled", "false");
+        for (String argument : arguments) {
+            String[] property = argument.split("=", 2);
+            properties.put(property[0], property[1]);
+        }
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .profiles("test")
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    static void seed(ConfigurableApplicationContext context, int cars, int customers, int reservations) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("""
+                INSERT INTO cars (id, producer, model, year_of_production, registration_number, price_per_day, booking_version)
+                SELECT X, 'Producer' || MOD(X, 50), 'Model' || MOD(X, 20), 2000 + MOD(X, 25), 'B' || X, 100, 0
+                FROM SYSTEM_RANGE(1, ?)
+                """, cars);
+        jdbcTemplate.update("""
+                INSERT INTO customers (id, first_name, last_name, e_mail, phone_number, driving_license_number)
+                SELECT X, 'First' || MOD(X, 500), 'Last' || MOD(X, 1000), 'b' || X || '@mail.com', 'C' || X, 'L' || X
+                FROM SYSTEM_RANGE(1, ?)
+                """, customers);
+        jdbcTemplate.update("""
+                INSERT INTO reservations (id, car_id, customer_id, start_date, end_date, total_amount, status)
+                SELECT X, 1 + MOD(X, ?), 1 + MOD(X, ?),
+                       DATEADD('DAY', MOD(X, ?), CAST(? AS DATE)), DATEADD('DAY', MOD(X, ?) + 1 + MOD(X, 5), CAST(? AS DATE)), 500,
+                       CASE MOD(X, 4) WHEN 0 THEN 'RESERVED' WHEN 1 THEN 'RENTED' WHEN 2 THEN 'FINISHED' ELSE 'CANCELED' END
+                FROM SYSTEM_RANGE(1, ?)
+                """, cars, customers, RESERVATION_DAYS, FIRST_DAY, RESERVATION_DAYS, FIRST_DAY, reservations);
+        jdbcTemplate.execute("ALTER SEQUENCE cars_id_seq RESTART WITH " + (cars + ID_ALLOCATION));
+        jdbcTemplate.execute("ALTER SEQUENCE customers_id_seq RESTART WITH " + (customers + ID_ALLOCATION));
+        jdbcTemplate.execute("ALTER SEQUENCE reservations_id_seq RESTART WITH " + (reservations + ID_ALLOCATION));
+        jdbcTemplate.execute("ANALYZE");
+        context.getBean(CarAvailabilityIndex.class).rebuild();
+    }
+}
@@ -0,0 +1,73 @@
+package pl.kurs.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.kurs.entity.Car;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for persisting {@value #ROWS} cars in one transaction with {@code IDENTITY} ids, which make
+ * Hibernate insert row by row, against the pooled sequences that let it send JDBC batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BulkInsertBenchmark.ROWS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class BulkInsertBenchmark {
+    static final int ROWS = 100_000;
+    private static final int FLUSH_EVERY = 1_000;
+    private static final BigDecimal PRICE_PER_DAY = new BigDecimal("100.00");
+
+    @Param({"identity", "sequence"})
+    private String ids;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteRows() {
+        jdbcTemplate.execute(ids.equals("identity") ? "DELETE FROM benchmark_identity_cars" : "DELETE FROM cars");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void insertRows() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            for (int i = 0; i < ROWS; i++) {
+                String registrationNumber = "BI" + i;
+                entityManager.persist(ids.equals("identity")
+                        ? new IdentityCar("Producer" + i % 50, "Model" + i % 20, 2020, registrationNumber, PRICE_PER_DAY)
+                        : new Car("Producer" + i % 50, "Model" + i % 20, 2020, registrationNumber, PRICE_PER_DAY));
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
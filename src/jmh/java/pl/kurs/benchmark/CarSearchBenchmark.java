@@ -0,0 +1,111 @@
+package pl.kurs.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.kurs.entity.Car;
+import pl.kurs.repository.CarRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Specification-based car searches against the catch-all {@code (x = :x OR :x IS NULL)} JPQL they replaced,
+ * for every combination of supplied filters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarSearchBenchmark {
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+    private static final LocalDate START_DATE = BenchmarkContext.FIRST_DAY.plusDays(100);
+    private static final LocalDate END_DATE = START_DATE.plusDays(3);
+    private static final String LEGACY_FILTER =
+            "(c.producer = :producer OR :producer IS NULL) AND (c.model = :model OR :model IS NULL)";
+    private static final String LEGACY_AVAILABILITY = " AND c.id NOT IN (SELECT r.car.id FROM Reservation r WHERE " +
+            "r.status IN ('RESERVED', 'RENTED') AND r.startDate < :endDate AND r.endDate > :startDate)";
+
+    @Param({"1000000"})
+    private int cars;
+
+    @Param({"5000"})
+    private int customers;
+
+    @Param({"1000000"})
+    private int reservations;
+
+    @Param({"producerAndModel", "producer", "model", "none"})
+    private String filter;
+
+    private ConfigurableApplicationContext context;
+    private CarRepository carRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private String producer;
+    private String model;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, cars, customers, reservations);
+        carRepository = context.getBean(CarRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        producer = filter.startsWith("producer") ? "Producer7" : null;
+        model = filter.equals("model") || filter.endsWith("AndModel") ? "Model7" : null;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Car> specificationSearch() {
+        return carRepository.findByProducerAndModel(producer, model, PAGE);
+    }
+
+    @Benchmark
+    public Page<Car> legacySearch() {
+        return readOnlyTransaction.execute(status -> legacyPage(LEGACY_FILTER, false));
+    }
+
+    @Benchmark
+    public Page<Car> specificationAvailableCars() {
+        return carRepository.findAvailableCars(producer, model, START_DATE, END_DATE, PAGE);
+    }
+
+    @Benchmark
+    public Page<Car> legacyAvailableCars() {
+        return readOnlyTransaction.execute(status -> legacyPage(LEGACY_FILTER + LEGACY_AVAILABILITY, true));
+    }
+
+    private Page<Car> legacyPage(String where, boolean withDates) {
+        TypedQuery<Car> query = entityManager.createQuery("SELECT c FROM Car c WHERE " + where, Car.class)
+                .setParameter("producer", producer)
+                .setParameter("model", model)
+                .setFirstResult((int) PAGE.getOffset())
+                .setMaxResults(PAGE.getPageSize());
+        TypedQuery<Long> countQuery = entityManager.createQuery("SELECT count(c) FROM Car c WHERE " + where, Long.class)
+                .setParameter("producer", producer)
+                .setParameter("model", model);
+        if (withDates) {
+            query.setParameter("startDate", START_DATE).setParameter("endDate", END_DATE);
+            countQuery.setParameter("startDate", START_DATE).setParameter("endDate", END_DATE);
+        }
+        List<Car> content = query.getResultList();
+        return new PageImpl<>(content, PAGE, countQuery.getSingleResult());
+    }
+}
@@ -0,0 +1,74 @@
+package pl.kurs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import pl.kurs.dto.FleetAvailabilityDto;
+import pl.kurs.dto.ReservationPeriodDto;
+import pl.kurs.entity.Car;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.ReservationRepository;
+import pl.kurs.service.FleetAvailabilityService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds the fleet calendar from in-memory cars and periods, isolating the bitmap sweep and row rendering
+ * from the two queries. {@link ReservationQueryBenchmark#fleetCalendar()} measures the same call end to end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FleetCalendarBenchmark {
+    private static final LocalDate FROM = LocalDate.of(2025, 5, 1);
+
+    @Param({"10000"})
+    private int cars;
+
+    @Param({"90"})
+    private int days;
+
+    @Param({"4"})
+    private int reservationsPerCar;
+
+    private FleetAvailabilityService fleetAvailabilityService;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        List<Car> fleet = new ArrayList<>(cars);
+        List<ReservationPeriodDto> periods = new ArrayList<>(cars * reservationsPerCar);
+        long reservationId = 1;
+        for (long carId = 1; carId <= cars; carId++) {
+            Car car = new Car("Producer", "Model", 2020, "FC " + carId, new BigDecimal("100.00"));
+            car.setId(carId);
+            fleet.add(car);
+            for (int i = 0; i < reservationsPerCar; i++) {
+                LocalDate startDate = FROM.plusDays((carId * 7 + i * (long) days / reservationsPerCar) % days);
+                periods.add(new ReservationPeriodDto(reservationId++, carId, startDate, startDate.plusDays(1 + (carId + i) % 7)));
+            }
+        }
+
+        CarRepository carRepository = mock(CarRepository.class);
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(carRepository.findAll(any(Specification.class), any(Sort.class))).thenReturn(fleet);
+        when(reservationRepository.findActivePeriodsBetween(any(), any())).thenReturn(periods);
+        fleetAvailabilityService = new FleetAvailabilityService(carRepository, reservationRepository);
+    }
+
+    @Benchmark
+    public FleetAvailabilityDto calendar() {
+        return fleetAvailabilityService.getCalendar(null, null, FROM, FROM.plusDays(days - 1));
+    }
+}
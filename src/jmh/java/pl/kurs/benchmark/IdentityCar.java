@@ -0,0 +1,46 @@
+package pl.kurs.benchmark;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Copy of the car mapping with the {@code IDENTITY} ids the entities used before, so bulk inserts can be
+ * measured against the pooled sequences. Only present on the benchmark classpath.
+ */
+@Entity
+@Table(name = "benchmark_identity_cars")
+public class IdentityCar {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String producer;
+
+    @Column(nullable = false)
+    private String model;
+
+    @Column(name = "year_of_production", nullable = false)
+    private Integer yearOfProduction;
+
+    @Column(name = "registration_number", length = 10, nullable = false, unique = true)
+    private String registrationNumber;
+
+    @Column(name = "price_per_day", precision = 6, scale = 2, nullable = false)
+    private BigDecimal pricePerDay;
+
+    @Column(name = "booking_version", nullable = false)
+    private Long bookingVersion = 0L;
+
+    protected IdentityCar() {
+    }
+
+    public IdentityCar(String producer, String model, Integer yearOfProduction, String registrationNumber, BigDecimal pricePerDay) {
+        this.producer = producer;
+        this.model = model;
+        this.yearOfProduction = yearOfProduction;
+        this.registrationNumber = registrationNumber;
+        this.pricePerDay = pricePerDay;
+    }
+}
@@ -0,0 +1,67 @@
+package pl.kurs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.kurs.dto.CarDto;
+import pl.kurs.dto.ReservationDto;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.entity.Reservation;
+import pl.kurs.entity.Status;
+import pl.kurs.mapper.CarMapper;
+import pl.kurs.mapper.CarMapperImpl;
+import pl.kurs.mapper.ReservationMapper;
+import pl.kurs.mapper.ReservationMapperImpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final CarMapper carMapper = new CarMapperImpl();
+    private final ReservationMapper reservationMapper = new ReservationMapperImpl();
+
+    private Car car;
+    private CarDto carDto;
+    private Reservation reservation;
+    private ReservationDto reservationDto;
+
+    @Setup
+    public void setUp() {
+        car = new Car("BMW", "M5", 2025, "WA 12345", new BigDecimal("1000.00"));
+        car.setId(1L);
+        carDto = carMapper.entityToDto(car);
+
+        Customer customer = new Customer("Jan", "Kowalski", "j.kowal@gmail.com", "505606707", "PPX 12512");
+        customer.setId(1L);
+        reservation = new Reservation(car, customer, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 10),
+                new BigDecimal("9000.00"), Status.RESERVED);
+        reservation.setId(1L);
+        reservationDto = reservationMapper.entityToDto(reservation);
+    }
+
+    @Benchmark
+    public CarDto carEntityToDto() {
+        return carMapper.entityToDto(car);
+    }
+
+    @Benchmark
+    public Car carDtoToEntity() {
+        return carMapper.dtoToEntityWithId(carDto);
+    }
+
+    @Benchmark
+    public ReservationDto reservationEntityToDto() {
+        return reservationMapper.entityToDto(reservation);
+    }
+
+    @Benchmark
+    public Reservation reservationDtoToEntity() {
+        return reservationMapper.dtoToEntityWithId(reservationDto);
+    }
+}
@@ -0,0 +1,68 @@
+package pl.kurs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import pl.kurs.entity.Reservation;
+import pl.kurs.repository.ReservationRepository;
+import pl.kurs.service.ReservationService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of reservations with a fresh {@code count(*)}, with the total from {@link pl.kurs.service.TotalCountCache}
+ * ({@code withTotal=true}) and as a slice without a total ({@code withTotal=false}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationBenchmark {
+    private static final int PAGE = 10;
+    private static final int SIZE = 20;
+
+    @Param({"10000"})
+    private int cars;
+
+    @Param({"5000"})
+    private int customers;
+
+    @Param({"1000000"})
+    private int reservations;
+
+    private ConfigurableApplicationContext context;
+    private ReservationRepository reservationRepository;
+    private ReservationService reservationService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("pagination.total-count.max-staleness=30s");
+        BenchmarkContext.seed(context, cars, customers, reservations);
+        reservationRepository = context.getBean(ReservationRepository.class);
+        reservationService = context.getBean(ReservationService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Reservation> pageWithCount() {
+        return reservationRepository.findAll(PageRequest.of(PAGE, SIZE));
+    }
+
+    @Benchmark
+    public Page<Reservation> pageWithCachedTotal() {
+        return reservationService.getAll(PAGE, SIZE);
+    }
+
+    @Benchmark
+    public Slice<Reservation> sliceWithoutTotal() {
+        return reservationService.getAllSlice(PAGE, SIZE);
+    }
+}
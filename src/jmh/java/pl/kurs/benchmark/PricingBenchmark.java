@@ -0,0 +1,127 @@
+package pl.kurs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.kurs.dto.LongRentalDiscountDto;
+import pl.kurs.dto.QuoteDto;
+import pl.kurs.dto.QuoteRequestDto;
+import pl.kurs.dto.SeasonRateDto;
+import pl.kurs.entity.Car;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.service.PricingProperties;
+import pl.kurs.service.PricingService;
+import pl.kurs.service.RateTable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Prices a single rental with the compiled rate table and with straightforward per-day {@code BigDecimal}
+ * arithmetic over the same rules, and a batch of quotes through {@link PricingService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+    private static final LocalDate START_DATE = LocalDate.of(2025, 6, 10);
+    private static final BigDecimal PRICE_PER_DAY = new BigDecimal("249.99");
+    private static final int QUOTES = 5_000;
+    private static final int CARS = 500;
+
+    @Param({"3", "14", "60"})
+    private int days;
+
+    private PricingProperties rules;
+    private RateTable rateTable;
+    private MonthDay[][] seasonRanges;
+    private PricingService pricingService;
+    private List<QuoteRequestDto> quoteRequests;
+
+    @Setup
+    public void setUp() {
+        rules = new PricingProperties();
+        rules.setWeekendSurchargePercent(20);
+        rules.setSeasons(List.of(
+                new SeasonRateDto("summer", "06-15", "08-31", 25),
+                new SeasonRateDto("winter-holidays", "12-20", "01-06", 15)));
+        rules.setLongRentalDiscounts(List.of(new LongRentalDiscountDto(7, 10), new LongRentalDiscountDto(30, 25)));
+        rateTable = RateTable.compile(rules);
+        seasonRanges = rules.getSeasons().stream()
+                .map(season -> new MonthDay[]{MonthDay.parse("--" + season.getFrom()), MonthDay.parse("--" + season.getTo())})
+                .toArray(MonthDay[][]::new);
+
+        List<Car> cars = new ArrayList<>(CARS);
+        for (long id = 1; id <= CARS; id++) {
+            Car car = new Car("Producer", "Model", 2020, "PB " + id, new BigDecimal(100 + id));
+            car.setId(id);
+            cars.add(car);
+        }
+        CarRepository carRepository = mock(CarRepository.class);
+        when(carRepository.findAllById(any())).thenReturn(cars);
+        pricingService = new PricingService(rules, carRepository);
+
+        quoteRequests = new ArrayList<>(QUOTES);
+        for (int i = 0; i < QUOTES; i++) {
+            LocalDate startDate = START_DATE.plusDays(i % 120);
+            quoteRequests.add(new QuoteRequestDto(1L + i % CARS, startDate, startDate.plusDays(days)));
+        }
+    }
+
+    @Benchmark
+    public long rateTable() {
+        return rateTable.quote(24_999, START_DATE, days);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalPerDay() {
+        BigDecimal weekendMultiplier = BigDecimal.ONE.add(BigDecimal.valueOf(rules.getWeekendSurchargePercent(), 2));
+        BigDecimal total = BigDecimal.ZERO;
+        LocalDate date = START_DATE;
+        for (int day = 0; day < days; day++, date = date.plusDays(1)) {
+            MonthDay monthDay = MonthDay.from(date);
+            BigDecimal rate = BigDecimal.ONE;
+            for (int season = 0; season < seasonRanges.length; season++) {
+                if (inSeason(monthDay, seasonRanges[season])) {
+                    rate = rate.add(BigDecimal.valueOf(rules.getSeasons().get(season).getSurchargePercent(), 2));
+                }
+            }
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                rate = rate.multiply(weekendMultiplier);
+            }
+            total = total.add(PRICE_PER_DAY.multiply(rate));
+        }
+        int discountPercent = 0;
+        for (LongRentalDiscountDto discount : rules.getLongRentalDiscounts()) {
+            if (days >= discount.getMinDays()) {
+                discountPercent = Math.max(discountPercent, discount.getDiscountPercent());
+            }
+        }
+        return total.multiply(BigDecimal.ONE.subtract(BigDecimal.valueOf(discountPercent, 2)))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUOTES)
+    public List<QuoteDto> quoteBatch() {
+        return pricingService.quote(quoteRequests);
+    }
+
+    private static boolean inSeason(MonthDay monthDay, MonthDay[] range) {
+        if (range[0].isAfter(range[1])) {
+            return !monthDay.isBefore(range[0]) || !monthDay.isAfter(range[1]);
+        }
+        return !monthDay.isBefore(range[0]) && !monthDay.isAfter(range[1]);
+    }
+}
@@ -0,0 +1,48 @@
+package pl.kurs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import pl.kurs.service.ExportFormat;
+import pl.kurs.service.ReservationExportService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for exporting {@value #ROWS} reservations as CSV and NDJSON with a fixed 1 GB heap, most of it
+ * taken by the seeded H2 database; add {@code -prof gc} for the allocation per row and the GC time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ReservationExportBenchmark.ROWS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class ReservationExportBenchmark {
+    static final int ROWS = 1_000_000;
+
+    @Param({"CSV", "NDJSON"})
+    private ExportFormat format;
+
+    private ConfigurableApplicationContext context;
+    private ReservationExportService reservationExportService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, 10_000, 5_000, ROWS);
+        reservationExportService = context.getBean(ReservationExportService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        return reservationExportService.exportReservations(format, OutputStream.nullOutputStream());
+    }
+}
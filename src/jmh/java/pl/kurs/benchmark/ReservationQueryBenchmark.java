@@ -0,0 +1,92 @@
+package pl.kurs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import pl.kurs.dto.FleetAvailabilityDto;
+import pl.kurs.entity.Car;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.ReservationRepository;
+import pl.kurs.service.CarAvailabilityIndex;
+import pl.kurs.service.CarService;
+import pl.kurs.service.FleetAvailabilityService;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap checks, availability searches and the fleet calendar against the embedded H2 database, each
+ * next to the in-memory index path where one exists. H2 has only the primary and foreign key indexes;
+ * the PostgreSQL indexes from the Liquibase changelog are not part of this schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationQueryBenchmark {
+    private static final long CAR_ID = 42L;
+    private static final LocalDate START_DATE = BenchmarkContext.FIRST_DAY.plusDays(100);
+    private static final LocalDate END_DATE = START_DATE.plusDays(3);
+    private static final int CALENDAR_DAYS = 90;
+
+    @Param({"10000"})
+    private int cars;
+
+    @Param({"5000"})
+    private int customers;
+
+    @Param({"1000000"})
+    private int reservations;
+
+    private ConfigurableApplicationContext context;
+    private ReservationRepository reservationRepository;
+    private CarRepository carRepository;
+    private CarAvailabilityIndex carAvailabilityIndex;
+    private CarService carService;
+    private FleetAvailabilityService fleetAvailabilityService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, cars, customers, reservations);
+        reservationRepository = context.getBean(ReservationRepository.class);
+        carRepository = context.getBean(CarRepository.class);
+        carAvailabilityIndex = context.getBean(CarAvailabilityIndex.class);
+        carService = context.getBean(CarService.class);
+        fleetAvailabilityService = context.getBean(FleetAvailabilityService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean overlapCheckQuery() {
+        return reservationRepository.existsOverlap(CAR_ID, START_DATE, END_DATE);
+    }
+
+    @Benchmark
+    public boolean overlapCheckIndex() {
+        return carAvailabilityIndex.isBooked(CAR_ID, START_DATE, END_DATE);
+    }
+
+    @Benchmark
+    public Page<Car> availableCarsQuery() {
+        return carRepository.findAvailableCars("Producer7", null, START_DATE, END_DATE, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<Car> availableCarsIndex() {
+        return carService.getByProducerAndModelAndAvailable("Producer7", null, START_DATE, END_DATE, 0, 20);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public FleetAvailabilityDto fleetCalendar() {
+        return fleetAvailabilityService.getCalendar(null, null, START_DATE, START_DATE.plusDays(CALENDAR_DAYS - 1));
+    }
+}
@@ -0,0 +1,58 @@
+package pl.kurs.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pl.kurs.dto.CarDto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a page of cars the way the list endpoints do ({@code VIA_DTO} page serialization) as JSON and as XML.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper jsonMapper;
+    private XmlMapper xmlMapper;
+    private PagedModel<CarDto> page;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        xmlMapper = Jackson2ObjectMapperBuilder.xml().build();
+
+        List<CarDto> cars = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            cars.add(new CarDto(id, "Producer" + id % 50, "Model" + id % 20, 2000 + (int) (id % 25),
+                    "WA " + (10_000 + id), new BigDecimal("250.00")));
+        }
+        page = new PagedModel<>(new PageImpl<>(cars, PageRequest.of(0, pageSize), 10_000));
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] xml() throws JsonProcessingException {
+        return xmlMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,33 @@
+package pl.kurs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.kurs.entity.Status;
+import pl.kurs.exception.StatusNotFoundException;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusBenchmark {
+
+    @Param({"RESERVED", "rented", " Canceled "})
+    private String statusName;
+
+    @Benchmark
+    public Status fromString() {
+        return Status.fromString(statusName);
+    }
+
+    @Benchmark
+    public String unknownStatus() {
+        try {
+            return Status.fromString("LOST").getValue();
+        } catch (StatusNotFoundException exception) {
+            return exception.getMessage();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package pl.kurs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.kurs.dto.ReservationReminderDto;
+import pl.kurs.template.BoundTemplate;
+import pl.kurs.template.CompiledTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the reminder body rendered with the former {@code String.format} call against the precompiled
+ * classpath template that replaced it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+    private static final String CUSTOMER_REMINDER_FORMAT =
+            "Hi %s!\n\n" +
+            "We remind you about tomorrow's car rental!\n\n" +
+            "Car: %s %s\n" +
+            "Reservation id: %s\n\n" +
+            "Please arrive on time with your documents:\n" +
+            "- driving license number: %s\n\n" +
+            "If you have any questions, please contact us.\n\n" +
+            "Best regards,\n" +
+            "Rental Team!";
+
+    private static final Map<String, Function<ReservationReminderDto, ?>> VARIABLES = Map.of(
+            "reservationId", ReservationReminderDto::getReservationId,
+            "customerFirstName", ReservationReminderDto::getCustomerFirstName,
+            "carProducer", ReservationReminderDto::getCarProducer,
+            "carModel", ReservationReminderDto::getCarModel,
+            "customerDrivingLicenseNumber", ReservationReminderDto::getCustomerDrivingLicenseNumber);
+
+    private BoundTemplate<ReservationReminderDto> template;
+    private ReservationReminderDto reminder;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream source = getClass().getResourceAsStream("/templates/reminders/customer-reminder.txt")) {
+            template = CompiledTemplate.compile(new String(source.readAllBytes(), StandardCharsets.UTF_8)).bind(VARIABLES);
+        }
+        reminder = new ReservationReminderDto(42L, "Jan", "Kowalski", "j.kowal@gmail.com", "505606707",
+                "PPX 12512", "BMW", "M5", "WA 12345");
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(CUSTOMER_REMINDER_FORMAT,
+                reminder.getCustomerFirstName(),
+                reminder.getCarProducer(),
+                reminder.getCarModel(),
+                reminder.getReservationId(),
+                reminder.getCustomerDrivingLicenseNumber());
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return template.render(reminder);
+    }
+}
@@ -0,0 +1,57 @@
+package pl.kurs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import pl.kurs.entity.Car;
+import pl.kurs.service.PricingService;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the service tracing aspect around a cheap, database-free service call. Trace output is discarded
+ * so the appender's console writes do not compete with the measured thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TracingAspectBenchmark {
+    private static final LocalDate START_DATE = LocalDate.of(2025, 3, 3);
+
+    @Param({"off", "sampled", "on"})
+    private String tracing;
+
+    private PrintStream originalOut;
+    private ConfigurableApplicationContext context;
+    private PricingService pricingService;
+    private Car car;
+
+    @Setup
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        context = BenchmarkContext.start(
+                "tracing.enabled=" + !tracing.equals("off"),
+                "tracing.sample-rate=" + (tracing.equals("sampled") ? "0.01" : "1.0"));
+        pricingService = context.getBean(PricingService.class);
+        car = new Car("BMW", "M5", 2025, "WA 12345", new BigDecimal("1000.00"));
+        car.setId(1L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public BigDecimal price() {
+        return pricingService.price(car, START_DATE, START_DATE.plusDays(3));
+    }
+}
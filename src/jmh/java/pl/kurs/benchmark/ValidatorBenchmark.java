@@ -0,0 +1,56 @@
+package pl.kurs.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import pl.kurs.dto.ReservationDto;
+import pl.kurs.validation.Create;
+import pl.kurs.validation.EndDateAfterStartDateValidator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+    private final EndDateAfterStartDateValidator endDateValidator = new EndDateAfterStartDateValidator();
+
+    @Param({"true", "false"})
+    private boolean validDates;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ReservationDto reservationDto;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        LocalDate startDate = LocalDate.of(2025, 7, 1);
+        LocalDate endDate = validDates ? startDate.plusDays(9) : startDate.minusDays(1);
+        reservationDto = new ReservationDto(1L, 1L, startDate, endDate, new BigDecimal("9000.00"), "RESERVED");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean endDateAfterStartDate() {
+        return endDateValidator.isValid(reservationDto, null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ReservationDto>> createGroupValidation() {
+        return validator.validate(reservationDto, Create.class);
+    }
+}
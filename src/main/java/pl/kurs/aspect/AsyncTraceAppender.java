@@ -0,0 +1,89 @@
+package pl.kurs.aspect;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+public class AsyncTraceAppender {
+    private static final int MAX_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final TraceRingBuffer buffer;
+    private final Logger logger;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    @Autowired
+    public AsyncTraceAppender(@Value("${tracing.buffer-size:8192}") int bufferSize) {
+        this(bufferSize, LoggerFactory.getLogger(AsyncTraceAppender.class));
+    }
+
+    AsyncTraceAppender(int bufferSize, Logger logger) {
+        this.buffer = new TraceRingBuffer(bufferSize);
+        this.logger = logger;
+        this.worker = Thread.ofPlatform().daemon().name("trace-appender").start(this::run);
+    }
+
+    boolean append(TraceEvent event) {
+        return buffer.offer(event);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        StringBuilder line = new StringBuilder(128);
+        while (running) {
+            if (drain(line) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        while (drain(line) > 0) {
+            // flush everything queued before shutdown
+        }
+    }
+
+    // events are still drained when info is off, otherwise the buffer fills up and reports drops
+    private int drain(StringBuilder line) {
+        int drained = 0;
+        TraceEvent event;
+        while (drained < MAX_BATCH && (event = buffer.poll()) != null) {
+            if (logger.isInfoEnabled()) {
+                format(line, event);
+                logger.info(line.toString());
+                line.setLength(0);
+            }
+            drained++;
+        }
+        long dropped = buffer.drainDropped();
+        if (dropped > 0) {
+            logger.warn("[ASPECT] Dropped {} trace events, buffer is full", dropped);
+        }
+        return drained;
+    }
+
+    static void format(StringBuilder target, TraceEvent event) {
+        target.append("[ASPECT] ").append(event.type()).append('.').append(event.method()).append('(');
+        if (event.arguments() != null) {
+            target.append(event.arguments());
+        }
+        target.append(") ");
+        if (event.failure() == null) {
+            target.append("completed");
+        } else {
+            target.append("failed with ").append(event.failure());
+        }
+        target.append(" in ").append(TimeUnit.NANOSECONDS.toMicros(event.elapsedNanos())).append(" us");
+    }
+}
@@ -0,0 +1,69 @@
+package pl.kurs.aspect;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class EndpointMetricsAspect {
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+    @Around("within(pl.kurs.controller..*) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        EndpointMeters endpointMeters = meters.get(method);
+        if (endpointMeters == null) {
+            endpointMeters = meters.computeIfAbsent(method, this::register);
+        }
+
+        endpointMeters.inFlight().incrementAndGet();
+        long startedAt = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            endpointMeters.errors().increment();
+            throw throwable;
+        } finally {
+            endpointMeters.latency().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            endpointMeters.inFlight().decrementAndGet();
+        }
+    }
+
+    private EndpointMeters register(Method method) {
+        String controller = method.getDeclaringClass().getSimpleName();
+        String name = method.getName();
+        Timer latency = Timer.builder("endpoint.latency")
+                .description("Controller method latency")
+                .tags("controller", controller, "method", name)
+                .register(meterRegistry);
+        Counter errors = Counter.builder("endpoint.errors")
+                .description("Controller method invocations that ended with an exception")
+                .tags("controller", controller, "method", name)
+                .register(meterRegistry);
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("endpoint.in.flight", inFlight, AtomicInteger::get)
+                .description("Controller method invocations currently in progress")
+                .tags("controller", controller, "method", name)
+                .register(meterRegistry);
+        return new EndpointMeters(latency, errors, inFlight);
+    }
+
+    private record EndpointMeters(Timer latency, Counter errors, AtomicInteger inFlight) {
+    }
+}
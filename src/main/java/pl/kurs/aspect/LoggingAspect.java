@@ -1,29 +1,50 @@
 package pl.kurs.aspect;
 
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.After;
-import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
-@Aspect
+// applied to the packages listed in tracing.packages by TracingConfiguration
 @Component
-public class LoggingAspect {
-    @Before("execution(* pl.kurs.service..*(..))")
-    public void logBefore(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-
-        System.out.println("[ASPECT] Method started: " + methodName);
-        System.out.println("[ASPECT] Arguments: " + Arrays.toString(args));
-    }
+@RequiredArgsConstructor
+public class LoggingAspect implements MethodInterceptor {
+    private final AsyncTraceAppender appender;
+
+    @Value("${tracing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tracing.capture:IDS}")
+    private TraceCaptureMode captureMode;
 
-    @After("execution(* pl.kurs.service..*(..))")
-    public void logAfter(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        System.out.println("[ASPECT] Method: " + methodName + " has been completed.");
+    @Value("${tracing.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!enabled || !isSampled()) {
+            return invocation.proceed();
+        }
+
+        Class<?> type = invocation.getMethod().getDeclaringClass();
+        String arguments = TraceArguments.capture(invocation.getArguments(), captureMode);
+        long startedAt = System.nanoTime();
+        String failure = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable throwable) {
+            failure = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            appender.append(new TraceEvent(type.getSimpleName(), invocation.getMethod().getName(), arguments,
+                    System.nanoTime() - startedAt, failure));
+        }
     }
 
+    private boolean isSampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
 }
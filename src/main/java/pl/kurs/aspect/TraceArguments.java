@@ -0,0 +1,75 @@
+package pl.kurs.aspect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+final class TraceArguments {
+    private static final ClassValue<MethodHandle> ID_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.publicLookup().findVirtual(type, "getId", MethodType.methodType(Long.class));
+            } catch (ReflectiveOperationException | IllegalArgumentException exception) {
+                return null;
+            }
+        }
+    };
+
+    private TraceArguments() {
+    }
+
+    static String capture(Object[] args, TraceCaptureMode mode) {
+        if (args.length == 0) {
+            return "";
+        }
+        return switch (mode) {
+            case NONE -> null;
+            case FULL -> {
+                String full = Arrays.toString(args);
+                yield full.substring(1, full.length() - 1);
+            }
+            case IDS -> captureIds(args);
+        };
+    }
+
+    private static String captureIds(Object[] args) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            appendId(builder, args[i]);
+        }
+        return builder.toString();
+    }
+
+    private static void appendId(StringBuilder builder, Object arg) {
+        if (arg == null || arg instanceof Number || arg instanceof CharSequence || arg instanceof Enum<?>
+            || arg instanceof Boolean || arg instanceof TemporalAccessor) {
+            builder.append(arg);
+        } else if (arg instanceof Collection<?> collection) {
+            builder.append(arg.getClass().getSimpleName()).append("[size=").append(collection.size()).append(']');
+        } else if (arg instanceof Map<?, ?> map) {
+            builder.append(arg.getClass().getSimpleName()).append("[size=").append(map.size()).append(']');
+        } else {
+            builder.append(arg.getClass().getSimpleName());
+            MethodHandle idAccessor = ID_ACCESSORS.get(arg.getClass());
+            if (idAccessor != null) {
+                builder.append('#').append(readId(idAccessor, arg));
+            }
+        }
+    }
+
+    private static Object readId(MethodHandle idAccessor, Object arg) {
+        try {
+            return idAccessor.invoke(arg);
+        } catch (Throwable throwable) {
+            return "?";
+        }
+    }
+}
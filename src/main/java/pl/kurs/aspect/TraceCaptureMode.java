@@ -0,0 +1,7 @@
+package pl.kurs.aspect;
+
+public enum TraceCaptureMode {
+    NONE,
+    IDS,
+    FULL
+}
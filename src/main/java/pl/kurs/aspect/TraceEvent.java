@@ -0,0 +1,4 @@
+package pl.kurs.aspect;
+
+record TraceEvent(String type, String method, String arguments, long elapsedNanos, String failure) {
+}
@@ -0,0 +1,70 @@
+package pl.kurs.aspect;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer. Producers never block: when the
+ * buffer is full the event is rejected and counted as dropped.
+ */
+final class TraceRingBuffer {
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<TraceEvent> events;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long tail;
+
+    TraceRingBuffer(int requestedCapacity) {
+        capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1) << 1);
+        mask = capacity - 1;
+        sequences = new AtomicLongArray(capacity);
+        events = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(TraceEvent event) {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    events.lazySet(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                dropped.incrementAndGet();
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    TraceEvent poll() {
+        int index = (int) (tail & mask);
+        if (sequences.get(index) != tail + 1) {
+            return null;
+        }
+        TraceEvent event = events.get(index);
+        events.lazySet(index, null);
+        sequences.set(index, tail + capacity);
+        tail++;
+        return event;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long drainDropped() {
+        return dropped.getAndSet(0);
+    }
+}
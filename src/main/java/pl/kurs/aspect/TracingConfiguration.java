@@ -0,0 +1,32 @@
+package pl.kurs.aspect;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    public Advisor tracingAdvisor(LoggingAspect loggingAspect,
+                                  @Value("${tracing.packages:pl.kurs.service}") List<String> packages) {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression(pointcut(packages));
+        advisor.setAdvice(loggingAspect);
+        return advisor;
+    }
+
+    static String pointcut(List<String> packages) {
+        // the appender lives in this package, tracing it would trace every trace event
+        return packages.stream()
+                .map(String::trim)
+                .filter(tracedPackage -> !tracedPackage.isEmpty())
+                .map(tracedPackage -> "execution(* " + tracedPackage + "..*(..))")
+                .collect(Collectors.joining(" || ", "(", ") && !within(pl.kurs.aspect..*)"));
+    }
+}
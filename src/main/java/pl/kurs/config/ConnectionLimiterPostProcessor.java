@@ -0,0 +1,34 @@
+package pl.kurs.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+// the limit defaults to the pool's maximumPoolSize, so callers queue on the semaphore instead of inside Hikari
+@Slf4j
+@Component
+public class ConnectionLimiterPostProcessor implements BeanPostProcessor {
+    private final boolean enabled;
+    private final int permits;
+    private final long acquireTimeoutMs;
+
+    public ConnectionLimiterPostProcessor(@Value("${connection-limiter.enabled:true}") boolean enabled,
+                                          @Value("${connection-limiter.permits:0}") int permits,
+                                          @Value("${connection-limiter.acquire-timeout-ms:30000}") long acquireTimeoutMs) {
+        this.enabled = enabled;
+        this.permits = permits;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof HikariDataSource dataSource)) {
+            return bean;
+        }
+        int limit = permits > 0 ? permits : dataSource.getMaximumPoolSize();
+        log.info("Data source {} limited to {} concurrent connections", beanName, limit);
+        return new ConnectionLimitingDataSource(dataSource, limit, acquireTimeoutMs);
+    }
+}
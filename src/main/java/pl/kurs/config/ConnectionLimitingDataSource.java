@@ -0,0 +1,111 @@
+package pl.kurs.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// fair semaphore over borrowed connections; the permit is released when the connection is closed
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+    private final Semaphore semaphore;
+    private final int permits;
+    private final long acquireTimeoutMs;
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int permits, long acquireTimeoutMs) {
+        super(targetDataSource);
+        this.semaphore = new Semaphore(permits, true);
+        this.permits = permits;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException exception) {
+            semaphore.release();
+            throw exception;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquirePermit();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException exception) {
+            semaphore.release();
+            throw exception;
+        }
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int getAvailablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    public int getWaitingThreads() {
+        return semaphore.getQueueLength();
+    }
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No connection permit available within " + acquireTimeoutMs +
+                                                          " ms (limit: " + permits + ")");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", exception);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new PermitReleasingHandler(connection, semaphore));
+    }
+
+    private static final class PermitReleasingHandler implements InvocationHandler {
+        private final Connection target;
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingHandler(Connection target, Semaphore semaphore) {
+            this.target = target;
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("close")) {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException exception) {
+                    throw exception.getTargetException();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        semaphore.release();
+                    }
+                }
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getTargetException();
+            }
+        }
+    }
+}
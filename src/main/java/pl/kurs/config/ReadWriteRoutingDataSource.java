@@ -0,0 +1,46 @@
+package pl.kurs.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// must sit behind a LazyConnectionDataSourceProxy, so the route is picked after the read-only flag is set
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        this.primaryConnections = routedConnections(meterRegistry, Route.PRIMARY);
+        this.replicaConnections = routedConnections(meterRegistry, Route.REPLICA);
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWrites.isPrimaryRequired()) {
+            replicaConnections.increment();
+            return Route.REPLICA;
+        }
+        primaryConnections.increment();
+        return Route.PRIMARY;
+    }
+
+    private static Counter routedConnections(MeterRegistry meterRegistry, Route route) {
+        return Counter.builder("datasource.connections.routed")
+                .description("Connections handed out per read/write route")
+                .tag("route", route.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
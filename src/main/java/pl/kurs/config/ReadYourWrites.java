@@ -0,0 +1,35 @@
+package pl.kurs.config;
+
+import java.util.function.Supplier;
+
+public final class ReadYourWrites {
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void requirePrimary() {
+        PRIMARY_READS.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_READS.get() != null;
+    }
+
+    // cached entities outlive the replica lag, so lookups that populate a cache always read the primary
+    public static <T> T onPrimary(Supplier<T> read) {
+        boolean required = isPrimaryRequired();
+        requirePrimary();
+        try {
+            return read.get();
+        } finally {
+            if (!required) {
+                clear();
+            }
+        }
+    }
+
+    public static void clear() {
+        PRIMARY_READS.remove();
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -12,12 +13,21 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import pl.kurs.dto.CarDto;
+import pl.kurs.dto.CursorPageDto;
+import pl.kurs.dto.FleetAvailabilityDto;
+import pl.kurs.dto.ImportReportDto;
+import pl.kurs.dto.SliceDto;
 import pl.kurs.entity.Car;
 import pl.kurs.mapper.CarMapper;
+import pl.kurs.service.BulkImportService;
 import pl.kurs.service.CarService;
+import pl.kurs.service.FleetAvailabilityService;
+import pl.kurs.service.ImportType;
 import pl.kurs.validation.Create;
 import pl.kurs.validation.Update;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 
 @Validated
@@ -31,6 +41,8 @@ public class CarController {
 
     private CarService carService;
     private CarMapper carMapper;
+    private FleetAvailabilityService fleetAvailabilityService;
+    private BulkImportService bulkImportService;
 
     @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<CarDto> getById(@PathVariable("id") @Min(value = 1, message = "ID must be greater than zero!") Long id) {
@@ -47,6 +59,24 @@ public class CarController {
         return cars.map(carMapper::entityToDto);
     }
 
+    @GetMapping(params = {"withTotal=false", "!after"}, produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public SliceDto<CarDto> getAllWithoutTotal(
+            @RequestParam(defaultValue = DEFAULT_PAGE) @Min(0) int page,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size) {
+
+        Slice<Car> cars = carService.getAllSlice(page, size);
+        return SliceDto.of(cars.map(carMapper::entityToDto));
+    }
+
+    @GetMapping(params = "after", produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public CursorPageDto<CarDto> getAllAfter(
+            @RequestParam("after") String after,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size) {
+
+        CursorPageDto<Car> cars = carService.getAllAfter(after, size);
+        return cars.map(carMapper::entityToDto);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public CarDto createCar(@RequestBody @Validated(Create.class) CarDto carDto) {
@@ -55,6 +85,11 @@ public class CarController {
         return carMapper.entityToDto(savedCar);
     }
 
+    @PostMapping(value = "/imports", consumes = "text/csv", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    public ImportReportDto importCars(InputStream csv) throws IOException {
+        return bulkImportService.importCsv(ImportType.CARS, csv);
+    }
+
     @PutMapping
     public CarDto updateCar(@RequestBody @Validated(Update.class) CarDto carDto) {
         Car car = carMapper.dtoToEntityWithId(carDto);
@@ -82,6 +117,46 @@ public class CarController {
         return cars.map(carMapper::entityToDto);
     }
 
+    @GetMapping(value = "/search", params = {"withTotal=false", "!after"}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    public SliceDto<CarDto> getByParamsWithoutTotal(
+            @RequestParam(defaultValue = DEFAULT_PAGE) @Min(0) int page,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size,
+            @RequestParam(value = "producer", required = false) String producer,
+            @RequestParam(value = "model", required = false) String model,
+            @RequestParam(value = "startDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "endDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        Slice<Car> cars = carService.getByProducerAndModelAndAvailableSlice(producer, model, startDate, endDate, page, size);
+        return SliceDto.of(cars.map(carMapper::entityToDto));
+    }
+
+    @GetMapping(value = "/search", params = "after", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    public CursorPageDto<CarDto> getByParamsAfter(
+            @RequestParam("after") String after,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size,
+            @RequestParam(value = "producer", required = false) String producer,
+            @RequestParam(value = "model", required = false) String model,
+            @RequestParam(value = "startDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "endDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        CursorPageDto<Car> cars = carService.getByProducerAndModelAndAvailableAfter(producer, model, startDate, endDate, after, size);
+        return cars.map(carMapper::entityToDto);
+    }
+
+    @GetMapping(value = "/availability", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    public FleetAvailabilityDto getAvailabilityCalendar(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "producer", required = false) String producer,
+            @RequestParam(value = "model", required = false) String model) {
+
+        return fleetAvailabilityService.getCalendar(producer, model, from, to);
+    }
+
     @GetMapping(value = "/sort", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
     public Page<CarDto> getAllSortedByParams(
             @RequestParam(defaultValue = DEFAULT_PAGE) @Min(0) int page,
@@ -95,4 +170,32 @@ public class CarController {
         Page<Car> cars = carService.getAllSorted(property, sortDirection, page, size);
         return cars.map(carMapper::entityToDto);
     }
+
+    @GetMapping(value = "/sort", params = {"withTotal=false", "!after"}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    public SliceDto<CarDto> getAllSortedByParamsWithoutTotal(
+            @RequestParam(defaultValue = DEFAULT_PAGE) @Min(0) int page,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size,
+            @RequestParam(value = "property", defaultValue = "id") String property,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("desc")
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        Slice<Car> cars = carService.getAllSortedSlice(property, sortDirection, page, size);
+        return SliceDto.of(cars.map(carMapper::entityToDto));
+    }
+
+    @GetMapping(value = "/sort", params = "after", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    public CursorPageDto<CarDto> getAllSortedByParamsAfter(
+            @RequestParam("after") String after,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size,
+            @RequestParam(value = "property", defaultValue = "id") String property,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("desc")
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        CursorPageDto<Car> cars = carService.getAllSortedAfter(property, sortDirection, after, size);
+        return cars.map(carMapper::entityToDto);
+    }
 }
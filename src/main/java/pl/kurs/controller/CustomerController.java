@@ -4,18 +4,27 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import pl.kurs.dto.CursorPageDto;
 import pl.kurs.dto.CustomerDto;
+import pl.kurs.dto.ImportReportDto;
+import pl.kurs.dto.SliceDto;
 import pl.kurs.entity.Customer;
 import pl.kurs.mapper.CustomerMapper;
+import pl.kurs.service.BulkImportService;
 import pl.kurs.service.CustomerService;
+import pl.kurs.service.ImportType;
 import pl.kurs.validation.Create;
 import pl.kurs.validation.Update;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @Validated
 @RestController
 @RequestMapping("/customers")
@@ -27,6 +36,7 @@ public class CustomerController {
 
     private CustomerService customerService;
     private CustomerMapper customerMapper;
+    private BulkImportService bulkImportService;
 
     @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<CustomerDto> getById(@PathVariable("id") @Min(value = 1, message = "ID must be greater than zero!") Long id) {
@@ -42,6 +52,22 @@ public class CustomerController {
         return customers.map(customerMapper::entityToDto);
     }
 
+    @GetMapping(params = {"withTotal=false", "!after"}, produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public SliceDto<CustomerDto> getAllWithoutTotal(@RequestParam(defaultValue = DEFAULT_PAGE) @Min(0) int page,
+                                                    @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size) {
+
+        Slice<Customer> customers = customerService.getAllSlice(page, size);
+        return SliceDto.of(customers.map(customerMapper::entityToDto));
+    }
+
+    @GetMapping(params = "after", produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public CursorPageDto<CustomerDto> getAllAfter(@RequestParam("after") String after,
+                                                  @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size) {
+
+        CursorPageDto<Customer> customers = customerService.getAllAfter(after, size);
+        return customers.map(customerMapper::entityToDto);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public CustomerDto createCustomer(@RequestBody @Validated(Create.class) CustomerDto customerDto) {
@@ -50,6 +76,11 @@ public class CustomerController {
         return customerMapper.entityToDto(savedCustomer);
     }
 
+    @PostMapping(value = "/imports", consumes = "text/csv", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    public ImportReportDto importCustomers(InputStream csv) throws IOException {
+        return bulkImportService.importCsv(ImportType.CUSTOMERS, csv);
+    }
+
     @PutMapping
     public CustomerDto updateCustomer(@RequestBody @Validated(Update.class) CustomerDto customerDto) {
         Customer customer = customerMapper.dtoToEntityWithId(customerDto);
@@ -72,4 +103,26 @@ public class CustomerController {
         Page<Customer> customers = customerService.getByFirstNameAndLastName(firstName, lastName, page, size);
         return customers.map(customerMapper::entityToDto);
     }
+
+    @GetMapping(value = "/search", params = {"withTotal=false", "!after"})
+    public SliceDto<CustomerDto> getByParamsWithoutTotal(
+            @RequestParam(defaultValue = DEFAULT_PAGE) @Min(0) int page,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size,
+            @RequestParam(value = "firstName", required = false) String firstName,
+            @RequestParam(value = "lastName", required = false) String lastName) {
+
+        Slice<Customer> customers = customerService.getByFirstNameAndLastNameSlice(firstName, lastName, page, size);
+        return SliceDto.of(customers.map(customerMapper::entityToDto));
+    }
+
+    @GetMapping(value = "/search", params = "after")
+    public CursorPageDto<CustomerDto> getByParamsAfter(
+            @RequestParam("after") String after,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size,
+            @RequestParam(value = "firstName", required = false) String firstName,
+            @RequestParam(value = "lastName", required = false) String lastName) {
+
+        CursorPageDto<Customer> customers = customerService.getByFirstNameAndLastNameAfter(firstName, lastName, after, size);
+        return customers.map(customerMapper::entityToDto);
+    }
 }
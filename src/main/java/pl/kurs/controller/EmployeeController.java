@@ -4,12 +4,15 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import pl.kurs.dto.CursorPageDto;
 import pl.kurs.dto.EmployeeDto;
+import pl.kurs.dto.SliceDto;
 import pl.kurs.entity.Employee;
 import pl.kurs.mapper.EmployeeMapper;
 import pl.kurs.service.EmployeeService;
@@ -41,6 +44,20 @@ public class EmployeeController {
         return employees.map(employeeMapper::entityToDto);
     }
 
+    @GetMapping(params = {"withTotal=false", "!after"}, produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public SliceDto<EmployeeDto> getAllWithoutTotal(@RequestParam(defaultValue = DEFAULT_PAGE) @Min(0) int page,
+                                                    @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size) {
+        Slice<Employee> employees = employeeService.getAllSlice(page, size);
+        return SliceDto.of(employees.map(employeeMapper::entityToDto));
+    }
+
+    @GetMapping(params = "after", produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public CursorPageDto<EmployeeDto> getAllAfter(@RequestParam("after") String after,
+                                                  @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size) {
+        CursorPageDto<Employee> employees = employeeService.getAllAfter(after, size);
+        return employees.map(employeeMapper::entityToDto);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public EmployeeDto createEmployee(@RequestBody @Validated(Create.class) EmployeeDto employeeDto) {
@@ -73,4 +90,28 @@ public class EmployeeController {
         return employees.map(employeeMapper::entityToDto);
     }
 
+    @GetMapping(value = "/search", params = {"withTotal=false", "!after"})
+    public SliceDto<EmployeeDto> getByParamsWithoutTotal(
+            @RequestParam(defaultValue = DEFAULT_PAGE) @Min(0) int page,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size,
+            @RequestParam(value = "firstName", required = false) String firstName,
+            @RequestParam(value = "lastName", required = false) String lastName,
+            @RequestParam(value = "position", required = false) String position) {
+
+        Slice<Employee> employees = employeeService.getByFirstNameAndLastNameAndPositionSlice(firstName, lastName, position, page, size);
+        return SliceDto.of(employees.map(employeeMapper::entityToDto));
+    }
+
+    @GetMapping(value = "/search", params = "after")
+    public CursorPageDto<EmployeeDto> getByParamsAfter(
+            @RequestParam("after") String after,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size,
+            @RequestParam(value = "firstName", required = false) String firstName,
+            @RequestParam(value = "lastName", required = false) String lastName,
+            @RequestParam(value = "position", required = false) String position) {
+
+        CursorPageDto<Employee> employees = employeeService.getByFirstNameAndLastNameAndPositionAfter(firstName, lastName, position, after, size);
+        return employees.map(employeeMapper::entityToDto);
+    }
+
 }
@@ -0,0 +1,37 @@
+package pl.kurs.controller;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import pl.kurs.dto.PricingRulesDto;
+import pl.kurs.dto.QuoteDto;
+import pl.kurs.dto.QuoteRequestDto;
+import pl.kurs.service.PricingService;
+
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/pricing")
+@AllArgsConstructor
+public class PricingController {
+    private static final int MAX_QUOTES = 10_000;
+
+    private PricingService pricingService;
+
+    @PostMapping(value = "/quotes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<QuoteDto> quote(
+            @RequestBody @NotEmpty(message = "Quote list must not be empty")
+            @Size(max = MAX_QUOTES, message = "Quote list must not contain more than " + MAX_QUOTES + " items")
+            List<QuoteRequestDto> quoteRequests) {
+        return pricingService.quote(quoteRequests);
+    }
+
+    @GetMapping(value = "/rules", produces = MediaType.APPLICATION_JSON_VALUE)
+    public PricingRulesDto getRules() {
+        return pricingService.getRules();
+    }
+}
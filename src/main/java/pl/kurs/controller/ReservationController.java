@@ -1,21 +1,36 @@
 package pl.kurs.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import pl.kurs.dto.CursorPageDto;
+import pl.kurs.dto.ReservationBatchResultDto;
 import pl.kurs.dto.ReservationDto;
+import pl.kurs.dto.SliceDto;
 import pl.kurs.entity.Reservation;
 import pl.kurs.mapper.ReservationMapper;
+import pl.kurs.service.ExportFormat;
+import pl.kurs.service.ReservationBatchService;
+import pl.kurs.service.ReservationExportService;
 import pl.kurs.service.ReservationService;
 import pl.kurs.validation.Create;
 import pl.kurs.validation.Update;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 @Validated
 @RestController
 @RequestMapping("/reservations")
@@ -24,8 +39,11 @@ public class ReservationController {
     private static final String DEFAULT_PAGE = "0";
     private static final String DEFAULT_SIZE = "10";
     private static final int MAX_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 1000;
 
     private ReservationService reservationService;
+    private ReservationBatchService reservationBatchService;
+    private ReservationExportService reservationExportService;
     private ReservationMapper reservationMapper;
 
     @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
@@ -43,6 +61,34 @@ public class ReservationController {
         return reservations.map(reservationMapper::entityToDto);
     }
 
+    @GetMapping(params = {"withTotal=false", "!after"}, produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public SliceDto<ReservationDto> getAllWithoutTotal(
+            @RequestParam(defaultValue = DEFAULT_PAGE) @Min(0) int page,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size) {
+
+        Slice<Reservation> reservations = reservationService.getAllSlice(page, size);
+        return SliceDto.of(reservations.map(reservationMapper::entityToDto));
+    }
+
+    @GetMapping(params = "after", produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public CursorPageDto<ReservationDto> getAllAfter(
+            @RequestParam("after") String after,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(MAX_SIZE) int size) {
+
+        CursorPageDto<Reservation> reservations = reservationService.getAllAfter(after, size);
+        return reservations.map(reservationMapper::entityToDto);
+    }
+
+    @GetMapping("/export")
+    public void exportReservations(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                   HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reservations." + exportFormat.getExtension() + "\"");
+        reservationExportService.exportReservations(exportFormat, response.getOutputStream());
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ReservationDto createReservation(@RequestBody @Validated(Create.class) ReservationDto reservationDto) {
@@ -51,6 +97,14 @@ public class ReservationController {
         return reservationMapper.entityToDto(savedReservation);
     }
 
+    @PostMapping(value = "/batch", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    public List<ReservationBatchResultDto> createReservations(
+            @RequestBody @NotEmpty(message = "Reservation list must not be empty")
+            @Size(max = MAX_BATCH_SIZE, message = "Reservation list must not contain more than " + MAX_BATCH_SIZE + " items")
+            List<ReservationDto> reservationDtos) {
+        return reservationBatchService.createReservations(reservationDtos);
+    }
+
     @PutMapping
     public ReservationDto updateReservation(@RequestBody @Validated(Update.class) ReservationDto reservationDto) {
         Reservation updatedReservation = reservationService.updateReservation(reservationDto);
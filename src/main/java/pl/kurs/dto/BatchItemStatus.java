@@ -0,0 +1,8 @@
+package pl.kurs.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    CONFLICT,
+    NOT_FOUND,
+    INVALID
+}
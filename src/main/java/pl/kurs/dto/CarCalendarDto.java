@@ -0,0 +1,16 @@
+package pl.kurs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CarCalendarDto {
+    private Long carId;
+    private String registrationNumber;
+    private String busyDays;
+}
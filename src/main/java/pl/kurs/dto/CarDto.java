@@ -1,9 +1,6 @@
 package pl.kurs.dto;
 
-import jakarta.validation.constraints.DecimalMin;
-import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.*;
 import jakarta.xml.bind.annotation.XmlRootElement;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -23,22 +20,24 @@ public class CarDto {
     @Min(value = 1, message = "ID must be at least 1", groups = {Update.class, Delete.class})
     private Long id;
 
-    @NotBlank(message = "Producer must not be blank", groups = {Create.class, Update.class})
+    @NotBlank(message = "Producer must not be blank", groups = {Create.class, Update.class, Import.class})
     private String producer;
 
-    @NotBlank(message = "Model must not be blank", groups = {Create.class, Update.class})
+    @NotBlank(message = "Model must not be blank", groups = {Create.class, Update.class, Import.class})
     private String model;
 
-    @NotNull(message = "Year of production must not be null", groups = {Create.class, Update.class})
-    @YearInRange(groups = {Create.class, Update.class})
+    @NotNull(message = "Year of production must not be null", groups = {Create.class, Update.class, Import.class})
+    @YearInRange(groups = {Create.class, Update.class, Import.class})
     private Integer yearOfProduction;
 
-    @NotBlank(message = "Registration number must not be blank", groups = {Create.class, Update.class})
+    @NotBlank(message = "Registration number must not be blank", groups = {Create.class, Update.class, Import.class})
+    @Size(max = 10, message = "Registration number must not be longer than 10 characters", groups = Import.class)
     @UniqueRegistrationNumber(groups = Create.class)
     private String registrationNumber;
 
-    @NotNull(message = "Price per day must not be null", groups = {Create.class, Update.class})
-    @DecimalMin(value = "0.01", message = "Price per day must be greater than 0", groups = {Create.class, Update.class})
+    @NotNull(message = "Price per day must not be null", groups = {Create.class, Update.class, Import.class})
+    @DecimalMin(value = "0.01", message = "Price per day must be greater than 0", groups = {Create.class, Update.class, Import.class})
+    @Digits(integer = 4, fraction = 2, message = "Price per day must not exceed 9999.99", groups = Import.class)
     private BigDecimal pricePerDay;
 
     public CarDto(String producer, String model, Integer yearOfProduction, String registrationNumber, BigDecimal pricePerDay) {
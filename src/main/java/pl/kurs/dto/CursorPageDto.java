@@ -0,0 +1,29 @@
+package pl.kurs.dto;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@XmlRootElement
+public class CursorPageDto<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public <R> CursorPageDto<R> map(Function<? super T, ? extends R> converter) {
+        List<R> mappedContent = content.stream()
+                .<R>map(converter)
+                .toList();
+        return new CursorPageDto<>(mappedContent, size, hasNext, nextCursor);
+    }
+}
@@ -1,9 +1,6 @@
 package pl.kurs.dto;
 
-import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.*;
 import jakarta.xml.bind.annotation.XmlRootElement;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -16,28 +13,27 @@ import pl.kurs.validation.*;
 @Getter
 @Setter
 @XmlRootElement
+@UniqueCustomer(groups = Update.class)
 public class CustomerDto {
     @NotNull(message = "ID is required", groups = {Update.class, Delete.class})
     @Min(value = 1, message = "ID must be at least 1", groups = {Update.class, Delete.class})
     private Long id;
 
-    @NotBlank(message = "First name must not be blank", groups = {Create.class, Update.class})
+    @NotBlank(message = "First name must not be blank", groups = {Create.class, Update.class, Import.class})
     private String firstName;
 
-    @NotBlank(message = "Last name must not be blank", groups = {Create.class, Update.class})
+    @NotBlank(message = "Last name must not be blank", groups = {Create.class, Update.class, Import.class})
     private String lastName;
 
-    @Email(groups = {Create.class, Update.class})
-    @NotBlank(message = "E-mail must not be blank", groups = {Create.class, Update.class})
-    @UniqueCustomerEmail(groups = {Create.class, Update.class})
+    @Email(groups = {Create.class, Update.class, Import.class})
+    @NotBlank(message = "E-mail must not be blank", groups = {Create.class, Update.class, Import.class})
     private String email;
 
-    @NotBlank(message = "Phone number must not be blank", groups = {Create.class, Update.class})
-    @UniqueCustomerPhone(groups = {Create.class, Update.class})
+    @NotBlank(message = "Phone number must not be blank", groups = {Create.class, Update.class, Import.class})
+    @Pattern(regexp = "\\d{9}", message = "Phone number must consist of 9 digits", groups = Import.class)
     private String phoneNumber;
 
-    @NotBlank(message = "Driving license number must not be blank", groups = {Create.class, Update.class})
-    @UniqueDrivingLicenseNumber(groups = {Create.class, Update.class})
+    @NotBlank(message = "Driving license number must not be blank", groups = {Create.class, Update.class, Import.class})
     private String drivingLicenseNumber;
 
     public CustomerDto(String firstName, String lastName, String email, String phoneNumber, String drivingLicenseNumber) {
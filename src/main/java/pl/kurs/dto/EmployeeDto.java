@@ -16,6 +16,7 @@ import pl.kurs.validation.*;
 @Getter
 @Setter
 @XmlRootElement
+@UniqueEmployee(groups = Update.class)
 public class EmployeeDto {
     @NotNull(message = "ID is required", groups = {Update.class, Delete.class})
     @Min(value = 1, message = "ID must be at least 1", groups = {Update.class, Delete.class})
@@ -32,12 +33,10 @@ public class EmployeeDto {
     private Long positionId;
 
     @NotBlank(message = "Phone number must not be blank", groups = {Create.class, Update.class})
-    @UniqueEmployeePhone(groups = {Create.class, Update.class})
     private String phoneNumber;
 
     @Email(groups = {Create.class, Update.class})
     @NotBlank(message = "E-mail must not be blank", groups = {Create.class, Update.class})
-    @UniqueEmployeeEmail(groups = {Create.class, Update.class})
     private String email;
 
     public EmployeeDto(String firstName, String lastName, Long positionId, String phoneNumber, String email) {
@@ -0,0 +1,21 @@
+package pl.kurs.dto;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@XmlRootElement
+public class FleetAvailabilityDto {
+    private LocalDate from;
+    private LocalDate to;
+    private List<CarCalendarDto> cars;
+}
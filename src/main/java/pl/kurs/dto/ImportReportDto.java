@@ -0,0 +1,25 @@
+package pl.kurs.dto;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@XmlRootElement
+public class ImportReportDto {
+    private String type;
+    private long rows;
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    private List<ImportRowErrorDto> errors = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package pl.kurs.dto;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@XmlRootElement
+public class ImportRowErrorDto {
+    private long line;
+    private String message;
+}
@@ -0,0 +1,15 @@
+package pl.kurs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class LongRentalDiscountDto {
+    private int minDays;
+    private int discountPercent;
+}
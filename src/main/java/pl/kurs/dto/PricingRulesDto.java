@@ -0,0 +1,19 @@
+package pl.kurs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PricingRulesDto {
+    private int weekendSurchargePercent;
+    private List<SeasonRateDto> seasons = new ArrayList<>();
+    private List<LongRentalDiscountDto> longRentalDiscounts = new ArrayList<>();
+}
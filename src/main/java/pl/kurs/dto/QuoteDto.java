@@ -0,0 +1,29 @@
+package pl.kurs.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class QuoteDto {
+    private int index;
+    private Long carId;
+
+    @JsonFormat(pattern = "dd-MM-yyyy")
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "dd-MM-yyyy")
+    private LocalDate endDate;
+
+    private Long days;
+    private BigDecimal totalAmount;
+    private String message;
+}
@@ -0,0 +1,23 @@
+package pl.kurs.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class QuoteRequestDto {
+    private Long carId;
+
+    @JsonFormat(pattern = "dd-MM-yyyy")
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "dd-MM-yyyy")
+    private LocalDate endDate;
+}
@@ -0,0 +1,19 @@
+package pl.kurs.dto;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@XmlRootElement
+public class ReservationBatchResultDto {
+    private int index;
+    private BatchItemStatus status;
+    private ReservationDto reservation;
+    private String message;
+}
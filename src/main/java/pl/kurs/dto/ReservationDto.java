@@ -1,7 +1,6 @@
 package pl.kurs.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -45,8 +44,6 @@ public class ReservationDto {
     @JsonFormat(pattern = "dd-MM-yyyy")
     private LocalDate endDate;
 
-    @NotNull(message = "Total amount must not be null", groups = {Create.class, Update.class})
-    @DecimalMin(value = "0.01", message = "Total amount must be greater than 0", groups = {Create.class, Update.class})
     private BigDecimal totalAmount;
 
     @NotBlank(message = "Status name is required", groups = {Create.class, Update.class})
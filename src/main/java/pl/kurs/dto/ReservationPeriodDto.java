@@ -0,0 +1,19 @@
+package pl.kurs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ReservationPeriodDto {
+    private Long id;
+    private Long carId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
@@ -0,0 +1,22 @@
+package pl.kurs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ReservationReminderDto {
+    private Long reservationId;
+    private String customerFirstName;
+    private String customerLastName;
+    private String customerEmail;
+    private String customerPhoneNumber;
+    private String customerDrivingLicenseNumber;
+    private String carProducer;
+    private String carModel;
+    private String carRegistrationNumber;
+}
@@ -0,0 +1,17 @@
+package pl.kurs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SeasonRateDto {
+    private String name;
+    private String from;
+    private String to;
+    private int surchargePercent;
+}
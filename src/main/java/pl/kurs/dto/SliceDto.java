@@ -0,0 +1,26 @@
+package pl.kurs.dto;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@XmlRootElement
+public class SliceDto<T> {
+    private List<T> content;
+    private int number;
+    private int size;
+    private boolean hasNext;
+
+    public static <T> SliceDto<T> of(Slice<T> slice) {
+        return new SliceDto<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+}
@@ -0,0 +1,19 @@
+package pl.kurs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class UniqueValuesDto {
+    private String email;
+    private String phoneNumber;
+    private String drivingLicenseNumber;
+
+    public UniqueValuesDto(String email, String phoneNumber) {
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+    }
+}
@@ -5,18 +5,21 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import pl.kurs.service.UniquenessIndexListener;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
-@Table(name = "cars")
+@Table(name = "cars", uniqueConstraints = @UniqueConstraint(name = "cars_registration_number_key", columnNames = "registration_number"))
 @NoArgsConstructor
 @Getter
 @Setter
+@EntityListeners(UniquenessIndexListener.class)
 public class Car {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cars_id_seq")
+    @SequenceGenerator(name = "cars_id_seq", sequenceName = "cars_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,12 +31,15 @@ public class Car {
     @Column(name = "year_of_production", nullable = false)
     private Integer yearOfProduction;
 
-    @Column(name = "registration_number", length = 10, nullable = false, unique = true)
+    @Column(name = "registration_number", length = 10, nullable = false)
     private String registrationNumber;
 
     @Column(name = "price_per_day", precision = 6, scale = 2, nullable = false)
     private BigDecimal pricePerDay;
 
+    @Column(name = "booking_version", nullable = false)
+    private Long bookingVersion = 0L;
+
     @OneToMany(mappedBy = "car", cascade = {CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH})
     @JsonIgnore
     private List<Reservation> reservations;
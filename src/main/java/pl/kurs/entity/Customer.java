@@ -6,18 +6,24 @@ import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import pl.kurs.service.UniquenessIndexListener;
 
 import java.util.List;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", uniqueConstraints = {
+        @UniqueConstraint(name = "customers_e_mail_key", columnNames = "e_mail"),
+        @UniqueConstraint(name = "customers_phone_number_key", columnNames = "phone_number"),
+        @UniqueConstraint(name = "customers_driving_license_number_key", columnNames = "driving_license_number")})
 @NoArgsConstructor
 @Getter
 @Setter
+@EntityListeners(UniquenessIndexListener.class)
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_id_seq")
+    @SequenceGenerator(name = "customers_id_seq", sequenceName = "customers_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -26,15 +32,15 @@ public class Customer {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
-    @Column(name = "e_mail", nullable = false, unique = true)
+    @Column(name = "e_mail", nullable = false)
     @Email
     private String email;
 
-    @Column(name = "phone_number", nullable = false, unique = true)
+    @Column(name = "phone_number", nullable = false)
     @Pattern(regexp = "\\d{9}")
     private String phoneNumber;
 
-    @Column(name = "driving_license_number", nullable = false, unique = true)
+    @Column(name = "driving_license_number", nullable = false)
     private String drivingLicenseNumber;
 
     @OneToMany(mappedBy = "customer", cascade = {CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH})
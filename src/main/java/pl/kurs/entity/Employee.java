@@ -6,15 +6,20 @@ import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import pl.kurs.service.UniquenessIndexListener;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", uniqueConstraints = {
+        @UniqueConstraint(name = "employees_phone_number_key", columnNames = "phone_number"),
+        @UniqueConstraint(name = "employees_e_mail_key", columnNames = "e_mail")})
 @NoArgsConstructor
 @Getter
 @Setter
+@EntityListeners(UniquenessIndexListener.class)
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_id_seq")
+    @SequenceGenerator(name = "employees_id_seq", sequenceName = "employees_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -27,11 +32,11 @@ public class Employee {
     @JoinColumn(name = "position_id", nullable = false)
     private Position position;
 
-    @Column(name = "phone_number", nullable = false, unique = true)
+    @Column(name = "phone_number", nullable = false)
     @Pattern(regexp = "\\d{9}")
     private String phoneNumber;
 
-    @Column(name = "e_mail", nullable = false, unique = true)
+    @Column(name = "e_mail", nullable = false)
     @Email
     private String email;
 
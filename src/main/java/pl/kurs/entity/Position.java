@@ -13,7 +13,8 @@ import lombok.Setter;
 public class Position {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "positions_id_seq")
+    @SequenceGenerator(name = "positions_id_seq", sequenceName = "positions_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
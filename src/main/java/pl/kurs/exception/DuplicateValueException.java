@@ -0,0 +1,15 @@
+package pl.kurs.exception;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+public class DuplicateValueException extends RuntimeException {
+    private final Map<String, String> fieldErrors;
+
+    public DuplicateValueException(Map<String, String> fieldErrors, Throwable cause) {
+        super(String.join("; ", fieldErrors.values()), cause);
+        this.fieldErrors = fieldErrors;
+    }
+}
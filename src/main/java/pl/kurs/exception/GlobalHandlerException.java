@@ -32,6 +32,12 @@ public class GlobalHandlerException {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST.value()).body(response);
     }
 
+    @ExceptionHandler(DuplicateValueException.class)
+    public ResponseEntity<ExceptionResponseDto> handleDuplicateValueException(DuplicateValueException exception) {
+        ExceptionResponseDto response = new ExceptionResponseDto(exception.getMessage(), HttpStatus.BAD_REQUEST.toString(), LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST.value()).body(response);
+    }
+
     @ExceptionHandler(StatusNotFoundException.class)
     public ResponseEntity<ExceptionResponseDto> handleStatusNotFound(StatusNotFoundException exception) {
         ExceptionResponseDto response = new ExceptionResponseDto(exception.getMessage(), HttpStatus.NOT_FOUND.toString(), LocalDateTime.now());
@@ -15,7 +15,9 @@ public interface CarMapper {
     List<CarDto> entitiesToDtos(List<Car> cars);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "bookingVersion", ignore = true)
     Car dtoToEntity(CarDto carDto);
 
+    @Mapping(target = "bookingVersion", ignore = true)
     Car dtoToEntityWithId(CarDto carDto);
 }
@@ -0,0 +1,27 @@
+package pl.kurs.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import pl.kurs.entity.Car;
+
+import java.time.LocalDate;
+
+public interface CarAvailabilityQueries {
+    // the range condition is the indexed one, the date comparisons keep results identical to the specification path
+    String NOT_BOOKED = """
+            NOT EXISTS (SELECT 1 FROM reservations r
+                        WHERE r.car_id = c.id AND r.status IN ('RESERVED', 'RENTED')
+                          AND r.period && daterange(:startDate, :endDate, '[]')
+                          AND r.start_date < :endDate AND r.end_date > :startDate)""";
+
+    // public so the plan test explains the same SQL the repository runs
+    static String availableCarsWhere(boolean byProducer, boolean byModel) {
+        return " WHERE " + (byProducer ? "c.producer = :producer AND " : "") + (byModel ? "c.model = :model AND " : "") + NOT_BOOKED;
+    }
+
+    // PostgreSQL only: anti-join on reservations.period, served by the GiST index from changeset 10
+    Page<Car> findAvailableCarsByPeriod(String producer, String model, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    Slice<Car> findAvailableCarsSliceByPeriod(String producer, String model, LocalDate startDate, LocalDate endDate, Pageable pageable);
+}
@@ -0,0 +1,66 @@
+package pl.kurs.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import pl.kurs.entity.Car;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class CarAvailabilityQueriesImpl implements CarAvailabilityQueries {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Car> findAvailableCarsByPeriod(String producer, String model, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        String where = CarAvailabilityQueries.availableCarsWhere(producer != null, model != null);
+        Map<String, Object> parameters = parameters(producer, model, startDate, endDate);
+        List<Car> cars = findCars(where, parameters, pageable, pageable.isPaged() ? pageable.getPageSize() : null);
+
+        return PageableExecutionUtils.getPage(cars, pageable, () -> {
+            Query count = entityManager.createNativeQuery("SELECT count(*) FROM cars c" + where, Long.class);
+            parameters.forEach(count::setParameter);
+            return ((Number) count.getSingleResult()).longValue();
+        });
+    }
+
+    @Override
+    public Slice<Car> findAvailableCarsSliceByPeriod(String producer, String model, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        String where = CarAvailabilityQueries.availableCarsWhere(producer != null, model != null);
+        List<Car> cars = findCars(where, parameters(producer, model, startDate, endDate), pageable, pageable.getPageSize() + 1);
+        boolean hasNext = cars.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? cars.subList(0, pageable.getPageSize()) : cars, pageable, hasNext);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Car> findCars(String where, Map<String, Object> parameters, Pageable pageable, Integer maxResults) {
+        Query query = entityManager.createNativeQuery("SELECT c.* FROM cars c" + where, Car.class);
+        parameters.forEach(query::setParameter);
+        if (maxResults != null) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(maxResults);
+        }
+        return query.getResultList();
+    }
+
+    private static Map<String, Object> parameters(String producer, String model, LocalDate startDate, LocalDate endDate) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (producer != null) {
+            parameters.put("producer", producer);
+        }
+        if (model != null) {
+            parameters.put("model", model);
+        }
+        parameters.put("startDate", startDate);
+        parameters.put("endDate", endDate);
+        return parameters;
+    }
+}
@@ -3,30 +3,75 @@ package pl.kurs.repository;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import pl.kurs.entity.Car;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface CarRepository extends JpaRepository<Car, Long> {
+import static org.springframework.data.jpa.domain.Specification.where;
+import static pl.kurs.repository.CarSpecifications.*;
 
-    @Query("SELECT c FROM Car c WHERE (c.producer = :producer OR :producer IS NULL) AND (c.model = :model OR :model IS NULL)")
-    Page<Car> findByProducerAndModel(String producer, String model, Pageable pageable);
+public interface CarRepository extends JpaRepository<Car, Long>, SliceSpecificationExecutor<Car>, CarAvailabilityQueries {
 
-    @Query("SELECT c FROM Car c WHERE " +
-           "(c.producer = :producer OR :producer IS NULL) AND " +
-           "(c.model = :model OR :model IS NULL) AND " +
-           "c.id NOT IN (SELECT r.car.id FROM Reservation r WHERE " +
-           "r.status IN ('RESERVED', 'RENTED') AND " +
-           "r.startDate < :endDate AND r.endDate > :startDate)")
-    Page<Car> findAvailableCars(String producer, String model, LocalDate startDate, LocalDate endDate, Pageable pageable);
+    @Transactional(readOnly = true)
+    Slice<Car> findAllBy(Pageable pageable);
+
+    default Page<Car> findByProducerAndModel(String producer, String model, Pageable pageable) {
+        return findAll(where(hasProducer(producer)).and(hasModel(model)), pageable);
+    }
+
+    default Slice<Car> findSliceByProducerAndModel(String producer, String model, Pageable pageable) {
+        return findSlice(where(hasProducer(producer)).and(hasModel(model)), pageable);
+    }
+
+    default Page<Car> findAvailableCars(String producer, String model, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        return findAll(where(hasProducer(producer)).and(hasModel(model)).and(isAvailableBetween(startDate, endDate)), pageable);
+    }
+
+    default Slice<Car> findAvailableCarsSlice(String producer, String model, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        return findSlice(where(hasProducer(producer)).and(hasModel(model)).and(isAvailableBetween(startDate, endDate)), pageable);
+    }
+
+    default Page<Car> findByProducerAndModelExcludingIds(String producer, String model, Collection<Long> excludedIds, Pageable pageable) {
+        return findAll(where(hasProducer(producer)).and(hasModel(model)).and(hasIdNotIn(excludedIds)), pageable);
+    }
+
+    default Slice<Car> findSliceByProducerAndModelExcludingIds(String producer, String model, Collection<Long> excludedIds, Pageable pageable) {
+        return findSlice(where(hasProducer(producer)).and(hasModel(model)).and(hasIdNotIn(excludedIds)), pageable);
+    }
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select c from Car c where c.id = :id")
     Optional<Car> findForUpdate(Long id);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Car c where c.id in :ids order by c.id")
+    List<Car> findAllForUpdate(Collection<Long> ids);
+
+    @Modifying
+    @Query("update Car c set c.bookingVersion = c.bookingVersion + 1 where c.id in :ids")
+    int incrementBookingVersions(Collection<Long> ids);
+
+    @Query("select c.bookingVersion from Car c where c.id = :id")
+    Optional<Long> findBookingVersion(Long id);
+
+    @Modifying
+    @Query("update Car c set c.bookingVersion = c.bookingVersion + 1 where c.id = :id and c.bookingVersion = :bookingVersion")
+    int incrementBookingVersion(Long id, Long bookingVersion);
+
     boolean existsByRegistrationNumber(String registrationNumber);
+
+    @Query("select c.registrationNumber from Car c")
+    List<String> findAllRegistrationNumbers();
+
+    @Query("select c.registrationNumber from Car c where c.registrationNumber in :registrationNumbers")
+    List<String> findExistingRegistrationNumbers(Collection<String> registrationNumbers);
 }
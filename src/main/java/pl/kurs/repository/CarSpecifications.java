@@ -0,0 +1,45 @@
+package pl.kurs.repository;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Reservation;
+import pl.kurs.entity.Status;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public final class CarSpecifications {
+
+    private CarSpecifications() {
+    }
+
+    public static Specification<Car> hasProducer(String producer) {
+        return producer == null ? null : (root, query, cb) -> cb.equal(root.get("producer"), producer);
+    }
+
+    public static Specification<Car> hasModel(String model) {
+        return model == null ? null : (root, query, cb) -> cb.equal(root.get("model"), model);
+    }
+
+    public static Specification<Car> hasIdNotIn(Collection<Long> excludedIds) {
+        return excludedIds == null || excludedIds.isEmpty() ? null : (root, query, cb) -> cb.not(root.get("id").in(excludedIds));
+    }
+
+    public static Specification<Car> isAvailableBetween(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> bookedReservations = query.subquery(Long.class);
+            Root<Reservation> reservation = bookedReservations.from(Reservation.class);
+            bookedReservations.select(reservation.get("id")).where(
+                    cb.equal(reservation.get("car"), root),
+                    reservation.get("status").in(Status.RESERVED, Status.RENTED),
+                    cb.lessThan(reservation.get("startDate"), endDate),
+                    cb.greaterThan(reservation.get("endDate"), startDate));
+            return cb.not(cb.exists(bookedReservations));
+        };
+    }
+}
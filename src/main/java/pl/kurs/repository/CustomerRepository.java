@@ -2,18 +2,58 @@ package pl.kurs.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import pl.kurs.dto.UniqueValuesDto;
 import pl.kurs.entity.Customer;
 
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+import java.util.Collection;
+import java.util.List;
 
-    @Query("SELECT c FROM Customer c WHERE (c.firstName = :firstName OR :firstName IS NULL) AND (c.lastName = :lastName OR :lastName IS NULL)")
-    Page<Customer> findAllByFirstNameAndLastName(String firstName, String lastName, Pageable pageable);
+import static org.springframework.data.jpa.domain.Specification.where;
+import static pl.kurs.repository.CustomerSpecifications.*;
+
+public interface CustomerRepository extends JpaRepository<Customer, Long>, SliceSpecificationExecutor<Customer> {
+
+    @Transactional(readOnly = true)
+    Slice<Customer> findAllBy(Pageable pageable);
+
+    default Page<Customer> findAllByFirstNameAndLastName(String firstName, String lastName, Pageable pageable) {
+        return findAll(where(hasFirstName(firstName)).and(hasLastName(lastName)), pageable);
+    }
+
+    default Slice<Customer> findSliceByFirstNameAndLastName(String firstName, String lastName, Pageable pageable) {
+        return findSlice(where(hasFirstName(firstName)).and(hasLastName(lastName)), pageable);
+    }
 
     boolean existsByEmail(String email);
 
     boolean existsByPhoneNumber(String phoneNumber);
 
     boolean existsByDrivingLicenseNumber(String drivingLicenseNumber);
+
+    @Query("select new pl.kurs.dto.UniqueValuesDto(c.email, c.phoneNumber, c.drivingLicenseNumber) from Customer c " +
+           "where (c.email = :email or c.phoneNumber = :phoneNumber or c.drivingLicenseNumber = :drivingLicenseNumber) " +
+           "and c.id <> :excludedId")
+    List<UniqueValuesDto> findUniqueValueConflicts(String email, String phoneNumber, String drivingLicenseNumber, Long excludedId);
+
+    @Query("select c.email from Customer c")
+    List<String> findAllEmails();
+
+    @Query("select c.phoneNumber from Customer c")
+    List<String> findAllPhoneNumbers();
+
+    @Query("select c.drivingLicenseNumber from Customer c")
+    List<String> findAllDrivingLicenseNumbers();
+
+    @Query("select c.email from Customer c where c.email in :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    @Query("select c.phoneNumber from Customer c where c.phoneNumber in :phoneNumbers")
+    List<String> findExistingPhoneNumbers(Collection<String> phoneNumbers);
+
+    @Query("select c.drivingLicenseNumber from Customer c where c.drivingLicenseNumber in :drivingLicenseNumbers")
+    List<String> findExistingDrivingLicenseNumbers(Collection<String> drivingLicenseNumbers);
 }
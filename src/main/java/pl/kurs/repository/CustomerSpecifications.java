@@ -0,0 +1,18 @@
+package pl.kurs.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import pl.kurs.entity.Customer;
+
+public final class CustomerSpecifications {
+
+    private CustomerSpecifications() {
+    }
+
+    public static Specification<Customer> hasFirstName(String firstName) {
+        return firstName == null ? null : (root, query, cb) -> cb.equal(root.get("firstName"), firstName);
+    }
+
+    public static Specification<Customer> hasLastName(String lastName) {
+        return lastName == null ? null : (root, query, cb) -> cb.equal(root.get("lastName"), lastName);
+    }
+}
@@ -2,18 +2,44 @@ package pl.kurs.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import pl.kurs.dto.UniqueValuesDto;
 import pl.kurs.entity.Employee;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+import java.util.List;
 
-    @Query("SELECT e FROM Employee e WHERE (e.firstName = :firstName OR :firstName IS NULL) " +
-           "AND (e.lastName = :lastName OR :lastName IS NULL) " +
-           "AND (e.position.name = :position OR :position IS NULL)")
-    Page<Employee> findAllByFirstNameAndLastNameAndPosition(String firstName, String lastName, String position, Pageable pageable);
+import static org.springframework.data.jpa.domain.Specification.where;
+import static pl.kurs.repository.EmployeeSpecifications.*;
+
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, SliceSpecificationExecutor<Employee> {
+
+    @Transactional(readOnly = true)
+    Slice<Employee> findAllBy(Pageable pageable);
+
+    default Page<Employee> findAllByFirstNameAndLastNameAndPosition(String firstName, String lastName, String position,
+                                                                    Pageable pageable) {
+        return findAll(where(hasFirstName(firstName)).and(hasLastName(lastName)).and(hasPosition(position)), pageable);
+    }
+
+    default Slice<Employee> findSliceByFirstNameAndLastNameAndPosition(String firstName, String lastName, String position,
+                                                                       Pageable pageable) {
+        return findSlice(where(hasFirstName(firstName)).and(hasLastName(lastName)).and(hasPosition(position)), pageable);
+    }
 
     boolean existsByEmail(String email);
 
     boolean existsByPhoneNumber(String phoneNumber);
+
+    @Query("select new pl.kurs.dto.UniqueValuesDto(e.email, e.phoneNumber) from Employee e " +
+           "where (e.email = :email or e.phoneNumber = :phoneNumber) and e.id <> :excludedId")
+    List<UniqueValuesDto> findUniqueValueConflicts(String email, String phoneNumber, Long excludedId);
+
+    @Query("select e.email from Employee e")
+    List<String> findAllEmails();
+
+    @Query("select e.phoneNumber from Employee e")
+    List<String> findAllPhoneNumbers();
 }
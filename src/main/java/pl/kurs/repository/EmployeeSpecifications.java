@@ -0,0 +1,22 @@
+package pl.kurs.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import pl.kurs.entity.Employee;
+
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> hasFirstName(String firstName) {
+        return firstName == null ? null : (root, query, cb) -> cb.equal(root.get("firstName"), firstName);
+    }
+
+    public static Specification<Employee> hasLastName(String lastName) {
+        return lastName == null ? null : (root, query, cb) -> cb.equal(root.get("lastName"), lastName);
+    }
+
+    public static Specification<Employee> hasPosition(String position) {
+        return position == null ? null : (root, query, cb) -> cb.equal(root.get("position").get("name"), position);
+    }
+}
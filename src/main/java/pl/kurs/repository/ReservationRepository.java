@@ -1,20 +1,35 @@
 package pl.kurs.repository;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+import pl.kurs.dto.ReservationDto;
+import pl.kurs.dto.ReservationPeriodDto;
+import pl.kurs.dto.ReservationReminderDto;
 import pl.kurs.entity.Reservation;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, JpaSpecificationExecutor<Reservation> {
+
+    @Transactional(readOnly = true)
+    Slice<Reservation> findAllBy(Pageable pageable);
 
     @Query("""
                 select case when count(r) > 0 then true else false end
                 from Reservation r
                 where r.car.id = :carId
-                  and r.startDate <= :endDate
-                  and r.endDate   >= :startDate
+                  and r.status in ('RESERVED', 'RENTED')
+                  and r.startDate < :endDate
+                  and r.endDate   > :startDate
             """)
     boolean existsOverlap(Long carId, LocalDate startDate, LocalDate endDate);
 
@@ -22,12 +37,38 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
                 select case when count(r) > 0 then true else false end
                 from Reservation r
                 where r.car.id = :carId
-                and r.status != 'CANCELED'
+                and r.status in ('RESERVED', 'RENTED')
                 and r.id != :excludeId
-                and (r.startDate <= :endDate and r.endDate >= :startDate)
+                and (r.startDate < :endDate and r.endDate > :startDate)
             """)
     boolean existsOverlapExcludingReservation(Long carId, LocalDate startDate, LocalDate endDate, Long excludeId);
 
-    @Query("SELECT r FROM Reservation r WHERE r.startDate = :startDate AND r.status IN ('RESERVED')")
-    List<Reservation> findActiveReservationForDate(LocalDate startDate);
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new pl.kurs.dto.ReservationDto(r.id, r.car.id, r.customer.id, r.startDate, r.endDate, r.totalAmount, " +
+           "CAST(r.status AS String)) FROM Reservation r ORDER BY r.id")
+    Stream<ReservationDto> streamAllForExport();
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new pl.kurs.dto.ReservationReminderDto(r.id, cu.firstName, cu.lastName, cu.email, cu.phoneNumber, " +
+           "cu.drivingLicenseNumber, c.producer, c.model, c.registrationNumber) " +
+           "FROM Reservation r JOIN r.customer cu JOIN r.car c " +
+           "WHERE r.startDate = :startDate AND r.status IN ('RESERVED') ORDER BY r.id")
+    Stream<ReservationReminderDto> streamRemindersForDate(LocalDate startDate);
+
+    @Query("SELECT new pl.kurs.dto.ReservationPeriodDto(r.id, r.car.id, r.startDate, r.endDate) " +
+           "FROM Reservation r WHERE r.status IN ('RESERVED', 'RENTED')")
+    List<ReservationPeriodDto> findActivePeriods();
+
+    @Query("SELECT new pl.kurs.dto.ReservationPeriodDto(r.id, r.car.id, r.startDate, r.endDate) " +
+           "FROM Reservation r WHERE r.status IN ('RESERVED', 'RENTED') " +
+           "AND r.startDate <= :to AND r.endDate > :from")
+    List<ReservationPeriodDto> findActivePeriodsBetween(LocalDate from, LocalDate to);
+
+    @Query("SELECT new pl.kurs.dto.ReservationPeriodDto(r.id, r.car.id, r.startDate, r.endDate) " +
+           "FROM Reservation r WHERE r.car.id IN :carIds AND r.status IN ('RESERVED', 'RENTED') " +
+           "AND r.startDate < :endDate AND r.endDate > :startDate")
+    List<ReservationPeriodDto> findPeriodsOverlapping(Collection<Long> carIds, LocalDate startDate, LocalDate endDate);
 }
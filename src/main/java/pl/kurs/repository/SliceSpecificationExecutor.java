@@ -0,0 +1,22 @@
+package pl.kurs.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+public interface SliceSpecificationExecutor<T> extends JpaSpecificationExecutor<T> {
+
+    // reads one row past the page instead of counting; an offset position resumes after the given index
+    default Slice<T> findSlice(Specification<T> specification, Pageable pageable) {
+        ScrollPosition position = pageable.getOffset() == 0
+                ? ScrollPosition.offset()
+                : ScrollPosition.offset(pageable.getOffset() - 1);
+        Window<T> window = findBy(Specification.where(specification),
+                query -> query.sortBy(pageable.getSort()).limit(pageable.getPageSize()).scroll(position));
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext());
+    }
+}
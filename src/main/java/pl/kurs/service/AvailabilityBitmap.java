@@ -0,0 +1,52 @@
+package pl.kurs.service;
+
+// one row of bits per car, one bit per day, packed into a single long[]
+public class AvailabilityBitmap {
+    private static final char BUSY = '1';
+    private static final char FREE = '0';
+
+    private final int days;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    public AvailabilityBitmap(int rows, int days) {
+        this.days = days;
+        this.wordsPerRow = (days + Long.SIZE - 1) / Long.SIZE;
+        this.words = new long[Math.multiplyExact(rows, wordsPerRow)];
+    }
+
+    // [fromDay, toDay); days outside the bitmap are ignored
+    public void markBusy(int row, int fromDay, int toDay) {
+        int from = Math.max(fromDay, 0);
+        int to = Math.min(toDay, days);
+        if (from >= to) {
+            return;
+        }
+        int base = row * wordsPerRow;
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            words[base + firstWord] |= firstMask & lastMask;
+            return;
+        }
+        words[base + firstWord] |= firstMask;
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            words[base + word] = -1L;
+        }
+        words[base + lastWord] |= lastMask;
+    }
+
+    public boolean isBusy(int row, int day) {
+        return (words[row * wordsPerRow + (day >>> 6)] & (1L << day)) != 0;
+    }
+
+    public String rowToString(int row) {
+        char[] calendar = new char[days];
+        for (int day = 0; day < days; day++) {
+            calendar[day] = isBusy(row, day) ? BUSY : FREE;
+        }
+        return new String(calendar);
+    }
+}
@@ -0,0 +1,6 @@
+package pl.kurs.service;
+
+public enum BookingMode {
+    PESSIMISTIC,
+    OPTIMISTIC
+}
@@ -0,0 +1,53 @@
+package pl.kurs.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import pl.kurs.dto.ImportReportDto;
+import pl.kurs.dto.ImportRowErrorDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// closes the application once the files given with --import-cars/--import-customers are imported
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkImportRunner implements ApplicationRunner {
+    static final String IMPORT_CARS = "import-cars";
+    static final String IMPORT_CUSTOMERS = "import-customers";
+
+    private final BulkImportService bulkImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!args.containsOption(IMPORT_CARS) && !args.containsOption(IMPORT_CUSTOMERS)) {
+            return;
+        }
+        importFiles(ImportType.CARS, args.getOptionValues(IMPORT_CARS));
+        importFiles(ImportType.CUSTOMERS, args.getOptionValues(IMPORT_CUSTOMERS));
+        context.close();
+    }
+
+    private void importFiles(ImportType type, List<String> files) throws IOException {
+        if (files == null) {
+            return;
+        }
+        for (String file : files) {
+            ImportReportDto report;
+            try (InputStream csv = Files.newInputStream(Path.of(file))) {
+                report = bulkImportService.importCsv(type, csv);
+            }
+            for (ImportRowErrorDto error : report.getErrors()) {
+                log.warn("Import {}:{}: {}", file, error.getLine(), error.getMessage());
+            }
+        }
+    }
+}
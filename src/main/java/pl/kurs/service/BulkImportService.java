@@ -0,0 +1,302 @@
+package pl.kurs.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.stereotype.Service;
+import pl.kurs.dto.ImportReportDto;
+import pl.kurs.dto.ImportRowErrorDto;
+import pl.kurs.exception.InvalidDataAccessApiUsageException;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CustomerRepository;
+import pl.kurs.validation.Import;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkImportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${import.max-concurrent-chunks:4}")
+    private int maxConcurrentChunks;
+
+    private final DataSource dataSource;
+    private final Validator validator;
+    private final CarRepository carRepository;
+    private final CustomerRepository customerRepository;
+    private final UniquenessIndex uniquenessIndex;
+    private final TotalCountCache totalCountCache;
+
+    public ImportReportDto importCsv(ImportType type, InputStream csv) throws IOException {
+        long startedAt = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), BUFFER_SIZE);
+        String header = reader.readLine();
+        if (header == null || !type.getFields().equals(parseLine(header.replace(BYTE_ORDER_MARK, "")))) {
+            throw new InvalidDataAccessApiUsageException("CSV header must be: " + type.getHeader());
+        }
+
+        List<ImportRowErrorDto> errors = new ArrayList<>();
+        long rows;
+        ImportStaging.MergeResult mergeResult;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            ImportStaging staging = null;
+            try {
+                staging = new ImportStaging(connection, type, chunkSize);
+                rows = load(type, reader, staging, errors);
+                mergeResult = staging.merge();
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException exception) {
+                if (staging != null) {
+                    staging.abort();
+                }
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException exception) {
+            throw new UncategorizedSQLException("Bulk import of " + type.getTable(), null, exception);
+        }
+
+        for (Long line : mergeResult.skippedLines()) {
+            errors.add(new ImportRowErrorDto(line, "Unique value was saved by another request during the import"));
+        }
+        errors.sort(Comparator.comparingLong(ImportRowErrorDto::getLine));
+        if (mergeResult.imported() > 0) {
+            type.getUniqueKeys().forEach(uniquenessIndex::rebuild);
+            totalCountCache.invalidate(type.getEntityType());
+        }
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        ImportReportDto report = new ImportReportDto(type.getTable(), rows, mergeResult.imported(), errors.size(),
+                elapsedMillis, rows * 1000 / elapsedMillis, errors);
+        log.info("Import {}: rows: {}, imported: {}, rejected: {}, time: {} ms, throughput: {} rows/s", report.getType(),
+                rows, report.getImported(), report.getRejected(), elapsedMillis, report.getRowsPerSecond());
+        return report;
+    }
+
+    private long load(ImportType type, BufferedReader reader, ImportStaging staging, List<ImportRowErrorDto> errors)
+            throws IOException, SQLException {
+        Map<UniqueKey, Map<String, Long>> firstLines = new EnumMap<>(UniqueKey.class);
+        for (UniqueKey key : type.getUniqueKeys()) {
+            firstLines.put(key, new HashMap<>());
+        }
+        Deque<Future<ValidatedChunk>> pending = new ArrayDeque<>();
+        long rows = 0;
+        long lineNumber = 1;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CsvRow> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                rows++;
+                chunk.add(new CsvRow(lineNumber, line));
+                if (chunk.size() == chunkSize) {
+                    List<CsvRow> rowsToValidate = chunk;
+                    pending.add(executor.submit(() -> validate(type, rowsToValidate)));
+                    chunk = new ArrayList<>(chunkSize);
+                    if (pending.size() >= maxConcurrentChunks) {
+                        stage(type, await(pending.poll()), staging, firstLines, errors);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                List<CsvRow> rowsToValidate = chunk;
+                pending.add(executor.submit(() -> validate(type, rowsToValidate)));
+            }
+            while (!pending.isEmpty()) {
+                stage(type, await(pending.poll()), staging, firstLines, errors);
+            }
+        }
+        return rows;
+    }
+
+    private ValidatedChunk validate(ImportType type, List<CsvRow> rows) {
+        List<ImportRowErrorDto> errors = new ArrayList<>();
+        List<AcceptedRow> accepted = new ArrayList<>(rows.size());
+        for (CsvRow row : rows) {
+            String[] values;
+            try {
+                values = parseLine(row.line()).toArray(String[]::new);
+            } catch (InvalidDataAccessApiUsageException exception) {
+                errors.add(new ImportRowErrorDto(row.lineNumber(), exception.getMessage()));
+                continue;
+            }
+            String violations = violations(type, values);
+            if (violations == null) {
+                accepted.add(new AcceptedRow(row.lineNumber(), values));
+            } else {
+                errors.add(new ImportRowErrorDto(row.lineNumber(), violations));
+            }
+        }
+
+        Map<AcceptedRow, List<String>> conflicts = new HashMap<>();
+        for (UniqueKey key : type.getUniqueKeys()) {
+            int index = type.indexOf(key);
+            Set<String> candidates = new HashSet<>();
+            for (AcceptedRow row : accepted) {
+                if (uniquenessIndex.mightContain(key, row.values()[index])) {
+                    candidates.add(row.values()[index]);
+                }
+            }
+            if (candidates.isEmpty()) {
+                continue;
+            }
+            Set<String> existing = new HashSet<>(findExisting(key, candidates));
+            for (AcceptedRow row : accepted) {
+                if (existing.contains(row.values()[index])) {
+                    conflicts.computeIfAbsent(row, conflictingRow -> new ArrayList<>()).add(key.getMessage());
+                }
+            }
+        }
+        if (conflicts.isEmpty()) {
+            return new ValidatedChunk(errors, accepted);
+        }
+
+        List<AcceptedRow> free = new ArrayList<>(accepted.size() - conflicts.size());
+        for (AcceptedRow row : accepted) {
+            List<String> messages = conflicts.get(row);
+            if (messages == null) {
+                free.add(row);
+            } else {
+                errors.add(new ImportRowErrorDto(row.lineNumber(), String.join("; ", messages)));
+            }
+        }
+        return new ValidatedChunk(errors, free);
+    }
+
+    private String violations(ImportType type, String[] values) {
+        if (values.length != type.getFields().size()) {
+            return "Expected " + type.getFields().size() + " values but found " + values.length;
+        }
+        Object dto;
+        try {
+            dto = type.toDto(values);
+        } catch (InvalidDataAccessApiUsageException exception) {
+            return exception.getMessage();
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(dto, Import.class);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private List<String> findExisting(UniqueKey key, Collection<String> values) {
+        return switch (key) {
+            case CAR_REGISTRATION_NUMBER -> carRepository.findExistingRegistrationNumbers(values);
+            case CUSTOMER_EMAIL -> customerRepository.findExistingEmails(values);
+            case CUSTOMER_PHONE_NUMBER -> customerRepository.findExistingPhoneNumbers(values);
+            case CUSTOMER_DRIVING_LICENSE_NUMBER -> customerRepository.findExistingDrivingLicenseNumbers(values);
+            default -> List.of();
+        };
+    }
+
+    private void stage(ImportType type, ValidatedChunk chunk, ImportStaging staging,
+                       Map<UniqueKey, Map<String, Long>> firstLines, List<ImportRowErrorDto> errors) throws SQLException {
+        errors.addAll(chunk.errors());
+        for (AcceptedRow row : chunk.accepted()) {
+            List<String> duplicates = new ArrayList<>();
+            for (UniqueKey key : type.getUniqueKeys()) {
+                Long firstLine = firstLines.get(key).get(row.values()[type.indexOf(key)]);
+                if (firstLine != null) {
+                    duplicates.add(key.getMessage() + " in line " + firstLine);
+                }
+            }
+            if (!duplicates.isEmpty()) {
+                errors.add(new ImportRowErrorDto(row.lineNumber(), String.join("; ", duplicates)));
+                continue;
+            }
+            for (UniqueKey key : type.getUniqueKeys()) {
+                firstLines.get(key).put(row.values()[type.indexOf(key)], row.lineNumber());
+            }
+            staging.add(row.lineNumber(), row.values());
+        }
+    }
+
+    private static ValidatedChunk await(Future<ValidatedChunk> chunk) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char character = line.charAt(i);
+            if (quoted) {
+                if (character != '"') {
+                    value.append(character);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(character);
+            }
+        }
+        if (quoted) {
+            throw new InvalidDataAccessApiUsageException("Quoted value is not closed");
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+
+    private record CsvRow(long lineNumber, String line) {
+    }
+
+    private record AcceptedRow(long lineNumber, String[] values) {
+    }
+
+    private record ValidatedChunk(List<ImportRowErrorDto> errors, List<AcceptedRow> accepted) {
+    }
+}
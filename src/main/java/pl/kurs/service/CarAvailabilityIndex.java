@@ -0,0 +1,165 @@
+package pl.kurs.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.kurs.dto.ReservationPeriodDto;
+import pl.kurs.entity.Reservation;
+import pl.kurs.entity.Status;
+import pl.kurs.repository.ReservationRepository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@RequiredArgsConstructor
+public class CarAvailabilityIndex {
+    private final ReservationRepository reservationRepository;
+
+    private final Map<Long, CarSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, ReservationPeriodDto> periods = new ConcurrentHashMap<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile boolean ready;
+
+    // the index only sees bookings committed on this instance; with several instances turn it off so searches use the database
+    @Value("${car-search.availability-index:true}")
+    private boolean enabled = true;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            ready = false;
+            schedules.clear();
+            periods.clear();
+            if (!enabled) {
+                return;
+            }
+            reservationRepository.findActivePeriods().forEach(this::put);
+            ready = true;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void register(Reservation reservation) {
+        if (reservation.getId() == null || reservation.getCar() == null) {
+            return;
+        }
+        ReservationPeriodDto period = new ReservationPeriodDto(reservation.getId(), reservation.getCar().getId(),
+                reservation.getStartDate(), reservation.getEndDate());
+        boolean active = reservation.getStatus() == Status.RESERVED || reservation.getStatus() == Status.RENTED;
+
+        afterCommit(() -> {
+            remove(period.getId());
+            if (active) {
+                put(period);
+            }
+        });
+    }
+
+    public void unregister(Long reservationId) {
+        afterCommit(() -> remove(reservationId));
+    }
+
+    public Set<Long> findBookedCarIds(LocalDate startDate, LocalDate endDate) {
+        Set<Long> booked = new HashSet<>();
+        schedules.forEach((carId, schedule) -> {
+            if (schedule.overlaps(startDate, endDate)) {
+                booked.add(carId);
+            }
+        });
+        return booked;
+    }
+
+    public boolean isBooked(Long carId, LocalDate startDate, LocalDate endDate) {
+        CarSchedule schedule = schedules.get(carId);
+        return schedule != null && schedule.overlaps(startDate, endDate);
+    }
+
+    private void put(ReservationPeriodDto period) {
+        periods.put(period.getId(), period);
+        schedules.computeIfAbsent(period.getCarId(), id -> new CarSchedule()).add(period);
+    }
+
+    private void remove(Long reservationId) {
+        ReservationPeriodDto period = periods.remove(reservationId);
+        if (period == null) {
+            return;
+        }
+        CarSchedule schedule = schedules.get(period.getCarId());
+        if (schedule != null) {
+            schedule.remove(period);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class CarSchedule {
+        private final NavigableMap<LocalDate, Map<Long, LocalDate>> byStartDate = new TreeMap<>();
+        // period length in days -> number of periods of that length, so the longest one is known after removals
+        private final NavigableMap<Long, Integer> lengths = new TreeMap<>();
+
+        synchronized void add(ReservationPeriodDto period) {
+            byStartDate.computeIfAbsent(period.getStartDate(), date -> new HashMap<>())
+                    .put(period.getId(), period.getEndDate());
+            lengths.merge(length(period), 1, Integer::sum);
+        }
+
+        synchronized void remove(ReservationPeriodDto period) {
+            Map<Long, LocalDate> sameStart = byStartDate.get(period.getStartDate());
+            if (sameStart == null || sameStart.remove(period.getId()) == null) {
+                return;
+            }
+            if (sameStart.isEmpty()) {
+                byStartDate.remove(period.getStartDate());
+            }
+            lengths.computeIfPresent(length(period), (length, count) -> count == 1 ? null : count - 1);
+        }
+
+        synchronized boolean overlaps(LocalDate startDate, LocalDate endDate) {
+            if (lengths.isEmpty()) {
+                return false;
+            }
+            // no period is longer than the longest length, so earlier starts cannot reach startDate
+            LocalDate scanFrom = startDate.minusDays(lengths.lastKey());
+            if (scanFrom.isAfter(endDate)) {
+                return false;
+            }
+            for (Map<Long, LocalDate> sameStart : byStartDate.subMap(scanFrom, true, endDate, false).values()) {
+                for (LocalDate periodEnd : sameStart.values()) {
+                    if (periodEnd.isAfter(startDate)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static long length(ReservationPeriodDto period) {
+            return ChronoUnit.DAYS.between(period.getStartDate(), period.getEndDate());
+        }
+    }
+}
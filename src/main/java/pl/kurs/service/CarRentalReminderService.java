@@ -1,17 +1,50 @@
 package pl.kurs.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import pl.kurs.entity.Reservation;
+import pl.kurs.dto.ReservationReminderDto;
+import pl.kurs.template.BoundTemplate;
+import pl.kurs.template.TemplateRegistry;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+@Slf4j
 @Component
+@RequiredArgsConstructor
 public class CarRentalReminderService {
+    private static final String CUSTOMER_TEMPLATE = "reminders/customer-reminder";
+    private static final String EMPLOYEE_TEMPLATE = "reminders/employee-reminder";
+    private static final Map<String, Function<ReservationReminderDto, ?>> REMINDER_VARIABLES = Map.of(
+            "reservationId", ReservationReminderDto::getReservationId,
+            "customerFirstName", ReservationReminderDto::getCustomerFirstName,
+            "customerLastName", ReservationReminderDto::getCustomerLastName,
+            "customerPhoneNumber", ReservationReminderDto::getCustomerPhoneNumber,
+            "customerDrivingLicenseNumber", ReservationReminderDto::getCustomerDrivingLicenseNumber,
+            "carProducer", ReservationReminderDto::getCarProducer,
+            "carModel", ReservationReminderDto::getCarModel,
+            "carRegistrationNumber", ReservationReminderDto::getCarRegistrationNumber);
+
     @Value("${notification.manager-email}")
     private String managerEmail;
 
@@ -21,78 +54,143 @@ public class CarRentalReminderService {
     @Value("${notification.system-email}")
     private String systemMail;
 
-    private ReservationService reservationService;
-    private JavaMailSender mailSender;
+    @Value("${notification.reminders.locale:en}")
+    private Locale reminderLocale;
+
+    @Value("${notification.reminders.batch-size:50}")
+    private int batchSize;
+
+    @Value("${notification.reminders.max-concurrent-batches:4}")
+    private int maxConcurrentBatches;
+
+    @Value("${notification.reminders.max-attempts:3}")
+    private int maxSendAttempts;
+
+    @Value("${notification.reminders.backoff-ms:500}")
+    private long sendBackoffMs;
+
+    private final ReservationService reservationService;
+    private final JavaMailSender mailSender;
+    private final TemplateRegistry templateRegistry;
+    private final MeterRegistry meterRegistry;
 
     @Scheduled(cron = "0 0 8 * * ?")
     public void sendDailyReminders() {
         LocalDate tomorrow = LocalDate.now().plusDays(1);
-        List<Reservation> tomorrowRentals = reservationService.findActiveReservationForDate(tomorrow);
 
-        for (Reservation reservation : tomorrowRentals) {
-            sendCustomerReminder(reservation);
-            sendEmployeeReminder(reservation);
+        BoundTemplate<ReservationReminderDto> customerTemplate = templateRegistry
+                .getTemplate(CUSTOMER_TEMPLATE, reminderLocale).bind(REMINDER_VARIABLES);
+        BoundTemplate<ReservationReminderDto> employeeTemplate = templateRegistry
+                .getTemplate(EMPLOYEE_TEMPLATE, reminderLocale).bind(REMINDER_VARIABLES);
+
+        // the reminders are read before sending, so no connection is held while the mail server is slow
+        List<ReservationReminderDto> reminders = reservationService.getRemindersForDate(tomorrow);
+        ReminderRunStats stats = dispatch(reminders.stream()
+                .flatMap(reservation -> Stream.of(
+                        createCustomerReminder(reservation, customerTemplate),
+                        createEmployeeReminder(reservation, employeeTemplate)))
+                .iterator());
+        log.info("Reminders: messages: {}, batches: {}, sent: {}, failed: {}, time: {} ms, throughput: {} msg/s",
+                stats.messages(), stats.batches(), stats.sent(), stats.failed(), stats.elapsed().toMillis(),
+                Math.round(stats.throughputPerSecond()));
+    }
+
+    ReminderRunStats dispatch(Iterator<SimpleMailMessage> messages) {
+        ReminderRunStats stats = deliver(messages);
+        record(stats);
+        return stats;
+    }
+
+    // messages are rendered while earlier batches are sent, at most maxConcurrentBatches batches at a time
+    private ReminderRunStats deliver(Iterator<SimpleMailMessage> messages) {
+        long startedAt = System.nanoTime();
+        int total = 0;
+        int batches = 0;
+        AtomicInteger sent = new AtomicInteger();
+        Semaphore permits = new Semaphore(maxConcurrentBatches);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (messages.hasNext()) {
+                List<SimpleMailMessage> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && messages.hasNext()) {
+                    batch.add(messages.next());
+                }
+                total += batch.size();
+                batches++;
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        sent.addAndGet(sendWithRetry(batch));
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        return new ReminderRunStats(total, batches, sent.get(), total - sent.get(), elapsed);
+    }
+
+    private void record(ReminderRunStats stats) {
+        meterRegistry.counter("reminders.sent").increment(stats.sent());
+        meterRegistry.counter("reminders.failed").increment(stats.failed());
+        meterRegistry.timer("reminders.run").record(stats.elapsed());
+        meterRegistry.summary("reminders.throughput").record(stats.throughputPerSecond());
+    }
+
+    private int sendWithRetry(List<SimpleMailMessage> batch) {
+        List<SimpleMailMessage> pending = batch;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                mailSender.send(pending.toArray(SimpleMailMessage[]::new));
+                return batch.size();
+            } catch (MailSendException exception) {
+                pending = failedMessages(exception, pending);
+                if (attempt >= maxSendAttempts || !backOff(attempt)) {
+                    return batch.size() - pending.size();
+                }
+            } catch (MailException exception) {
+                return batch.size() - pending.size();
+            }
+        }
+    }
+
+    private List<SimpleMailMessage> failedMessages(MailSendException exception, List<SimpleMailMessage> attempted) {
+        List<SimpleMailMessage> failed = exception.getFailedMessages().keySet().stream()
+                .filter(SimpleMailMessage.class::isInstance)
+                .map(SimpleMailMessage.class::cast)
+                .toList();
+        return failed.isEmpty() ? attempted : failed;
+    }
+
+    private boolean backOff(int attempt) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(sendBackoffMs << (attempt - 1));
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 
-    private void sendCustomerReminder(Reservation reservation) {
+    private SimpleMailMessage createCustomerReminder(ReservationReminderDto reservation,
+                                                     BoundTemplate<ReservationReminderDto> template) {
         SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(reservation.getCustomer().getEmail());
+        message.setTo(reservation.getCustomerEmail());
         message.setSubject("Car rental reminder");
-        message.setText(createCustomerReminderText(reservation));
+        message.setText(template.render(reservation));
         message.setFrom(noReplyMail);
-
-        mailSender.send(message);
+        return message;
     }
 
-    private void sendEmployeeReminder(Reservation reservation) {
+    private SimpleMailMessage createEmployeeReminder(ReservationReminderDto reservation,
+                                                     BoundTemplate<ReservationReminderDto> template) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(managerEmail);
         message.setSubject("Car handover reminder");
-        message.setText(createEmployeeReminderText(reservation));
+        message.setText(template.render(reservation));
         message.setFrom(systemMail);
-
-        mailSender.send(message);
-    }
-
-    private String createCustomerReminderText(Reservation reservation) {
-        return String.format(
-                "Hi %s!\n\n" +
-                "We remind you about tomorrow's car rental!\n\n" +
-                "Car: %s %s\n" +
-                "Reservation id: %s\n\n" +
-                "Please arrive on time with your documents:\n" +
-                "- driving license number: %s\n\n" +
-                "If you have any questions, please contact us.\n\n" +
-                "Best regards,\n" +
-                "Rental Team!",
-                reservation.getCustomer().getFirstName(),
-                reservation.getCar().getProducer(),
-                reservation.getCar().getModel(),
-                reservation.getId(),
-                reservation.getCustomer().getDrivingLicenseNumber()
-        );
+        return message;
     }
-
-    private String createEmployeeReminderText(Reservation reservation) {
-        return String.format(
-                "Hi,\n\n" +
-                "Reminder about tomorrow's car release:\n\n" +
-                "Customer: %s %s\n" +
-                "- phone number: %s\n" +
-                "- driving license number: %s\n" +
-                "Car: %s %s (registration number: %s)\n" +
-                "Reservation id: %s\n\n" +
-                "Rental System!",
-                reservation.getCustomer().getFirstName(),
-                reservation.getCustomer().getLastName(),
-                reservation.getCustomer().getPhoneNumber(),
-                reservation.getCustomer().getDrivingLicenseNumber(),
-                reservation.getCar().getProducer(),
-                reservation.getCar().getModel(),
-                reservation.getCar().getRegistrationNumber(),
-                reservation.getId()
-        );
-    }
-
 }
@@ -3,60 +3,119 @@ package pl.kurs.service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import pl.kurs.config.ReadYourWrites;
+import pl.kurs.dto.CursorPageDto;
 import pl.kurs.entity.Car;
 import pl.kurs.exception.DataNotFoundException;
 import pl.kurs.exception.InvalidDataAccessApiUsageException;
 import pl.kurs.exception.ResourceNotFoundException;
 import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CarSpecifications;
 
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CarService {
-    private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("id", "producer", "model", "year_of_production", "registration_number", "price_per_day");
+    private static final Map<String, String> ALLOWED_SORT_FIELDS = Map.of(
+            "id", "id",
+            "producer", "producer",
+            "model", "model",
+            "year_of_production", "yearOfProduction",
+            "registration_number", "registrationNumber",
+            "price_per_day", "pricePerDay");
+    private static final int MAX_EXCLUDED_CAR_IDS = 100;
     private final CarRepository carRepository;
+    private final CarAvailabilityIndex carAvailabilityIndex;
+    private final KeysetPaginator keysetPaginator;
+    private final TotalCountCache totalCountCache;
+    private final UniqueFieldsService uniqueFieldsService;
 
+    @Value("${car-search.period-index:false}")
+    private boolean periodIndex;
+
+    @Cacheable(cacheNames = "cars", key = "#id")
     public Car getCarById(Long id) {
-        return carRepository.findById(id)
+        return ReadYourWrites.onPrimary(() -> carRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Car not found with id: " + id));
     }
 
     public Page<Car> getAll(int page, int size) {
-        return carRepository.findAll(PageRequest.of(page, size));
+        return withCachedTotal(getAllSlice(page, size));
+    }
+
+    public Slice<Car> getAllSlice(int page, int size) {
+        return carRepository.findAllBy(PageRequest.of(page, size));
     }
 
+    public CursorPageDto<Car> getAllAfter(String cursor, int size) {
+        return keysetPaginator.scroll(carRepository, Car.class, null, Sort.by("id"), cursor, size);
+    }
+
+    @CacheEvict(cacheNames = "cars", key = "#result.id")
     public Car saveCar(Car car) {
-        return carRepository.save(car);
+        Car savedCar;
+        try {
+            savedCar = carRepository.saveAndFlush(car);
+        } catch (DataIntegrityViolationException exception) {
+            throw uniqueFieldsService.translate(exception, Car.class);
+        }
+        totalCountCache.invalidate(Car.class);
+        return savedCar;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = "cars", key = "#car.id")
     public Car updateCar(Car car) {
         Car carToUpdate = carRepository.findById(car.getId())
                 .orElseThrow(() -> new DataNotFoundException("Car with id: " + car.getId() + " not found"));
-        BeanUtils.copyProperties(car, carToUpdate);
-        return carRepository.save(carToUpdate);
+        BeanUtils.copyProperties(car, carToUpdate, "bookingVersion");
+        try {
+            return carRepository.saveAndFlush(carToUpdate);
+        } catch (DataIntegrityViolationException exception) {
+            throw uniqueFieldsService.translate(exception, Car.class);
+        }
     }
 
+    @CacheEvict(cacheNames = "cars", key = "#id")
     public void deleteCarById(Long id) {
         carRepository.deleteById(id);
+        totalCountCache.invalidate(Car.class);
     }
 
     public Page<Car> getAllSorted(String property, Sort.Direction direction, int page, int size) {
+        return withCachedTotal(getAllSortedSlice(property, direction, page, size));
+    }
+
+    public Slice<Car> getAllSortedSlice(String property, Sort.Direction direction, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, toSort(property, direction));
+        return carRepository.findAllBy(pageable);
+    }
+
+    public CursorPageDto<Car> getAllSortedAfter(String property, Sort.Direction direction, String cursor, int size) {
+        return keysetPaginator.scroll(carRepository, Car.class, null, toSort(property, direction), cursor, size);
+    }
 
-        if (!ALLOWED_SORT_FIELDS.contains(property)) {
+    private Sort toSort(String property, Sort.Direction direction) {
+        String sortProperty = ALLOWED_SORT_FIELDS.get(property);
+        if (sortProperty == null) {
             throw new InvalidDataAccessApiUsageException("Invalid sort field: " + property);
         }
-
-        Sort sort = Sort.by(direction, property);
-        Pageable pageable = PageRequest.of(page, size, sort);
-        return carRepository.findAll(pageable);
+        return Sort.by(direction, sortProperty);
     }
 
     public Page<Car> getByProducerAndModelAndAvailable(String producer, String model, LocalDate startDate, LocalDate endDate, int page, int size) {
@@ -64,7 +123,61 @@ public class CarService {
             return carRepository.findByProducerAndModel(producer, model, PageRequest.of(page, size));
         }
 
-        return carRepository.findAvailableCars(producer, model, startDate, endDate, PageRequest.of(page, size));
+        if (!carAvailabilityIndex.isReady()) {
+            return findAvailableCars(producer, model, startDate, endDate, PageRequest.of(page, size));
+        }
+
+        Set<Long> bookedCarIds = carAvailabilityIndex.findBookedCarIds(startDate, endDate);
+        if (bookedCarIds.isEmpty()) {
+            return carRepository.findByProducerAndModel(producer, model, PageRequest.of(page, size));
+        }
+        // booked ids are not filtered by producer and model, so a filtered search is left to the anti-join
+        if (producer != null || model != null || bookedCarIds.size() > MAX_EXCLUDED_CAR_IDS) {
+            return findAvailableCars(producer, model, startDate, endDate, PageRequest.of(page, size));
+        }
+        return carRepository.findByProducerAndModelExcludingIds(null, null, bookedCarIds, PageRequest.of(page, size));
+    }
+
+    private Page<Car> findAvailableCars(String producer, String model, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        if (periodIndex && !endDate.isBefore(startDate)) {
+            return carRepository.findAvailableCarsByPeriod(producer, model, startDate, endDate, pageable);
+        }
+        return carRepository.findAvailableCars(producer, model, startDate, endDate, pageable);
+    }
+
+    public Slice<Car> getByProducerAndModelAndAvailableSlice(String producer, String model, LocalDate startDate, LocalDate endDate,
+                                                             int page, int size) {
+        if (startDate == null || endDate == null) {
+            return carRepository.findSliceByProducerAndModel(producer, model, PageRequest.of(page, size));
+        }
+
+        if (!carAvailabilityIndex.isReady()) {
+            return findAvailableCarsSlice(producer, model, startDate, endDate, PageRequest.of(page, size));
+        }
+
+        Set<Long> bookedCarIds = carAvailabilityIndex.findBookedCarIds(startDate, endDate);
+        if (bookedCarIds.isEmpty()) {
+            return carRepository.findSliceByProducerAndModel(producer, model, PageRequest.of(page, size));
+        }
+        if (producer != null || model != null || bookedCarIds.size() > MAX_EXCLUDED_CAR_IDS) {
+            return findAvailableCarsSlice(producer, model, startDate, endDate, PageRequest.of(page, size));
+        }
+        return carRepository.findSliceByProducerAndModelExcludingIds(null, null, bookedCarIds, PageRequest.of(page, size));
+    }
+
+    private Slice<Car> findAvailableCarsSlice(String producer, String model, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        if (periodIndex && !endDate.isBefore(startDate)) {
+            return carRepository.findAvailableCarsSliceByPeriod(producer, model, startDate, endDate, pageable);
+        }
+        return carRepository.findAvailableCarsSlice(producer, model, startDate, endDate, pageable);
+    }
+
+    public CursorPageDto<Car> getByProducerAndModelAndAvailableAfter(String producer, String model, LocalDate startDate,
+                                                                     LocalDate endDate, String cursor, int size) {
+        Specification<Car> specification = Specification.where(CarSpecifications.hasProducer(producer))
+                .and(CarSpecifications.hasModel(model))
+                .and(CarSpecifications.isAvailableBetween(startDate, endDate));
+        return keysetPaginator.scroll(carRepository, Car.class, specification, Sort.by("id"), cursor, size);
     }
 
     public Car findForUpdate(Long id) {
@@ -72,5 +185,22 @@ public class CarService {
                 .orElseThrow(() -> new DataNotFoundException("Car with id: " + id + " not found"));
 
     }
-}
 
+    public Car getCarReference(Long id) {
+        return carRepository.getReferenceById(id);
+    }
+
+    public Long getBookingVersion(Long id) {
+        return carRepository.findBookingVersion(id)
+                .orElseThrow(() -> new DataNotFoundException("Car with id: " + id + " not found"));
+    }
+
+    public boolean incrementBookingVersion(Long id, Long expectedBookingVersion) {
+        return carRepository.incrementBookingVersion(id, expectedBookingVersion) == 1;
+    }
+
+    private Page<Car> withCachedTotal(Slice<Car> slice) {
+        return PageableExecutionUtils.getPage(slice.getContent(), slice.getPageable(),
+                () -> totalCountCache.count(Car.class, carRepository::count));
+    }
+}
@@ -0,0 +1,84 @@
+package pl.kurs.service;
+
+// saturating 8-bit counters instead of bits so values can be removed; ~1% false positives at the expected size
+final class CountingBloomFilter {
+    private static final int HASH_FUNCTIONS = 7;
+    private static final double COUNTERS_PER_ELEMENT = 9.6;
+    private static final int MIN_EXPECTED_ELEMENTS = 1024;
+    private static final int SATURATED = 0xFF;
+
+    private final byte[] counters;
+    private final int expectedElements;
+    private int population;
+
+    CountingBloomFilter(int expectedElements) {
+        this.expectedElements = Math.max(expectedElements, MIN_EXPECTED_ELEMENTS);
+        this.counters = new byte[(int) Math.ceil(this.expectedElements * COUNTERS_PER_ELEMENT)];
+    }
+
+    synchronized void add(String value) {
+        long hash = hash(value);
+        long step = step(hash);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int index = index(hash, step, i);
+            if ((counters[index] & SATURATED) != SATURATED) {
+                counters[index]++;
+            }
+        }
+        population++;
+    }
+
+    synchronized void remove(String value) {
+        if (!mightContain(value)) {
+            return;
+        }
+        long hash = hash(value);
+        long step = step(hash);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int index = index(hash, step, i);
+            // a saturated counter no longer knows how many values it holds, so it stays set
+            if ((counters[index] & SATURATED) != SATURATED) {
+                counters[index]--;
+            }
+        }
+        population--;
+    }
+
+    synchronized boolean mightContain(String value) {
+        long hash = hash(value);
+        long step = step(hash);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            if (counters[index(hash, step, i)] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized boolean isOverloaded() {
+        return population > expectedElements;
+    }
+
+    private int index(long hash, long step, int i) {
+        return (int) Long.remainderUnsigned(hash + i * step, counters.length);
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long step(long hash) {
+        return mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
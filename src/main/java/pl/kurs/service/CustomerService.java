@@ -3,45 +3,101 @@ package pl.kurs.service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import pl.kurs.config.ReadYourWrites;
+import pl.kurs.dto.CursorPageDto;
 import pl.kurs.entity.Customer;
 import pl.kurs.exception.DataNotFoundException;
 import pl.kurs.exception.ResourceNotFoundException;
 import pl.kurs.repository.CustomerRepository;
+import pl.kurs.repository.CustomerSpecifications;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerService {
     private final CustomerRepository customerRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final TotalCountCache totalCountCache;
+    private final UniqueFieldsService uniqueFieldsService;
 
+    @Cacheable(cacheNames = "customers", key = "#id")
     public Customer getCustomerById(Long id) {
-        return customerRepository.findById(id)
+        return ReadYourWrites.onPrimary(() -> customerRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
     }
 
+    public Customer getCustomerReference(Long id) {
+        return customerRepository.getReferenceById(id);
+    }
+
     public Page<Customer> getAll(int page, int size) {
-        return customerRepository.findAll(PageRequest.of(page, size));
+        return withCachedTotal(getAllSlice(page, size));
+    }
+
+    public Slice<Customer> getAllSlice(int page, int size) {
+        return customerRepository.findAllBy(PageRequest.of(page, size));
+    }
+
+    public CursorPageDto<Customer> getAllAfter(String cursor, int size) {
+        return keysetPaginator.scroll(customerRepository, Customer.class, null, Sort.by("id"), cursor, size);
     }
 
+    @CacheEvict(cacheNames = "customers", key = "#result.id")
     public Customer saveCustomer(Customer customer) {
-        return customerRepository.save(customer);
+        Customer savedCustomer;
+        try {
+            savedCustomer = customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException exception) {
+            throw uniqueFieldsService.translate(exception, Customer.class);
+        }
+        totalCountCache.invalidate(Customer.class);
+        return savedCustomer;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = "customers", key = "#customer.id")
     public Customer updateCustomer(Customer customer) {
         Customer customerToUpdate = customerRepository.findById(customer.getId())
                 .orElseThrow(() -> new DataNotFoundException("Customer with id: " + customer.getId() + " not found"));
         BeanUtils.copyProperties(customer, customerToUpdate);
-        return customerRepository.save(customerToUpdate);
+        try {
+            return customerRepository.saveAndFlush(customerToUpdate);
+        } catch (DataIntegrityViolationException exception) {
+            throw uniqueFieldsService.translate(exception, Customer.class);
+        }
     }
 
+    @CacheEvict(cacheNames = "customers", key = "#id")
     public void deleteCustomerById(Long id) {
         customerRepository.deleteById(id);
+        totalCountCache.invalidate(Customer.class);
     }
 
     public Page<Customer> getByFirstNameAndLastName(String firstName, String lastName, int page, int size) {
         return customerRepository.findAllByFirstNameAndLastName(firstName, lastName, PageRequest.of(page, size));
     }
+
+    public Slice<Customer> getByFirstNameAndLastNameSlice(String firstName, String lastName, int page, int size) {
+        return customerRepository.findSliceByFirstNameAndLastName(firstName, lastName, PageRequest.of(page, size));
+    }
+
+    public CursorPageDto<Customer> getByFirstNameAndLastNameAfter(String firstName, String lastName, String cursor, int size) {
+        Specification<Customer> specification = Specification.where(CustomerSpecifications.hasFirstName(firstName))
+                .and(CustomerSpecifications.hasLastName(lastName));
+        return keysetPaginator.scroll(customerRepository, Customer.class, specification, Sort.by("id"), cursor, size);
+    }
+
+    private Page<Customer> withCachedTotal(Slice<Customer> slice) {
+        return PageableExecutionUtils.getPage(slice.getContent(), slice.getPageable(),
+                () -> totalCountCache.count(Customer.class, customerRepository::count));
+    }
 }
@@ -3,9 +3,18 @@ package pl.kurs.service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import pl.kurs.config.ReadYourWrites;
+import pl.kurs.dto.CursorPageDto;
 import pl.kurs.dto.EmployeeDto;
 import pl.kurs.entity.Employee;
 import pl.kurs.entity.Position;
@@ -13,6 +22,7 @@ import pl.kurs.exception.DataNotFoundException;
 import pl.kurs.exception.ResourceNotFoundException;
 import pl.kurs.mapper.EmployeeMapper;
 import pl.kurs.repository.EmployeeRepository;
+import pl.kurs.repository.EmployeeSpecifications;
 
 @Service
 @RequiredArgsConstructor
@@ -20,40 +30,84 @@ public class EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final EmployeeMapper employeeMapper;
     private final PositionService positionService;
+    private final KeysetPaginator keysetPaginator;
+    private final TotalCountCache totalCountCache;
+    private final UniqueFieldsService uniqueFieldsService;
 
+    @Cacheable(cacheNames = "employees", key = "#id")
     public Employee getEmployeeById(Long id) {
-        return employeeRepository.findById(id)
+        return ReadYourWrites.onPrimary(() -> employeeRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
     }
 
     public Page<Employee> getAll(int page, int size) {
-        return employeeRepository.findAll(PageRequest.of(page, size));
+        return withCachedTotal(getAllSlice(page, size));
     }
 
+    public Slice<Employee> getAllSlice(int page, int size) {
+        return employeeRepository.findAllBy(PageRequest.of(page, size));
+    }
+
+    public CursorPageDto<Employee> getAllAfter(String cursor, int size) {
+        return keysetPaginator.scroll(employeeRepository, Employee.class, null, Sort.by("id"), cursor, size);
+    }
+
+    @CacheEvict(cacheNames = "employees", key = "#result.id")
     public Employee saveEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee savedEmployee;
+        try {
+            savedEmployee = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException exception) {
+            throw uniqueFieldsService.translate(exception, Employee.class);
+        }
+        totalCountCache.invalidate(Employee.class);
+        return savedEmployee;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = "employees", key = "#employee.id")
     public Employee updateEmployee(Employee employee) {
         Employee employeeToUpdate = employeeRepository.findById(employee.getId())
                 .orElseThrow(() -> new DataNotFoundException("Employee with id: " + employee.getId() + " not found"));
         BeanUtils.copyProperties(employee, employeeToUpdate);
-        return employeeRepository.save(employeeToUpdate);
+        try {
+            return employeeRepository.saveAndFlush(employeeToUpdate);
+        } catch (DataIntegrityViolationException exception) {
+            throw uniqueFieldsService.translate(exception, Employee.class);
+        }
     }
 
+    @CacheEvict(cacheNames = "employees", key = "#id")
     public void deleteEmployeeById(Long id) {
         employeeRepository.deleteById(id);
+        totalCountCache.invalidate(Employee.class);
     }
 
     public Page<Employee> getByFirstNameAndLastNameAndPosition(String firstName, String lastName, String position, int page, int size) {
         return employeeRepository.findAllByFirstNameAndLastNameAndPosition(firstName, lastName, position, PageRequest.of(page, size));
     }
 
+    public Slice<Employee> getByFirstNameAndLastNameAndPositionSlice(String firstName, String lastName, String position, int page, int size) {
+        return employeeRepository.findSliceByFirstNameAndLastNameAndPosition(firstName, lastName, position, PageRequest.of(page, size));
+    }
+
+    public CursorPageDto<Employee> getByFirstNameAndLastNameAndPositionAfter(String firstName, String lastName, String position,
+                                                                            String cursor, int size) {
+        Specification<Employee> specification = Specification.where(EmployeeSpecifications.hasFirstName(firstName))
+                .and(EmployeeSpecifications.hasLastName(lastName))
+                .and(EmployeeSpecifications.hasPosition(position));
+        return keysetPaginator.scroll(employeeRepository, Employee.class, specification, Sort.by("id"), cursor, size);
+    }
+
     public Employee createEmployee(EmployeeDto employeeDto) {
-        Position position = positionService.findById(employeeDto.getPositionId());
+        Position position = positionService.getPositionReference(employeeDto.getPositionId());
         Employee employee = employeeMapper.dtoToEntityWithId(employeeDto);
         employee.setPosition(position);
         return employee;
     }
+
+    private Page<Employee> withCachedTotal(Slice<Employee> slice) {
+        return PageableExecutionUtils.getPage(slice.getContent(), slice.getPageable(),
+                () -> totalCountCache.count(Employee.class, employeeRepository::count));
+    }
 }
@@ -0,0 +1,27 @@
+package pl.kurs.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import pl.kurs.exception.InvalidDataAccessApiUsageException;
+
+@AllArgsConstructor
+@Getter
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    public static ExportFormat fromString(String format) {
+        if (format == null || format.trim().isEmpty()) {
+            throw new InvalidDataAccessApiUsageException("Export format cannot be empty.");
+        }
+
+        return switch (format.trim().toLowerCase()) {
+            case "ndjson" -> NDJSON;
+            case "csv" -> CSV;
+            default -> throw new InvalidDataAccessApiUsageException("Unknown export format: " + format);
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package pl.kurs.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.kurs.dto.CarCalendarDto;
+import pl.kurs.dto.FleetAvailabilityDto;
+import pl.kurs.dto.ReservationPeriodDto;
+import pl.kurs.entity.Car;
+import pl.kurs.exception.InvalidDataAccessApiUsageException;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CarSpecifications;
+import pl.kurs.repository.ReservationRepository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// a car is busy from the start date up to, not including, the end date, as in the availability search
+@Service
+@RequiredArgsConstructor
+public class FleetAvailabilityService {
+    private static final int MAX_DAYS = 366;
+
+    private final CarRepository carRepository;
+    private final ReservationRepository reservationRepository;
+
+    @Transactional(readOnly = true)
+    public FleetAvailabilityDto getCalendar(String producer, String model, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidDataAccessApiUsageException("End date must not be before start date");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_DAYS) {
+            throw new InvalidDataAccessApiUsageException("Calendar range must not exceed " + MAX_DAYS + " days");
+        }
+
+        Specification<Car> specification = Specification.where(CarSpecifications.hasProducer(producer))
+                .and(CarSpecifications.hasModel(model));
+        List<Car> cars = carRepository.findAll(specification, Sort.by("id"));
+        if (cars.isEmpty()) {
+            return new FleetAvailabilityDto(from, to, List.of());
+        }
+
+        Map<Long, Integer> rows = HashMap.newHashMap(cars.size());
+        for (int row = 0; row < cars.size(); row++) {
+            rows.put(cars.get(row).getId(), row);
+        }
+
+        AvailabilityBitmap bitmap = new AvailabilityBitmap(cars.size(), (int) days);
+        for (ReservationPeriodDto period : reservationRepository.findActivePeriodsBetween(from, to)) {
+            Integer row = rows.get(period.getCarId());
+            if (row != null) {
+                bitmap.markBusy(row, dayIndex(from, period.getStartDate(), days), dayIndex(from, period.getEndDate(), days));
+            }
+        }
+
+        List<CarCalendarDto> calendars = new ArrayList<>(cars.size());
+        for (int row = 0; row < cars.size(); row++) {
+            Car car = cars.get(row);
+            calendars.add(new CarCalendarDto(car.getId(), car.getRegistrationNumber(), bitmap.rowToString(row)));
+        }
+        return new FleetAvailabilityDto(from, to, calendars);
+    }
+
+    private static int dayIndex(LocalDate from, LocalDate date, long days) {
+        return (int) Math.clamp(ChronoUnit.DAYS.between(from, date), 0, days);
+    }
+}
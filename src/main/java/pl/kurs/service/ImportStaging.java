@@ -0,0 +1,183 @@
+package pl.kurs.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+// COPY on PostgreSQL, JDBC batches on other databases; the table is dropped when the transaction ends
+final class ImportStaging {
+    private static final String TABLE = "import_staging";
+    private static final String BLOCKS = "import_id_blocks";
+    private static final int COPY_CHUNK = 64 * 1024;
+    // allocationSize of the entities' id generators and INCREMENT BY of their sequences
+    private static final int ID_ALLOCATION = 50;
+
+    private final Connection connection;
+    private final ImportType type;
+    private final int batchSize;
+    private final boolean postgres;
+    private final StringBuilder copyBuffer = new StringBuilder();
+    private CopyIn copyIn;
+    private PreparedStatement insert;
+    private int batched;
+    private long staged;
+
+    ImportStaging(Connection connection, ImportType type, int batchSize) throws SQLException {
+        this.connection = connection;
+        this.type = type;
+        this.batchSize = batchSize;
+        this.postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE LOCAL TEMPORARY TABLE " + TABLE + " (line BIGINT NOT NULL, row_index BIGINT NOT NULL, " +
+                              "id BIGINT, " + type.getStagingColumns() + ") ON COMMIT DROP");
+        }
+    }
+
+    void add(long line, String[] values) throws SQLException {
+        long rowIndex = staged++;
+        if (postgres) {
+            copyBuffer.append(line).append(',').append(rowIndex);
+            for (String value : values) {
+                copyBuffer.append(",\"").append(value.replace("\"", "\"\"")).append('"');
+            }
+            copyBuffer.append('\n');
+            if (copyBuffer.length() >= COPY_CHUNK) {
+                flushCopyBuffer();
+            }
+            return;
+        }
+        if (insert == null) {
+            insert = connection.prepareStatement("INSERT INTO " + TABLE + " (line, row_index, " + String.join(", ", type.getColumns()) +
+                                                 ") VALUES (?, ?" + ", ?".repeat(values.length) + ")");
+        }
+        insert.setLong(1, line);
+        insert.setLong(2, rowIndex);
+        for (int i = 0; i < values.length; i++) {
+            insert.setString(i + 3, values[i]);
+        }
+        insert.addBatch();
+        if (++batched == batchSize) {
+            insert.executeBatch();
+            batched = 0;
+        }
+    }
+
+    // a row skipped by ON CONFLICT lost to a concurrent insert; other databases only skip rows that already exist
+    MergeResult merge() throws SQLException {
+        finishLoading();
+        String target = type.getTable();
+        StringJoiner conflicts = new StringJoiner(" OR ");
+        for (UniqueKey key : type.getUniqueKeys()) {
+            conflicts.add("existing." + key.getColumn() + " = staged." + key.getColumn());
+        }
+        String columns = String.join(", ", type.getColumns());
+        StringBuilder defaultColumns = new StringBuilder();
+        StringBuilder defaultValues = new StringBuilder();
+        for (Map.Entry<String, String> columnDefault : type.getColumnDefaults().entrySet()) {
+            defaultColumns.append(", ").append(columnDefault.getKey());
+            defaultValues.append(", ").append(columnDefault.getValue());
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            if (postgres) {
+                statement.execute("ANALYZE " + TABLE);
+            }
+            assignIds(statement, target + "_id_seq");
+            int imported = statement.executeUpdate("INSERT INTO " + target + " (id, " + columns + defaultColumns + ") " +
+                                                   "SELECT id, " + columns + defaultValues + " FROM " + TABLE + " staged " +
+                                                   "WHERE NOT EXISTS (SELECT 1 FROM " + target + " existing WHERE " + conflicts + ")" +
+                                                   (postgres ? " ON CONFLICT DO NOTHING" : ""));
+            List<Long> skippedLines = new ArrayList<>();
+            try (ResultSet skipped = statement.executeQuery("SELECT line FROM " + TABLE + " staged WHERE NOT EXISTS " +
+                                                            "(SELECT 1 FROM " + target + " existing WHERE existing.id = staged.id) ORDER BY line")) {
+                while (skipped.next()) {
+                    skippedLines.add(skipped.getLong(1));
+                }
+            }
+            return new MergeResult(imported, skippedLines);
+        }
+    }
+
+    // an open COPY has to be cancelled before the connection can be rolled back
+    void abort() throws SQLException {
+        if (copyIn != null && copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void finishLoading() throws SQLException {
+        if (postgres) {
+            flushCopyBuffer();
+            if (copyIn != null) {
+                copyIn.endCopy();
+            }
+            return;
+        }
+        if (insert != null) {
+            if (batched > 0) {
+                insert.executeBatch();
+            }
+            insert.close();
+        }
+    }
+
+    private void flushCopyBuffer() throws SQLException {
+        if (copyBuffer.isEmpty()) {
+            return;
+        }
+        if (copyIn == null) {
+            copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn("COPY " + TABLE + " (line, row_index, " +
+                    String.join(", ", type.getColumns()) + ") FROM STDIN WITH (FORMAT csv)");
+        }
+        byte[] bytes = copyBuffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        copyBuffer.setLength(0);
+    }
+
+    // like Hibernate's pooled optimizer, a sequence value is the upper end of a block of ID_ALLOCATION ids,
+    // so one value is drawn per ID_ALLOCATION staged rows
+    private void assignIds(Statement statement, String sequence) throws SQLException {
+        if (staged == 0) {
+            return;
+        }
+        statement.execute("CREATE LOCAL TEMPORARY TABLE " + BLOCKS + " (block BIGINT PRIMARY KEY, high BIGINT NOT NULL) ON COMMIT DROP");
+        long blocks = (staged + ID_ALLOCATION - 1) / ID_ALLOCATION;
+        try (PreparedStatement insertBlock = connection.prepareStatement("INSERT INTO " + BLOCKS + " (block, high) VALUES (?, ?)");
+             ResultSet highs = statement.executeQuery(postgres
+                     ? "SELECT nextval('" + sequence + "') FROM generate_series(1, " + blocks + ")"
+                     : "SELECT NEXT VALUE FOR " + sequence + " FROM SYSTEM_RANGE(1, " + blocks + ")")) {
+            long block = 0;
+            while (highs.next()) {
+                long high = highs.getLong(1);
+                // a value below ID_ALLOCATION has no full block of positive ids below it
+                if (high < ID_ALLOCATION) {
+                    high = nextValue(sequence);
+                }
+                insertBlock.setLong(1, block++);
+                insertBlock.setLong(2, high);
+                insertBlock.addBatch();
+            }
+            insertBlock.executeBatch();
+        }
+        statement.executeUpdate("UPDATE " + TABLE + " SET id = (SELECT high FROM " + BLOCKS + " WHERE block = row_index / " +
+                                ID_ALLOCATION + ") - " + (ID_ALLOCATION - 1) + " + MOD(row_index, " + ID_ALLOCATION + ")");
+    }
+
+    private long nextValue(String sequence) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet value = statement.executeQuery(postgres ? "SELECT nextval('" + sequence + "')"
+                     : "SELECT NEXT VALUE FOR " + sequence)) {
+            value.next();
+            return value.getLong(1);
+        }
+    }
+
+    record MergeResult(int imported, List<Long> skippedLines) {
+    }
+}
@@ -0,0 +1,84 @@
+package pl.kurs.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import pl.kurs.dto.CarDto;
+import pl.kurs.dto.CustomerDto;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.exception.InvalidDataAccessApiUsageException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImportType {
+    CARS(Car.class, "cars",
+            List.of("producer", "model", "yearOfProduction", "registrationNumber", "pricePerDay"),
+            List.of("producer", "model", "year_of_production", "registration_number", "price_per_day"),
+            "producer VARCHAR(255), model VARCHAR(255), year_of_production INTEGER, registration_number VARCHAR(10), " +
+            "price_per_day NUMERIC(6, 2)",
+            Map.of("booking_version", "0"),
+            List.of(UniqueKey.CAR_REGISTRATION_NUMBER)) {
+        @Override
+        public CarDto toDto(String[] values) {
+            return new CarDto(values[0], values[1], parseInteger(values[2], "Year of production must be a number"),
+                    values[3], parseDecimal(values[4], "Price per day must be a number"));
+        }
+    },
+    CUSTOMERS(Customer.class, "customers",
+            List.of("firstName", "lastName", "email", "phoneNumber", "drivingLicenseNumber"),
+            List.of("first_name", "last_name", "e_mail", "phone_number", "driving_license_number"),
+            "first_name VARCHAR(255), last_name VARCHAR(255), e_mail VARCHAR(255), phone_number VARCHAR(255), " +
+            "driving_license_number VARCHAR(255)",
+            Map.of(),
+            List.of(UniqueKey.CUSTOMER_EMAIL, UniqueKey.CUSTOMER_PHONE_NUMBER, UniqueKey.CUSTOMER_DRIVING_LICENSE_NUMBER)) {
+        @Override
+        public CustomerDto toDto(String[] values) {
+            return new CustomerDto(values[0], values[1], values[2], values[3], values[4]);
+        }
+    };
+
+    private final Class<?> entityType;
+    private final String table;
+    private final List<String> fields;
+    private final List<String> columns;
+    private final String stagingColumns;
+    private final Map<String, String> columnDefaults;
+    private final List<UniqueKey> uniqueKeys;
+
+    // values are in getFields() order
+    public abstract Object toDto(String[] values);
+
+    public String getHeader() {
+        return String.join(",", fields);
+    }
+
+    public int indexOf(UniqueKey key) {
+        return fields.indexOf(key.getField());
+    }
+
+    private static Integer parseInteger(String value, String message) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException exception) {
+            throw new InvalidDataAccessApiUsageException(message);
+        }
+    }
+
+    private static BigDecimal parseDecimal(String value, String message) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException exception) {
+            throw new InvalidDataAccessApiUsageException(message);
+        }
+    }
+}
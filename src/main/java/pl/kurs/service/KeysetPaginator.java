@@ -0,0 +1,86 @@
+package pl.kurs.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+import pl.kurs.dto.CursorPageDto;
+import pl.kurs.exception.InvalidDataAccessApiUsageException;
+
+import java.io.IOException;
+import java.util.*;
+
+@Component
+@RequiredArgsConstructor
+public class KeysetPaginator {
+    private static final TypeReference<LinkedHashMap<String, String>> CURSOR_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    public <T> CursorPageDto<T> scroll(JpaSpecificationExecutor<T> repository, Class<T> entityType,
+                                       Specification<T> specification, Sort sort, String cursor, int size) {
+        Sort keysetSort = sort.getOrderFor("id") == null
+                ? sort.and(Sort.by(sort.iterator().next().getDirection(), "id"))
+                : sort;
+        ScrollPosition position = decode(entityType, keysetSort, cursor);
+
+        Window<T> window = repository.findBy(Specification.where(specification),
+                query -> query.sortBy(keysetSort).limit(size).scroll(position));
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encode((KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+        return new CursorPageDto<>(window.getContent(), size, window.hasNext(), nextCursor);
+    }
+
+    private String encode(KeysetScrollPosition position) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        position.getKeys().forEach((property, value) -> keys.put(property, String.valueOf(value)));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(keys));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Cannot encode cursor", exception);
+        }
+    }
+
+    private ScrollPosition decode(Class<?> entityType, Sort sort, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, String> encodedKeys;
+        try {
+            encodedKeys = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), CURSOR_TYPE);
+        } catch (IllegalArgumentException | IOException exception) {
+            throw new InvalidDataAccessApiUsageException("Invalid cursor: " + cursor);
+        }
+
+        Set<String> sortProperties = new HashSet<>();
+        sort.forEach(order -> sortProperties.add(order.getProperty()));
+        if (!encodedKeys.keySet().equals(sortProperties)) {
+            throw new InvalidDataAccessApiUsageException("Cursor does not match the requested sort order");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            encodedKeys.forEach((property, value) -> keys.put(property, conversionService.convert(value,
+                    entityManager.getMetamodel().entity(entityType).getAttribute(property).getJavaType())));
+        } catch (RuntimeException exception) {
+            throw new InvalidDataAccessApiUsageException("Invalid cursor: " + cursor);
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -1,18 +1,39 @@
 package pl.kurs.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import pl.kurs.entity.Position;
 import pl.kurs.exception.ResourceNotFoundException;
 import pl.kurs.repository.PositionRepository;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Service
 @RequiredArgsConstructor
 public class PositionService {
     private final PositionRepository positionRepository;
+    private final Map<Long, Position> positions = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadPositions() {
+        positionRepository.findAll().forEach(position -> positions.put(position.getId(), position));
+    }
 
     public Position findById(Long id) {
-        return positionRepository.findById(id)
+        Position position = positions.get(id);
+        if (position != null) {
+            return position;
+        }
+        position = positionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Position not found with id: " + id));
+        positions.put(id, position);
+        return position;
+    }
+
+    public Position getPositionReference(Long id) {
+        return positionRepository.getReferenceById(findById(id).getId());
     }
 }
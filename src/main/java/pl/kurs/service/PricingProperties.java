@@ -0,0 +1,10 @@
+package pl.kurs.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import pl.kurs.dto.PricingRulesDto;
+
+@Component
+@ConfigurationProperties(prefix = "pricing")
+public class PricingProperties extends PricingRulesDto {
+}
@@ -0,0 +1,97 @@
+package pl.kurs.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.kurs.dto.PricingRulesDto;
+import pl.kurs.dto.QuoteDto;
+import pl.kurs.dto.QuoteRequestDto;
+import pl.kurs.entity.Car;
+import pl.kurs.exception.InvalidDataAccessApiUsageException;
+import pl.kurs.repository.CarRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+@Service
+public class PricingService {
+    private static final int MINOR_UNITS = 2;
+
+    private final CarRepository carRepository;
+    private final RateTable rateTable;
+
+    public PricingService(PricingProperties pricingProperties, CarRepository carRepository) {
+        this.carRepository = carRepository;
+        this.rateTable = RateTable.compile(pricingProperties);
+    }
+
+    public PricingRulesDto getRules() {
+        return rateTable.getRules();
+    }
+
+    public BigDecimal price(Car car, LocalDate startDate, LocalDate endDate) {
+        long days = RateTable.days(startDate, endDate);
+        return fromMinor(rateTable.quote(toMinor(car.getPricePerDay()), startDate, days));
+    }
+
+    @Transactional(readOnly = true)
+    public List<QuoteDto> quote(List<QuoteRequestDto> quoteRequests) {
+        Set<Long> carIds = new HashSet<>();
+        for (QuoteRequestDto quoteRequest : quoteRequests) {
+            if (quoteRequest != null && quoteRequest.getCarId() != null) {
+                carIds.add(quoteRequest.getCarId());
+            }
+        }
+        Map<Long, Long> pricesPerDay = new HashMap<>();
+        for (Car car : carRepository.findAllById(carIds)) {
+            pricesPerDay.put(car.getId(), toMinor(car.getPricePerDay()));
+        }
+
+        List<QuoteDto> quotes = new ArrayList<>(quoteRequests.size());
+        for (int i = 0; i < quoteRequests.size(); i++) {
+            quotes.add(quote(i, quoteRequests.get(i), pricesPerDay));
+        }
+        return quotes;
+    }
+
+    private QuoteDto quote(int index, QuoteRequestDto quoteRequest, Map<Long, Long> pricesPerDay) {
+        if (quoteRequest == null || quoteRequest.getCarId() == null
+            || quoteRequest.getStartDate() == null || quoteRequest.getEndDate() == null) {
+            return failedQuote(index, quoteRequest, "Car ID, start date and end date are required");
+        }
+        if (quoteRequest.getEndDate().isBefore(quoteRequest.getStartDate())) {
+            return failedQuote(index, quoteRequest, "End date must not be before start date");
+        }
+        Long pricePerDay = pricesPerDay.get(quoteRequest.getCarId());
+        if (pricePerDay == null) {
+            return failedQuote(index, quoteRequest, "Car not found with id: " + quoteRequest.getCarId());
+        }
+        try {
+            long days = RateTable.days(quoteRequest.getStartDate(), quoteRequest.getEndDate());
+            long totalMinor = rateTable.quote(pricePerDay, quoteRequest.getStartDate(), days);
+            return new QuoteDto(index, quoteRequest.getCarId(), quoteRequest.getStartDate(), quoteRequest.getEndDate(),
+                    days, fromMinor(totalMinor), null);
+        } catch (InvalidDataAccessApiUsageException exception) {
+            return failedQuote(index, quoteRequest, exception.getMessage());
+        } catch (ArithmeticException exception) {
+            return failedQuote(index, quoteRequest, "Total amount is too large");
+        }
+    }
+
+    private QuoteDto failedQuote(int index, QuoteRequestDto quoteRequest, String message) {
+        if (quoteRequest == null) {
+            return new QuoteDto(index, null, null, null, null, null, message);
+        }
+        return new QuoteDto(index, quoteRequest.getCarId(), quoteRequest.getStartDate(), quoteRequest.getEndDate(),
+                null, null, message);
+    }
+
+    private static long toMinor(BigDecimal amount) {
+        return amount.setScale(MINOR_UNITS, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromMinor(long amount) {
+        return BigDecimal.valueOf(amount, MINOR_UNITS);
+    }
+}
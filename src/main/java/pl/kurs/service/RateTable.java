@@ -0,0 +1,148 @@
+package pl.kurs.service;
+
+import pl.kurs.dto.LongRentalDiscountDto;
+import pl.kurs.dto.PricingRulesDto;
+import pl.kurs.dto.SeasonRateDto;
+import pl.kurs.exception.InvalidDataAccessApiUsageException;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+// day rates in basis points per day of a leap reference year, split into weekdays and weekends
+public final class RateTable {
+    private static final int BASIS = 10_000;
+    static final long MAX_DAYS = 3_660;
+    private static final int REFERENCE_YEAR = 2000;
+    private static final int DAYS_IN_REFERENCE_YEAR = 366;
+    private static final int FEBRUARY_29 = 59;
+    private static final long HALF_UNIT = (long) BASIS * BASIS / 2;
+
+    private final PricingRulesDto rules;
+    private final int[] weekdayRates;
+    private final int[] weekendRates;
+    private final int[] discountsByDays;
+
+    private RateTable(PricingRulesDto rules, int[] weekdayRates, int[] weekendRates, int[] discountsByDays) {
+        this.rules = rules;
+        this.weekdayRates = weekdayRates;
+        this.weekendRates = weekendRates;
+        this.discountsByDays = discountsByDays;
+    }
+
+    public static RateTable compile(PricingRulesDto rules) {
+        int weekendSurcharge = requireSurcharge(rules.getWeekendSurchargePercent(), "Weekend surcharge");
+        int[] weekdayRates = new int[DAYS_IN_REFERENCE_YEAR];
+        Arrays.fill(weekdayRates, BASIS);
+
+        for (SeasonRateDto season : nullSafe(rules.getSeasons())) {
+            int surcharge = requireSurcharge(season.getSurchargePercent(), "Season " + season.getName() + " surcharge");
+            int from = referenceIndex(season.getFrom(), season.getName());
+            int to = referenceIndex(season.getTo(), season.getName());
+            for (int index = from; ; index = (index + 1) % DAYS_IN_REFERENCE_YEAR) {
+                weekdayRates[index] += surcharge;
+                if (index == to) {
+                    break;
+                }
+            }
+        }
+
+        int[] weekendRates = new int[DAYS_IN_REFERENCE_YEAR];
+        for (int index = 0; index < DAYS_IN_REFERENCE_YEAR; index++) {
+            if (weekdayRates[index] <= 0) {
+                throw new InvalidDataAccessApiUsageException("Combined season surcharges must leave a positive day rate");
+            }
+            weekendRates[index] = (int) ((weekdayRates[index] * (long) (BASIS + weekendSurcharge) + BASIS / 2) / BASIS);
+        }
+
+        List<LongRentalDiscountDto> discounts = nullSafe(rules.getLongRentalDiscounts());
+        PricingRulesDto snapshot = new PricingRulesDto(rules.getWeekendSurchargePercent(),
+                List.copyOf(nullSafe(rules.getSeasons())), List.copyOf(discounts));
+        return new RateTable(snapshot, weekdayRates, weekendRates, compileDiscounts(discounts));
+    }
+
+    public PricingRulesDto getRules() {
+        return rules;
+    }
+
+    public static long days(LocalDate startDate, LocalDate endDate) {
+        long days = Math.max(1, ChronoUnit.DAYS.between(startDate, endDate));
+        if (days > MAX_DAYS) {
+            throw new InvalidDataAccessApiUsageException("Rental period must not exceed " + MAX_DAYS + " days");
+        }
+        return days;
+    }
+
+    // minor units, rounded half up
+    public long quote(long pricePerDayMinor, LocalDate startDate, long days) {
+        boolean leapYear = startDate.isLeapYear();
+        int year = startDate.getYear();
+        int dayOfWeek = startDate.getDayOfWeek().getValue();
+        int index = startDate.getDayOfYear() - 1;
+        if (!leapYear && index >= FEBRUARY_29) {
+            index++;
+        }
+
+        long rateSum = 0;
+        for (long day = 0; day < days; day++) {
+            rateSum += dayOfWeek >= 6 ? weekendRates[index] : weekdayRates[index];
+            dayOfWeek = dayOfWeek == 7 ? 1 : dayOfWeek + 1;
+            index++;
+            if (index == FEBRUARY_29 && !leapYear) {
+                index++;
+            } else if (index == DAYS_IN_REFERENCE_YEAR) {
+                index = 0;
+                leapYear = Year.isLeap(++year);
+            }
+        }
+
+        int discount = discountsByDays[(int) Math.min(days, discountsByDays.length - 1)];
+        long discounted = Math.multiplyExact(Math.multiplyExact(pricePerDayMinor, rateSum), BASIS - discount);
+        return (discounted + HALF_UNIT) / ((long) BASIS * BASIS);
+    }
+
+    private static int[] compileDiscounts(List<LongRentalDiscountDto> discounts) {
+        int maxMinDays = 0;
+        for (LongRentalDiscountDto discount : discounts) {
+            if (discount.getMinDays() < 1 || discount.getMinDays() > MAX_DAYS) {
+                throw new InvalidDataAccessApiUsageException("Long rental discount minimum days must be between 1 and " + MAX_DAYS);
+            }
+            if (discount.getDiscountPercent() < 0 || discount.getDiscountPercent() >= 100) {
+                throw new InvalidDataAccessApiUsageException("Long rental discount must be between 0 and 99 percent");
+            }
+            maxMinDays = Math.max(maxMinDays, discount.getMinDays());
+        }
+
+        int[] discountsByDays = new int[maxMinDays + 1];
+        for (LongRentalDiscountDto discount : discounts) {
+            for (int days = discount.getMinDays(); days <= maxMinDays; days++) {
+                discountsByDays[days] = Math.max(discountsByDays[days], discount.getDiscountPercent() * 100);
+            }
+        }
+        return discountsByDays;
+    }
+
+    private static int referenceIndex(String monthDay, String seasonName) {
+        try {
+            MonthDay parsed = MonthDay.parse("--" + monthDay);
+            return parsed.atYear(REFERENCE_YEAR).getDayOfYear() - 1;
+        } catch (DateTimeException exception) {
+            throw new InvalidDataAccessApiUsageException("Season " + seasonName + " dates must use MM-dd format");
+        }
+    }
+
+    private static int requireSurcharge(int percent, String label) {
+        if (percent <= -100 || percent > 1000) {
+            throw new InvalidDataAccessApiUsageException(label + " must be between -99 and 1000 percent");
+        }
+        return percent * 100;
+    }
+
+    private static <T> List<T> nullSafe(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+}
@@ -0,0 +1,11 @@
+package pl.kurs.service;
+
+import java.time.Duration;
+
+public record ReminderRunStats(int messages, int batches, int sent, int failed, Duration elapsed) {
+
+    public double throughputPerSecond() {
+        long elapsedMillis = Math.max(1, elapsed.toMillis());
+        return sent * 1000.0 / elapsedMillis;
+    }
+}
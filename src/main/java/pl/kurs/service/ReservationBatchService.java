@@ -0,0 +1,169 @@
+package pl.kurs.service;
+
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pl.kurs.dto.BatchItemStatus;
+import pl.kurs.dto.ReservationBatchResultDto;
+import pl.kurs.dto.ReservationDto;
+import pl.kurs.dto.ReservationPeriodDto;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.entity.Reservation;
+import pl.kurs.entity.Status;
+import pl.kurs.exception.StatusNotFoundException;
+import pl.kurs.mapper.ReservationMapper;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CustomerRepository;
+import pl.kurs.repository.ReservationRepository;
+import pl.kurs.validation.Create;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationBatchService {
+    private final ReservationRepository reservationRepository;
+    private final CarRepository carRepository;
+    private final CustomerRepository customerRepository;
+    private final ReservationMapper reservationMapper;
+    private final CarAvailabilityIndex carAvailabilityIndex;
+    private final TotalCountCache totalCountCache;
+    private final Validator validator;
+    private final PricingService pricingService;
+
+    @Transactional
+    public List<ReservationBatchResultDto> createReservations(List<ReservationDto> reservationDtos) {
+        ReservationBatchResultDto[] results = new ReservationBatchResultDto[reservationDtos.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+
+        for (int i = 0; i < reservationDtos.size(); i++) {
+            String violations = validate(reservationDtos.get(i));
+            if (violations == null) {
+                validIndexes.add(i);
+            } else {
+                results[i] = new ReservationBatchResultDto(i, BatchItemStatus.INVALID, null, violations);
+            }
+        }
+
+        if (!validIndexes.isEmpty()) {
+            bookValidReservations(reservationDtos, validIndexes, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    private void bookValidReservations(List<ReservationDto> reservationDtos, List<Integer> validIndexes,
+                                       ReservationBatchResultDto[] results) {
+        Set<Long> carIds = new TreeSet<>();
+        Set<Long> customerIds = new HashSet<>();
+        LocalDate minStartDate = LocalDate.MAX;
+        LocalDate maxEndDate = LocalDate.MIN;
+        for (int index : validIndexes) {
+            ReservationDto reservationDto = reservationDtos.get(index);
+            carIds.add(reservationDto.getCarId());
+            customerIds.add(reservationDto.getCustomerId());
+            minStartDate = min(minStartDate, reservationDto.getStartDate());
+            maxEndDate = max(maxEndDate, reservationDto.getEndDate());
+        }
+
+        Map<Long, Car> cars = carRepository.findAllForUpdate(carIds).stream()
+                .collect(Collectors.toMap(Car::getId, Function.identity()));
+        Map<Long, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<Long, List<ReservationPeriodDto>> bookedPeriods = cars.isEmpty() ? new HashMap<>() :
+                reservationRepository.findPeriodsOverlapping(cars.keySet(), minStartDate, maxEndDate).stream()
+                        .collect(Collectors.groupingBy(ReservationPeriodDto::getCarId, HashMap::new, Collectors.toList()));
+
+        List<Reservation> reservations = new ArrayList<>();
+        List<Integer> reservationIndexes = new ArrayList<>();
+        for (int index : validIndexes) {
+            ReservationDto reservationDto = reservationDtos.get(index);
+            Car car = cars.get(reservationDto.getCarId());
+            Customer customer = customers.get(reservationDto.getCustomerId());
+
+            if (car == null) {
+                results[index] = new ReservationBatchResultDto(index, BatchItemStatus.NOT_FOUND, null,
+                        "Car not found with id: " + reservationDto.getCarId());
+                continue;
+            }
+            if (customer == null) {
+                results[index] = new ReservationBatchResultDto(index, BatchItemStatus.NOT_FOUND, null,
+                        "Customer not found with id: " + reservationDto.getCustomerId());
+                continue;
+            }
+
+            List<ReservationPeriodDto> carPeriods = bookedPeriods.computeIfAbsent(car.getId(), id -> new ArrayList<>());
+            if (overlapsAny(carPeriods, reservationDto.getStartDate(), reservationDto.getEndDate())) {
+                results[index] = new ReservationBatchResultDto(index, BatchItemStatus.CONFLICT, null,
+                        "Car already booked for this date");
+                continue;
+            }
+            carPeriods.add(new ReservationPeriodDto(null, car.getId(), reservationDto.getStartDate(), reservationDto.getEndDate()));
+
+            Reservation reservation = reservationMapper.dtoToEntity(reservationDto);
+            reservation.setCar(car);
+            reservation.setCustomer(customer);
+            reservation.setStatus(Status.fromString(reservationDto.getStatusName()));
+            reservation.setTotalAmount(pricingService.price(car, reservationDto.getStartDate(), reservationDto.getEndDate()));
+            reservations.add(reservation);
+            reservationIndexes.add(index);
+        }
+
+        if (reservations.isEmpty()) {
+            return;
+        }
+        carRepository.incrementBookingVersions(cars.keySet());
+        List<Reservation> savedReservations = reservationRepository.saveAll(reservations);
+        reservationRepository.flush();
+        totalCountCache.invalidate(Reservation.class);
+
+        for (int i = 0; i < savedReservations.size(); i++) {
+            Reservation savedReservation = savedReservations.get(i);
+            int index = reservationIndexes.get(i);
+            carAvailabilityIndex.register(savedReservation);
+            results[index] = new ReservationBatchResultDto(index, BatchItemStatus.CREATED,
+                    reservationMapper.entityToDto(savedReservation), null);
+        }
+    }
+
+    private String validate(ReservationDto reservationDto) {
+        if (reservationDto == null) {
+            return "Reservation must not be null";
+        }
+        Set<ConstraintViolation<ReservationDto>> violations = validator.validate(reservationDto, Create.class);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        try {
+            Status.fromString(reservationDto.getStatusName());
+        } catch (StatusNotFoundException exception) {
+            return exception.getMessage();
+        }
+        return null;
+    }
+
+    private boolean overlapsAny(List<ReservationPeriodDto> periods, LocalDate startDate, LocalDate endDate) {
+        for (ReservationPeriodDto period : periods) {
+            if (period.getStartDate().isBefore(endDate) && period.getEndDate().isAfter(startDate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LocalDate min(LocalDate first, LocalDate second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static LocalDate max(LocalDate first, LocalDate second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
@@ -0,0 +1,80 @@
+package pl.kurs.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pl.kurs.dto.ReservationDto;
+import pl.kurs.repository.ReservationRepository;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,carId,customerId,startDate,endDate,totalAmount,status";
+
+    private final ReservationRepository reservationRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public long exportReservations(ExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<ReservationDto> reservations = reservationRepository.streamAllForExport()) {
+            return format == ExportFormat.CSV
+                    ? writeCsv(reservations.iterator(), outputStream)
+                    : writeNdjson(reservations.iterator(), outputStream);
+        }
+    }
+
+    private long writeNdjson(Iterator<ReservationDto> reservations, OutputStream outputStream) throws IOException {
+        long rows = 0;
+        BufferedOutputStream bufferedOutput = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(bufferedOutput)) {
+            while (reservations.hasNext()) {
+                writer.write(reservations.next());
+                rows++;
+            }
+        }
+        if (rows > 0) {
+            bufferedOutput.write('\n');
+        }
+        bufferedOutput.flush();
+        return rows;
+    }
+
+    private long writeCsv(Iterator<ReservationDto> reservations, OutputStream outputStream) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (reservations.hasNext()) {
+            ReservationDto reservation = reservations.next();
+            writer.write(String.valueOf(reservation.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(reservation.getCarId()));
+            writer.write(',');
+            writer.write(String.valueOf(reservation.getCustomerId()));
+            writer.write(',');
+            writer.write(reservation.getStartDate().toString());
+            writer.write(',');
+            writer.write(reservation.getEndDate().toString());
+            writer.write(',');
+            writer.write(reservation.getTotalAmount().toPlainString());
+            writer.write(',');
+            writer.write(reservation.getStatusName());
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+}
@@ -2,10 +2,19 @@ package pl.kurs.service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.kurs.dto.CursorPageDto;
 import pl.kurs.dto.ReservationDto;
+import pl.kurs.dto.ReservationReminderDto;
 import pl.kurs.entity.Car;
 import pl.kurs.entity.Customer;
 import pl.kurs.entity.Reservation;
@@ -17,14 +26,32 @@ import pl.kurs.repository.ReservationRepository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ReservationService {
+    private static final String OVERLAP_CONSTRAINT = "ex_reservations_car_period";
     private final ReservationRepository reservationRepository;
     private final ReservationMapper reservationMapper;
     private final CustomerService customerService;
     private final CarService carService;
+    private final CarAvailabilityIndex carAvailabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final KeysetPaginator keysetPaginator;
+    private final TotalCountCache totalCountCache;
+    private final PricingService pricingService;
+
+    @Value("${reservation.booking-mode:PESSIMISTIC}")
+    private BookingMode bookingMode;
+
+    @Value("${reservation.optimistic.max-attempts:5}")
+    private int maxBookingAttempts;
+
+    @Value("${reservation.optimistic.backoff-ms:10}")
+    private long bookingBackoffMs;
 
     public Reservation getReservationById(Long id) {
         return reservationRepository.findById(id)
@@ -32,17 +59,104 @@ public class ReservationService {
     }
 
     public Page<Reservation> getAll(int page, int size) {
-        return reservationRepository.findAll(PageRequest.of(page, size));
+        return withCachedTotal(getAllSlice(page, size));
+    }
+
+    public Slice<Reservation> getAllSlice(int page, int size) {
+        return reservationRepository.findAllBy(PageRequest.of(page, size));
+    }
+
+    public CursorPageDto<Reservation> getAllAfter(String cursor, int size) {
+        return keysetPaginator.scroll(reservationRepository, Reservation.class, null, Sort.by("id"), cursor, size);
     }
 
-    @Transactional
     public Reservation saveReservation(Reservation reservation) {
-        Car car = carService.findForUpdate(reservation.getCar().getId());
+        if (bookingMode == BookingMode.OPTIMISTIC) {
+            return saveReservationOptimistically(reservation);
+        }
+        return book(() -> transactionTemplate.execute(status -> {
+            Car car = carService.findForUpdate(reservation.getCar().getId());
 
-        if (reservationRepository.existsOverlap(car.getId(), reservation.getStartDate(), reservation.getEndDate())) {
-            throw new ConflictException("Car already booked for this date");
+            if (reservationRepository.existsOverlap(car.getId(), reservation.getStartDate(), reservation.getEndDate())) {
+                throw new ConflictException("Car already booked for this date");
+            }
+            reservation.setCar(car);
+            return insertReservation(reservation);
+        }));
+    }
+
+    private Reservation saveReservationOptimistically(Reservation reservation) {
+        Long carId = reservation.getCar().getId();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return book(() -> transactionTemplate.execute(status -> {
+                    if (reservationRepository.existsOverlap(carId, reservation.getStartDate(), reservation.getEndDate())) {
+                        throw new ConflictException("Car already booked for this date");
+                    }
+                    reservation.setCar(carService.getCarReference(carId));
+                    return insertReservation(reservation);
+                }));
+            } catch (ConcurrencyFailureException exception) {
+                reservation.setId(null);
+                if (attempt >= maxBookingAttempts) {
+                    throw new ConflictException("Car is being booked by another customer, please try again");
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    // a failed compare-and-set only means another booking of the car committed meanwhile, so the overlap is
+    // checked again against it; the successful update holds the car row lock until commit
+    private void claimBookingVersion(Reservation reservation) {
+        Long carId = reservation.getCar().getId();
+        for (int attempt = 1; ; attempt++) {
+            Long bookingVersion = carService.getBookingVersion(carId);
+            if (reservationRepository.existsOverlapExcludingReservation(carId, reservation.getStartDate(),
+                    reservation.getEndDate(), reservation.getId())) {
+                throw new ConflictException("Car already booked for this date");
+            }
+            if (carService.incrementBookingVersion(carId, bookingVersion)) {
+                return;
+            }
+            if (attempt >= maxBookingAttempts) {
+                throw new ConflictException("Car is being booked by another customer, please try again");
+            }
+            backOff(attempt);
+        }
+    }
+
+    // on PostgreSQL the exclusion constraint rejects overlapping active reservations that both checks missed
+    private Reservation book(Supplier<Reservation> booking) {
+        try {
+            return booking.get();
+        } catch (DataIntegrityViolationException exception) {
+            if (String.valueOf(exception.getMostSpecificCause().getMessage()).contains(OVERLAP_CONSTRAINT)) {
+                throw new ConflictException("Car already booked for this date");
+            }
+            throw exception;
+        }
+    }
+
+    private Reservation insertReservation(Reservation reservation) {
+        reservation.setCustomer(customerService.getCustomerReference(reservation.getCustomer().getId()));
+        Reservation savedReservation = reservationRepository.save(reservation);
+        if (bookingMode == BookingMode.OPTIMISTIC) {
+            claimBookingVersion(savedReservation);
+        }
+        carAvailabilityIndex.register(savedReservation);
+        totalCountCache.invalidate(Reservation.class);
+        return savedReservation;
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(bookingBackoffMs * attempt + ThreadLocalRandom.current().nextLong(bookingBackoffMs + 1));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Reservation interrupted, please try again");
         }
-        return reservationRepository.save(reservation);
     }
 
     @Transactional
@@ -68,14 +182,19 @@ public class ReservationService {
         }
         existingReservation.setStartDate(reservationDto.getStartDate());
         existingReservation.setEndDate(reservationDto.getEndDate());
-        existingReservation.setTotalAmount(reservationDto.getTotalAmount());
-        return reservationRepository.save(existingReservation);
+        existingReservation.setTotalAmount(pricingService.price(existingReservation.getCar(),
+                reservationDto.getStartDate(), reservationDto.getEndDate()));
+        Reservation updatedReservation = reservationRepository.save(existingReservation);
+        carAvailabilityIndex.register(updatedReservation);
+        return updatedReservation;
     }
 
     public Reservation cancelReservationById(Long id) {
         Reservation reservation = getReservationById(id);
         reservation.setStatus(Status.CANCELED);
-        return reservationRepository.save(reservation);
+        Reservation canceledReservation = reservationRepository.save(reservation);
+        carAvailabilityIndex.unregister(canceledReservation.getId());
+        return canceledReservation;
     }
 
     public Reservation createReservation(ReservationDto reservationDto) {
@@ -85,10 +204,19 @@ public class ReservationService {
         reservation.setCar(car);
         reservation.setCustomer(customer);
         reservation.setStatus(Status.fromString(reservationDto.getStatusName()));
+        reservation.setTotalAmount(pricingService.price(car, reservation.getStartDate(), reservation.getEndDate()));
         return reservation;
     }
 
-    public List<Reservation> findActiveReservationForDate(LocalDate startDate) {
-        return reservationRepository.findActiveReservationForDate(startDate);
+    @Transactional
+    public List<ReservationReminderDto> getRemindersForDate(LocalDate startDate) {
+        try (Stream<ReservationReminderDto> reminders = reservationRepository.streamRemindersForDate(startDate)) {
+            return reminders.toList();
+        }
+    }
+
+    private Page<Reservation> withCachedTotal(Slice<Reservation> slice) {
+        return PageableExecutionUtils.getPage(slice.getContent(), slice.getPageable(),
+                () -> totalCountCache.count(Reservation.class, reservationRepository::count));
     }
 }
@@ -0,0 +1,65 @@
+package pl.kurs.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Component
+public class TotalCountCache {
+    private final Map<Class<?>, CachedCount> counts = new ConcurrentHashMap<>();
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Value("${pagination.total-count.max-staleness:30s}")
+    private Duration maxStaleness;
+
+    public long count(Class<?> entityType, LongSupplier counter) {
+        if (maxStaleness.isZero() || maxStaleness.isNegative()) {
+            return counter.getAsLong();
+        }
+
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(entityType);
+        if (cached != null && now - cached.countedAt() < maxStaleness.toNanos()) {
+            return cached.value();
+        }
+
+        AtomicLong generation = generation(entityType);
+        long expectedGeneration = generation.get();
+        long value = counter.getAsLong();
+        if (generation.get() == expectedGeneration) {
+            counts.put(entityType, new CachedCount(value, now));
+        }
+        return value;
+    }
+
+    public void invalidate(Class<?> entityType) {
+        evict(entityType);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(entityType);
+                }
+            });
+        }
+    }
+
+    private void evict(Class<?> entityType) {
+        generation(entityType).incrementAndGet();
+        counts.remove(entityType);
+    }
+
+    private AtomicLong generation(Class<?> entityType) {
+        return generations.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+
+    private record CachedCount(long value, long countedAt) {
+    }
+}
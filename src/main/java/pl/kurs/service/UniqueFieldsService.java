@@ -0,0 +1,89 @@
+package pl.kurs.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import pl.kurs.dto.UniqueValuesDto;
+import pl.kurs.exception.DuplicateValueException;
+import pl.kurs.repository.CustomerRepository;
+import pl.kurs.repository.EmployeeRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class UniqueFieldsService {
+    private static final long NO_EXCLUDED_ID = 0L;
+
+    private final CustomerRepository customerRepository;
+    private final EmployeeRepository employeeRepository;
+    private final UniquenessIndex uniquenessIndex;
+
+    public Map<String, String> findCustomerConflicts(Long excludedId, String email, String phoneNumber, String drivingLicenseNumber) {
+        String checkedEmail = candidate(UniqueKey.CUSTOMER_EMAIL, email);
+        String checkedPhoneNumber = candidate(UniqueKey.CUSTOMER_PHONE_NUMBER, phoneNumber);
+        String checkedDrivingLicenseNumber = candidate(UniqueKey.CUSTOMER_DRIVING_LICENSE_NUMBER, drivingLicenseNumber);
+        if (checkedEmail == null && checkedPhoneNumber == null && checkedDrivingLicenseNumber == null) {
+            return Map.of();
+        }
+
+        List<UniqueValuesDto> existing = customerRepository.findUniqueValueConflicts(checkedEmail, checkedPhoneNumber,
+                checkedDrivingLicenseNumber, excludedId == null ? NO_EXCLUDED_ID : excludedId);
+        Map<String, String> conflicts = new LinkedHashMap<>();
+        for (UniqueValuesDto values : existing) {
+            addIfEqual(conflicts, UniqueKey.CUSTOMER_EMAIL, checkedEmail, values.getEmail());
+            addIfEqual(conflicts, UniqueKey.CUSTOMER_PHONE_NUMBER, checkedPhoneNumber, values.getPhoneNumber());
+            addIfEqual(conflicts, UniqueKey.CUSTOMER_DRIVING_LICENSE_NUMBER, checkedDrivingLicenseNumber, values.getDrivingLicenseNumber());
+        }
+        return conflicts;
+    }
+
+    public Map<String, String> findEmployeeConflicts(Long excludedId, String email, String phoneNumber) {
+        String checkedEmail = candidate(UniqueKey.EMPLOYEE_EMAIL, email);
+        String checkedPhoneNumber = candidate(UniqueKey.EMPLOYEE_PHONE_NUMBER, phoneNumber);
+        if (checkedEmail == null && checkedPhoneNumber == null) {
+            return Map.of();
+        }
+
+        List<UniqueValuesDto> existing = employeeRepository.findUniqueValueConflicts(checkedEmail, checkedPhoneNumber,
+                excludedId == null ? NO_EXCLUDED_ID : excludedId);
+        Map<String, String> conflicts = new LinkedHashMap<>();
+        for (UniqueValuesDto values : existing) {
+            addIfEqual(conflicts, UniqueKey.EMPLOYEE_EMAIL, checkedEmail, values.getEmail());
+            addIfEqual(conflicts, UniqueKey.EMPLOYEE_PHONE_NUMBER, checkedPhoneNumber, values.getPhoneNumber());
+        }
+        return conflicts;
+    }
+
+    // H2 reports the index backing the constraint, e.g. PUBLIC.CUSTOMERS_E_MAIL_KEY_INDEX_4
+    public RuntimeException translate(DataIntegrityViolationException exception, Class<?> entityType) {
+        if (!(exception.getCause() instanceof ConstraintViolationException violation) || violation.getConstraintName() == null) {
+            return exception;
+        }
+        String constraintName = violation.getConstraintName().toLowerCase(Locale.ROOT);
+
+        for (UniqueKey key : UniqueKey.values()) {
+            if (key.getEntityType() == entityType && constraintName.contains(key.getConstraint())) {
+                return new DuplicateValueException(Map.of(key.getField(), key.getMessage()), exception);
+            }
+        }
+        return exception;
+    }
+
+    private String candidate(UniqueKey key, String value) {
+        if (value == null || value.isBlank() || !uniquenessIndex.mightContain(key, value)) {
+            return null;
+        }
+        return value;
+    }
+
+    private static void addIfEqual(Map<String, String> conflicts, UniqueKey key, String value, String existingValue) {
+        if (value != null && value.equals(existingValue)) {
+            conflicts.put(key.getField(), key.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package pl.kurs.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.entity.Employee;
+
+@Getter
+@RequiredArgsConstructor
+public enum UniqueKey {
+    CAR_REGISTRATION_NUMBER(Car.class, "registration_number", "cars_registration_number_key", "registrationNumber", "Registration number already exists"),
+    CUSTOMER_EMAIL(Customer.class, "e_mail", "customers_e_mail_key", "email", "Customer e-mail already exists"),
+    CUSTOMER_PHONE_NUMBER(Customer.class, "phone_number", "customers_phone_number_key", "phoneNumber", "Customer phone number already exists"),
+    CUSTOMER_DRIVING_LICENSE_NUMBER(Customer.class, "driving_license_number", "customers_driving_license_number_key", "drivingLicenseNumber", "Driving License number already exists"),
+    EMPLOYEE_EMAIL(Employee.class, "e_mail", "employees_e_mail_key", "email", "Employee e-mail already exists"),
+    EMPLOYEE_PHONE_NUMBER(Employee.class, "phone_number", "employees_phone_number_key", "phoneNumber", "Employee phone number already exists");
+
+    private final Class<?> entityType;
+    private final String column;
+    private final String constraint;
+    private final String field;
+    private final String message;
+}
@@ -0,0 +1,212 @@
+package pl.kurs.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.entity.Employee;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CustomerRepository;
+import pl.kurs.repository.EmployeeRepository;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// a negative answer is definite; only sees this instance's writes, so the unique constraints stay authoritative
+@Component
+@RequiredArgsConstructor
+public class UniquenessIndex {
+    private static final int GROWTH_FACTOR = 2;
+
+    private final CarRepository carRepository;
+    private final CustomerRepository customerRepository;
+    private final EmployeeRepository employeeRepository;
+
+    private final KeyIndex[] indexes = createIndexes();
+
+    public boolean mightContain(UniqueKey key, String value) {
+        return indexes[key.ordinal()].mightContain(value);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (UniqueKey key : UniqueKey.values()) {
+            rebuild(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${uniqueness-index.rebuild-check-interval-ms:60000}")
+    public void rebuildOverloaded() {
+        for (UniqueKey key : UniqueKey.values()) {
+            if (indexes[key.ordinal()].isOverloaded()) {
+                rebuild(key);
+            }
+        }
+    }
+
+    public void rebuild(UniqueKey key) {
+        KeyIndex index = indexes[key.ordinal()];
+        index.rebuildLock.lock();
+        try {
+            CountingBloomFilter next = new CountingBloomFilter((int) Math.min(Integer.MAX_VALUE / 16, count(key) * GROWTH_FACTOR));
+            index.startRebuild(next);
+            for (String value : loadValues(key)) {
+                next.add(value);
+            }
+            index.finishRebuild();
+        } finally {
+            index.rebuildLock.unlock();
+        }
+    }
+
+    public void register(Object entity) {
+        switch (entity) {
+            case Car car -> add(UniqueKey.CAR_REGISTRATION_NUMBER, car.getRegistrationNumber());
+            case Customer customer -> {
+                add(UniqueKey.CUSTOMER_EMAIL, customer.getEmail());
+                add(UniqueKey.CUSTOMER_PHONE_NUMBER, customer.getPhoneNumber());
+                add(UniqueKey.CUSTOMER_DRIVING_LICENSE_NUMBER, customer.getDrivingLicenseNumber());
+            }
+            case Employee employee -> {
+                add(UniqueKey.EMPLOYEE_EMAIL, employee.getEmail());
+                add(UniqueKey.EMPLOYEE_PHONE_NUMBER, employee.getPhoneNumber());
+            }
+            default -> {
+            }
+        }
+    }
+
+    public void unregister(Object entity) {
+        switch (entity) {
+            case Car car -> remove(UniqueKey.CAR_REGISTRATION_NUMBER, car.getRegistrationNumber());
+            case Customer customer -> {
+                remove(UniqueKey.CUSTOMER_EMAIL, customer.getEmail());
+                remove(UniqueKey.CUSTOMER_PHONE_NUMBER, customer.getPhoneNumber());
+                remove(UniqueKey.CUSTOMER_DRIVING_LICENSE_NUMBER, customer.getDrivingLicenseNumber());
+            }
+            case Employee employee -> {
+                remove(UniqueKey.EMPLOYEE_EMAIL, employee.getEmail());
+                remove(UniqueKey.EMPLOYEE_PHONE_NUMBER, employee.getPhoneNumber());
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void add(UniqueKey key, String value) {
+        if (value == null) {
+            return;
+        }
+        // added before commit so the value is visible to validators in the same transaction; if a rebuild
+        // swaps the filter before this transaction commits, the snapshot may have missed it, so add it again
+        KeyIndex index = indexes[key.ordinal()];
+        long generation = index.add(value);
+        afterCommit(() -> index.addIfRebuiltSince(generation, value));
+    }
+
+    private void remove(UniqueKey key, String value) {
+        if (value == null) {
+            return;
+        }
+        KeyIndex index = indexes[key.ordinal()];
+        long generation = index.generation();
+        afterCommit(() -> index.removeIfNotRebuiltSince(generation, value));
+    }
+
+    private long count(UniqueKey key) {
+        return switch (key) {
+            case CAR_REGISTRATION_NUMBER -> carRepository.count();
+            case CUSTOMER_EMAIL, CUSTOMER_PHONE_NUMBER, CUSTOMER_DRIVING_LICENSE_NUMBER -> customerRepository.count();
+            case EMPLOYEE_EMAIL, EMPLOYEE_PHONE_NUMBER -> employeeRepository.count();
+        };
+    }
+
+    private List<String> loadValues(UniqueKey key) {
+        return switch (key) {
+            case CAR_REGISTRATION_NUMBER -> carRepository.findAllRegistrationNumbers();
+            case CUSTOMER_EMAIL -> customerRepository.findAllEmails();
+            case CUSTOMER_PHONE_NUMBER -> customerRepository.findAllPhoneNumbers();
+            case CUSTOMER_DRIVING_LICENSE_NUMBER -> customerRepository.findAllDrivingLicenseNumbers();
+            case EMPLOYEE_EMAIL -> employeeRepository.findAllEmails();
+            case EMPLOYEE_PHONE_NUMBER -> employeeRepository.findAllPhoneNumbers();
+        };
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static KeyIndex[] createIndexes() {
+        KeyIndex[] indexes = new KeyIndex[UniqueKey.values().length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = new KeyIndex();
+        }
+        return indexes;
+    }
+
+    private static final class KeyIndex {
+        private final ReentrantLock rebuildLock = new ReentrantLock();
+        private CountingBloomFilter current;
+        private CountingBloomFilter rebuilding;
+        private long generation;
+
+        synchronized boolean mightContain(String value) {
+            return current == null || current.mightContain(value);
+        }
+
+        synchronized long add(String value) {
+            if (current != null) {
+                current.add(value);
+            }
+            if (rebuilding != null) {
+                rebuilding.add(value);
+            }
+            return generation;
+        }
+
+        synchronized void addIfRebuiltSince(long expectedGeneration, String value) {
+            if (generation != expectedGeneration && current != null) {
+                current.add(value);
+            }
+        }
+
+        synchronized void removeIfNotRebuiltSince(long expectedGeneration, String value) {
+            // after a rebuild the value may never have been added, and removing it could clear counters of others
+            if (generation == expectedGeneration && current != null) {
+                current.remove(value);
+            }
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        synchronized boolean isOverloaded() {
+            return current != null && current.isOverloaded();
+        }
+
+        synchronized void startRebuild(CountingBloomFilter next) {
+            rebuilding = next;
+        }
+
+        synchronized void finishRebuild() {
+            current = rebuilding;
+            rebuilding = null;
+            generation++;
+        }
+    }
+}
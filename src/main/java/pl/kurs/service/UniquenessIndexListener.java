@@ -0,0 +1,24 @@
+package pl.kurs.service;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+@RequiredArgsConstructor
+public class UniquenessIndexListener {
+    // resolved on first use: the index depends on repositories, which need the entity manager factory creating this listener
+    private final ObjectProvider<UniquenessIndex> uniquenessIndex;
+
+    @PrePersist
+    @PreUpdate
+    public void onSave(Object entity) {
+        uniquenessIndex.getObject().register(entity);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        uniquenessIndex.getObject().unregister(entity);
+    }
+}
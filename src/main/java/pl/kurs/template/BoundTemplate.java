@@ -0,0 +1,36 @@
+package pl.kurs.template;
+
+import java.util.function.Function;
+
+public final class BoundTemplate<T> {
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 16 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
+    private final String[] literals;
+    private final Function<? super T, ?>[] accessors;
+
+    BoundTemplate(String[] literals, Function<? super T, ?>[] accessors) {
+        this.literals = literals;
+        this.accessors = accessors;
+    }
+
+    public String render(T model) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        renderTo(buffer, model);
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    public void renderTo(StringBuilder target, T model) {
+        for (int i = 0; i < accessors.length; i++) {
+            target.append(literals[i]);
+            target.append(accessors[i].apply(model));
+        }
+        target.append(literals[accessors.length]);
+    }
+}
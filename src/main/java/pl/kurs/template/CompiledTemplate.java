@@ -0,0 +1,57 @@
+package pl.kurs.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public final class CompiledTemplate {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final String[] variables;
+
+    private CompiledTemplate(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at position " + open);
+            }
+            String variable = source.substring(open + OPEN.length(), close).trim();
+            if (variable.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at position " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(variable);
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new CompiledTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    public List<String> getVariables() {
+        return List.of(variables);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> BoundTemplate<T> bind(Map<String, ? extends Function<? super T, ?>> accessors) {
+        Function<? super T, ?>[] boundAccessors = new Function[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            boundAccessors[i] = accessors.get(variables[i]);
+            if (boundAccessors[i] == null) {
+                throw new IllegalArgumentException("Unknown template variable: " + variables[i]);
+            }
+        }
+        return new BoundTemplate<>(literals, boundAccessors);
+    }
+}
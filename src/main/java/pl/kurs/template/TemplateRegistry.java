@@ -0,0 +1,91 @@
+package pl.kurs.template;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class TemplateRegistry {
+    private static final String EXTENSION = ".txt";
+
+    private final ResourceLoader resourceLoader;
+    private final Map<TemplateKey, LoadedTemplate> templates = new ConcurrentHashMap<>();
+
+    @Value("${templates.location:classpath:templates/}")
+    private String location;
+
+    @Value("${templates.hot-reload:false}")
+    private boolean hotReload;
+
+    public CompiledTemplate getTemplate(String name, Locale locale) {
+        TemplateKey key = new TemplateKey(name, locale);
+        LoadedTemplate loaded = templates.get(key);
+        if (loaded == null || hotReload && loaded.isModified()) {
+            loaded = load(name, locale);
+            templates.put(key, loaded);
+        }
+        return loaded.template();
+    }
+
+    private LoadedTemplate load(String name, Locale locale) {
+        for (String candidate : candidateNames(name, locale)) {
+            Resource resource = resourceLoader.getResource(location + candidate + EXTENSION);
+            if (resource.exists()) {
+                long lastModified = modifiedAt(resource);
+                try {
+                    String source = resource.getContentAsString(StandardCharsets.UTF_8);
+                    return new LoadedTemplate(CompiledTemplate.compile(stripTrailingNewline(source)), resource, lastModified);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException("Cannot read template: " + candidate, exception);
+                }
+            }
+        }
+        throw new IllegalStateException("Template not found: " + name + " for locale: " + locale);
+    }
+
+    private static List<String> candidateNames(String name, Locale locale) {
+        if (!locale.getCountry().isEmpty()) {
+            return List.of(name + "_" + locale.getLanguage() + "_" + locale.getCountry(), name + "_" + locale.getLanguage(), name);
+        }
+        if (!locale.getLanguage().isEmpty()) {
+            return List.of(name + "_" + locale.getLanguage(), name);
+        }
+        return List.of(name);
+    }
+
+    private static String stripTrailingNewline(String source) {
+        if (source.endsWith("\r\n")) {
+            return source.substring(0, source.length() - 2);
+        }
+        return source.endsWith("\n") ? source.substring(0, source.length() - 1) : source;
+    }
+
+    private static long modifiedAt(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException exception) {
+            return 0L;
+        }
+    }
+
+    private record TemplateKey(String name, Locale locale) {
+    }
+
+    private record LoadedTemplate(CompiledTemplate template, Resource resource, long lastModified) {
+
+        boolean isModified() {
+            return modifiedAt(resource) != lastModified;
+        }
+    }
+}
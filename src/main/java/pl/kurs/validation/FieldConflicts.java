@@ -0,0 +1,24 @@
+package pl.kurs.validation;
+
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.util.Map;
+
+final class FieldConflicts {
+
+    private FieldConflicts() {
+    }
+
+    static boolean report(Map<String, String> conflicts, ConstraintValidatorContext ctx) {
+        if (conflicts.isEmpty()) {
+            return true;
+        }
+        ctx.disableDefaultConstraintViolation();
+        for (Map.Entry<String, String> conflict : conflicts.entrySet()) {
+            ctx.buildConstraintViolationWithTemplate(conflict.getValue())
+                    .addPropertyNode(conflict.getKey())
+                    .addConstraintViolation();
+        }
+        return false;
+    }
+}
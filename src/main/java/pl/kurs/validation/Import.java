@@ -0,0 +1,4 @@
+package pl.kurs.validation;
+
+public interface Import {
+}
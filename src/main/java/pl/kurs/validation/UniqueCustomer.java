@@ -6,12 +6,12 @@ import jakarta.validation.Payload;
 import java.lang.annotation.*;
 
 @Documented
-@Constraint(validatedBy = UniqueCustomerEmailValidator.class)
-@Target(ElementType.FIELD)
+@Constraint(validatedBy = UniqueCustomerValidator.class)
+@Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
-public @interface UniqueCustomerEmail {
+public @interface UniqueCustomer {
 
-    String message() default "Customer e-mail already exists";
+    String message() default "Customer unique fields already exist";
 
     Class<?>[] groups() default {};
 
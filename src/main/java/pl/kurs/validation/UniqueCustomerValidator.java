@@ -0,0 +1,22 @@
+package pl.kurs.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import lombok.RequiredArgsConstructor;
+import pl.kurs.dto.CustomerDto;
+import pl.kurs.service.UniqueFieldsService;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class UniqueCustomerValidator implements ConstraintValidator<UniqueCustomer, CustomerDto> {
+    private final UniqueFieldsService uniqueFieldsService;
+
+    @Override
+    public boolean isValid(CustomerDto customerDto, ConstraintValidatorContext ctx) {
+        if (customerDto == null) return true;
+        Map<String, String> conflicts = uniqueFieldsService.findCustomerConflicts(customerDto.getId(),
+                customerDto.getEmail(), customerDto.getPhoneNumber(), customerDto.getDrivingLicenseNumber());
+        return FieldConflicts.report(conflicts, ctx);
+    }
+}
@@ -6,12 +6,12 @@ import jakarta.validation.Payload;
 import java.lang.annotation.*;
 
 @Documented
-@Constraint(validatedBy = UniqueEmployeeEmailValidator.class)
-@Target(ElementType.FIELD)
+@Constraint(validatedBy = UniqueEmployeeValidator.class)
+@Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
-public @interface UniqueEmployeeEmail {
+public @interface UniqueEmployee {
 
-    String message() default "Employee e-mail already exists";
+    String message() default "Employee unique fields already exist";
 
     Class<?>[] groups() default {};
 
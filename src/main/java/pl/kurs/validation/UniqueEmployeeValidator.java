@@ -0,0 +1,22 @@
+package pl.kurs.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import lombok.RequiredArgsConstructor;
+import pl.kurs.dto.EmployeeDto;
+import pl.kurs.service.UniqueFieldsService;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class UniqueEmployeeValidator implements ConstraintValidator<UniqueEmployee, EmployeeDto> {
+    private final UniqueFieldsService uniqueFieldsService;
+
+    @Override
+    public boolean isValid(EmployeeDto employeeDto, ConstraintValidatorContext ctx) {
+        if (employeeDto == null) return true;
+        Map<String, String> conflicts = uniqueFieldsService.findEmployeeConflicts(employeeDto.getId(),
+                employeeDto.getEmail(), employeeDto.getPhoneNumber());
+        return FieldConflicts.report(conflicts, ctx);
+    }
+}
@@ -4,14 +4,18 @@ import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import lombok.RequiredArgsConstructor;
 import pl.kurs.repository.CarRepository;
+import pl.kurs.service.UniqueKey;
+import pl.kurs.service.UniquenessIndex;
 
 @RequiredArgsConstructor
 public class UniqueRegistrationNumberValidator implements ConstraintValidator<UniqueRegistrationNumber, String> {
     private final CarRepository carRepository;
+    private final UniquenessIndex uniquenessIndex;
 
     @Override
     public boolean isValid(String registration, ConstraintValidatorContext ctx) {
         if (registration == null || registration.isBlank()) return true;
+        if (!uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, registration)) return true;
         return !carRepository.existsByRegistrationNumber(registration);
     }
 
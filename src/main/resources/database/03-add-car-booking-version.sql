@@ -0,0 +1,5 @@
+--liquibase formatted sql
+--changeset CarRentalApp:3
+
+
+ALTER TABLE cars ADD COLUMN booking_version BIGINT NOT NULL DEFAULT 0;
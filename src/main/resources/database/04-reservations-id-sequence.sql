@@ -0,0 +1,5 @@
+--liquibase formatted sql
+--changeset CarRentalApp:4 dbms:postgresql
+
+
+ALTER SEQUENCE reservations_id_seq INCREMENT BY 50;
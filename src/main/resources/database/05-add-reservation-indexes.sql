@@ -0,0 +1,19 @@
+--liquibase formatted sql
+--changeset CarRentalApp:5 dbms:postgresql runInTransaction:false
+
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservations_car_dates
+    ON reservations (car_id, start_date, end_date);
+
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservations_active_car_dates
+    ON reservations (car_id, start_date, end_date)
+    WHERE status IN ('RESERVED', 'RENTED');
+
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservations_start_date_status
+    ON reservations (start_date, status);
+
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservations_customer_id
+    ON reservations (customer_id);
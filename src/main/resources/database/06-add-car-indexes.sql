@@ -0,0 +1,6 @@
+--liquibase formatted sql
+--changeset CarRentalApp:6 dbms:postgresql runInTransaction:false
+
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cars_producer_model
+    ON cars (producer, model);
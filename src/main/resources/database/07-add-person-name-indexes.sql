@@ -0,0 +1,14 @@
+--liquibase formatted sql
+--changeset CarRentalApp:7 dbms:postgresql runInTransaction:false
+
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_last_first_name
+    ON customers (last_name, first_name);
+
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_last_first_name
+    ON employees (last_name, first_name);
+
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_position_id
+    ON employees (position_id);
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+--changeset CarRentalApp:8 dbms:postgresql
+
+
+ALTER SEQUENCE cars_id_seq INCREMENT BY 50;
+ALTER SEQUENCE customers_id_seq INCREMENT BY 50;
+ALTER SEQUENCE positions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE employees_id_seq INCREMENT BY 50;
@@ -0,0 +1,6 @@
+--liquibase formatted sql
+--changeset CarRentalApp:11
+
+
+UPDATE reservations SET end_date = DATE '2025-07-24'
+WHERE car_id = 10 AND start_date = DATE '2025-07-22' AND end_date = DATE '2025-06-24';
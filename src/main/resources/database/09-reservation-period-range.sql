@@ -0,0 +1,17 @@
+--liquibase formatted sql
+--changeset CarRentalApp:9 dbms:postgresql
+
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+
+ALTER TABLE reservations
+    ADD COLUMN period DATERANGE GENERATED ALWAYS AS (daterange(start_date, end_date, '[]')) STORED;
+
+
+--changeset CarRentalApp:10 dbms:postgresql runInTransaction:false
+
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservations_active_car_period
+    ON reservations USING gist (car_id, period)
+    WHERE status IN ('RESERVED', 'RENTED');
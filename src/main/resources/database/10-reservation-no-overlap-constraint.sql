@@ -0,0 +1,8 @@
+--liquibase formatted sql
+--changeset CarRentalApp:12 dbms:postgresql
+
+
+ALTER TABLE reservations
+    ADD CONSTRAINT ex_reservations_car_period
+    EXCLUDE USING gist (car_id WITH =, daterange(start_date, end_date, '[)') WITH &&)
+    WHERE (status IN ('RESERVED', 'RENTED'));
@@ -0,0 +1,91 @@
+package pl.kurs.aspect;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.slf4j.Logger;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncTracingTest {
+
+    @Test
+    void shouldRejectEventsWhenRingBufferIsFull() {
+        //given
+        TraceRingBuffer buffer = new TraceRingBuffer(4);
+
+        //when
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(createEvent("method" + i));
+        }
+
+        //then
+        assertThat(buffer.capacity()).isEqualTo(4);
+        assertThat(buffer.drainDropped()).isEqualTo(2);
+        assertThat(buffer.poll().method()).isEqualTo("method0");
+        assertThat(buffer.offer(createEvent("method6"))).isTrue();
+        assertThat(List.of(buffer.poll(), buffer.poll(), buffer.poll(), buffer.poll()))
+                .extracting(TraceEvent::method)
+                .containsExactly("method1", "method2", "method3", "method6");
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void shouldCaptureIdsWithoutCallingToString() {
+        //given
+        Car car = new Car("BMW", "M3", 2024, "WZ 90909", new BigDecimal(500));
+        car.setId(7L);
+        Object[] args = {car, 5L, "Jan", Status.RESERVED, LocalDate.of(2025, 1, 2), new ArrayList<>(List.of(1, 2)), null, new Object()};
+
+        //when
+        String ids = TraceArguments.capture(args, TraceCaptureMode.IDS);
+
+        //then
+        assertThat(ids).isEqualTo("Car#7, 5, Jan, " + Status.RESERVED + ", 2025-01-02, ArrayList[size=2], null, Object");
+        assertThat(TraceArguments.capture(args, TraceCaptureMode.NONE)).isNull();
+        assertThat(TraceArguments.capture(new Object[]{1L, "a"}, TraceCaptureMode.FULL)).isEqualTo("1, a");
+        assertThat(TraceArguments.capture(new Object[0], TraceCaptureMode.IDS)).isEmpty();
+    }
+
+    @Test
+    void shouldWriteQueuedEventsAndFlushOnShutdown() throws InterruptedException {
+        //given
+        Logger logger = mock(Logger.class);
+        when(logger.isInfoEnabled()).thenReturn(true);
+        AsyncTraceAppender appender = new AsyncTraceAppender(16, logger);
+
+        //when
+        appender.append(createEvent("getCarById"));
+        appender.append(new TraceEvent("CarService", "deleteCarById", "1", TimeUnit.MICROSECONDS.toNanos(42), "CarNotFoundException"));
+        appender.shutdown();
+
+        //then
+        InOrder inOrder = inOrder(logger);
+        inOrder.verify(logger).info("[ASPECT] CarService.getCarById(1) completed in 3 us");
+        inOrder.verify(logger).info("[ASPECT] CarService.deleteCarById(1) failed with CarNotFoundException in 42 us");
+    }
+
+    @Test
+    void shouldBuildPointcutFromTracedPackages() {
+        //when
+        String pointcut = TracingConfiguration.pointcut(List.of("pl.kurs.service", " pl.kurs.repository ", ""));
+
+        //then
+        assertThat(pointcut).isEqualTo("(execution(* pl.kurs.service..*(..)) || execution(* pl.kurs.repository..*(..)))" +
+                                       " && !within(pl.kurs.aspect..*)");
+    }
+
+    private TraceEvent createEvent(String method) {
+        return new TraceEvent("CarService", method, "1", 3_000, null);
+    }
+}
@@ -0,0 +1,50 @@
+package pl.kurs.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionLimiterPostProcessorTest {
+
+    @Test
+    void shouldLimitHikariPoolToItsMaximumPoolSizeByDefault() {
+        //given
+        HikariDataSource hikariDataSource = new HikariDataSource();
+        hikariDataSource.setMaximumPoolSize(20);
+        ConnectionLimiterPostProcessor postProcessor = new ConnectionLimiterPostProcessor(true, 0, 1000);
+
+        //when
+        Object result = postProcessor.postProcessAfterInitialization(hikariDataSource, "dataSource");
+
+        //then
+        assertThat(result).isInstanceOf(ConnectionLimitingDataSource.class);
+        assertThat(((ConnectionLimitingDataSource) result).getPermits()).isEqualTo(20);
+        assertThat(((ConnectionLimitingDataSource) result).getTargetDataSource()).isSameAs(hikariDataSource);
+    }
+
+    @Test
+    void shouldUseConfiguredPermits() {
+        //given
+        ConnectionLimiterPostProcessor postProcessor = new ConnectionLimiterPostProcessor(true, 8, 1000);
+
+        //when
+        Object result = postProcessor.postProcessAfterInitialization(new HikariDataSource(), "dataSource");
+
+        //then
+        assertThat(((ConnectionLimitingDataSource) result).getPermits()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldLeaveBeansUntouchedWhenDisabledOrNotHikari() {
+        //given
+        HikariDataSource hikariDataSource = new HikariDataSource();
+        Object otherBean = new Object();
+
+        //when then
+        assertThat(new ConnectionLimiterPostProcessor(false, 0, 1000).postProcessAfterInitialization(hikariDataSource, "dataSource"))
+                .isSameAs(hikariDataSource);
+        assertThat(new ConnectionLimiterPostProcessor(true, 0, 1000).postProcessAfterInitialization(otherBean, "other"))
+                .isSameAs(otherBean);
+    }
+}
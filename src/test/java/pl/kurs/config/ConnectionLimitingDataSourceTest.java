@@ -0,0 +1,103 @@
+package pl.kurs.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource dataSourceMock;
+
+    @Mock
+    private Connection connectionMock;
+
+    @Test
+    void shouldHoldPermitUntilConnectionIsClosed() throws SQLException {
+        //given
+        when(dataSourceMock.getConnection()).thenReturn(connectionMock);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(dataSourceMock, 2, 10);
+
+        //when
+        Connection connection = dataSource.getConnection();
+
+        //then
+        assertThat(dataSource.getPermits()).isEqualTo(2);
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+
+        //when
+        connection.close();
+        connection.close();
+
+        //then
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+        assertThat(dataSource.getWaitingThreads()).isZero();
+        verify(connectionMock, times(2)).close();
+    }
+
+    @Test
+    void shouldTimeOutWhenAllPermitsAreTaken() throws SQLException {
+        //given
+        when(dataSourceMock.getConnection("user", "password")).thenReturn(connectionMock);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(dataSourceMock, 1, 10);
+        dataSource.getConnection("user", "password");
+
+        //when then
+        assertThatThrownBy(() -> dataSource.getConnection("user", "password"))
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("No connection permit available within 10 ms (limit: 1)");
+        verify(dataSourceMock, times(1)).getConnection("user", "password");
+    }
+
+    @Test
+    void shouldReturnPermitWhenTargetFailsToProvideConnection() throws SQLException {
+        //given
+        when(dataSourceMock.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        when(dataSourceMock.getConnection("user", "password")).thenThrow(new IllegalStateException("pool closed"));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(dataSourceMock, 1, 10);
+
+        //when then
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThatThrownBy(() -> dataSource.getConnection("user", "password")).hasMessage("pool closed");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailFastWhenInterruptedWhileWaiting() {
+        //given
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(dataSourceMock, 1, 1000);
+        Thread.currentThread().interrupt();
+
+        //when then
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Interrupted");
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void shouldPropagateExceptionsFromProxiedConnection() throws SQLException {
+        //given
+        when(dataSourceMock.getConnection()).thenReturn(connectionMock);
+        doThrow(new SQLException("commit failed")).when(connectionMock).commit();
+        doThrow(new SQLException("close failed")).when(connectionMock).close();
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(dataSourceMock, 1, 10);
+        Connection connection = dataSource.getConnection();
+
+        //when then
+        assertThatThrownBy(connection::commit).isInstanceOf(SQLException.class).hasMessage("commit failed");
+        assertThatThrownBy(connection::close).isInstanceOf(SQLException.class).hasMessage("close failed");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,59 @@
+package pl.kurs.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReadWriteRoutingDataSourceTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadWriteRoutingDataSource routingDataSource =
+            new ReadWriteRoutingDataSource(mock(DataSource.class), mock(DataSource.class), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //when
+        ReadWriteRoutingDataSource.Route route = routingDataSource.determineCurrentLookupKey();
+
+        //then
+        assertThat(route).isEqualTo(ReadWriteRoutingDataSource.Route.REPLICA);
+        assertThat(meterRegistry.get("datasource.connections.routed").tag("route", "replica").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRouteReadWriteWorkToPrimary() {
+        //when
+        ReadWriteRoutingDataSource.Route route = routingDataSource.determineCurrentLookupKey();
+
+        //then
+        assertThat(route).isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);
+        assertThat(meterRegistry.get("datasource.connections.routed").tag("route", "primary").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToPrimaryWhenClientHasJustWritten() {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadYourWrites.requirePrimary();
+
+        //when
+        ReadWriteRoutingDataSource.Route route = routingDataSource.determineCurrentLookupKey();
+
+        //then
+        assertThat(route).isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);
+    }
+}
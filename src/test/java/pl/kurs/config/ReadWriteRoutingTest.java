@@ -0,0 +1,121 @@
+package pl.kurs.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.kurs.entity.Car;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.service.CarService;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the replica is a second pool on the same in-memory database
+@SpringBootTest(properties = {
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:testdb",
+        "datasource.replica.username=sa",
+        "datasource.replica.password=password",
+        "datasource.replica.hikari.pool-name=ReplicaPool",
+        "datasource.replica.hikari.minimum-idle=1",
+        "datasource.replica.hikari.maximum-pool-size=5"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        carRepository.findAll().stream()
+                .filter(car -> car.getRegistrationNumber().startsWith("RW"))
+                .forEach(carRepository::delete);
+    }
+
+    @Test
+    void shouldServeListEndpointsFromReplica() throws Exception {
+        //given
+        double replicaBefore = routed("replica");
+
+        //when
+        carService.getAllSlice(0, 10);
+
+        //then
+        assertThat(routed("replica")).isGreaterThan(replicaBefore);
+    }
+
+    @Test
+    void shouldSendWritesToPrimary() {
+        //given
+        double primaryBefore = routed("primary");
+        double replicaBefore = routed("replica");
+
+        //when
+        carService.saveCar(new Car("Fiat", "500", 2020, "RW 00001", new BigDecimal(90)));
+
+        //then
+        assertThat(routed("primary")).isGreaterThan(primaryBefore);
+        assertThat(routed("replica")).isEqualTo(replicaBefore);
+    }
+
+    @Test
+    void shouldReadFromPrimaryRightAfterClientHasWritten() throws Exception {
+        //given
+        Cookie readPrimary = mockMvc.perform(post("/cars")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"producer\":\"Fiat\",\"model\":\"Panda\",\"yearOfProduction\":2021," +
+                                 "\"registrationNumber\":\"RW 00002\",\"pricePerDay\":80}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        double replicaBefore = routed("replica");
+
+        //when
+        mockMvc.perform(get("/cars").param("withTotal", "false").cookie(readPrimary).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        //then
+        assertThat(routed("replica")).isEqualTo(replicaBefore);
+    }
+
+    @Test
+    void shouldLoadCachedCarFromPrimary() {
+        //given
+        Car car = carRepository.save(new Car("Fiat", "Tipo", 2022, "RW 00003", new BigDecimal(110)));
+        double replicaBefore = routed("replica");
+
+        //when
+        carService.getCarById(car.getId());
+
+        //then
+        assertThat(routed("replica")).isEqualTo(replicaBefore);
+        assertThat(ReadYourWrites.isPrimaryRequired()).isFalse();
+    }
+
+    private double routed(String route) {
+        return meterRegistry.get("datasource.connections.routed").tag("route", route).counter().count();
+    }
+}
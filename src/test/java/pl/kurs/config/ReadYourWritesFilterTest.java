@@ -0,0 +1,65 @@
+package pl.kurs.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(5);
+
+    @Test
+    void shouldMarkWritingClientForPrimaryReads() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/reservations");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+
+        //when
+        filter.doFilter(request, response, (req, res) -> primaryRequired.set(ReadYourWrites.isPrimaryRequired()));
+
+        //then
+        assertThat(primaryRequired).isTrue();
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNotNull();
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME).getMaxAge()).isEqualTo(5);
+        assertThat(ReadYourWrites.isPrimaryRequired()).isFalse();
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhileCookieIsPresent() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/reservations");
+        request.setCookies(new Cookie("other", "x"), new Cookie(ReadYourWritesFilter.COOKIE_NAME, "1"));
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+
+        //when
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> primaryRequired.set(ReadYourWrites.isPrimaryRequired()));
+
+        //then
+        assertThat(primaryRequired).isTrue();
+        assertThat(ReadYourWrites.isPrimaryRequired()).isFalse();
+    }
+
+    @Test
+    void shouldLeaveOtherReadsOnReplicaRoute() throws Exception {
+        //given
+        MockHttpServletRequest withoutCookies = new MockHttpServletRequest("GET", "/cars");
+        MockHttpServletRequest withOtherCookie = new MockHttpServletRequest("GET", "/cars");
+        withOtherCookie.setCookies(new Cookie("other", "x"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+
+        //when
+        filter.doFilter(withoutCookies, response, (req, res) -> primaryRequired.compareAndSet(false, ReadYourWrites.isPrimaryRequired()));
+        filter.doFilter(withOtherCookie, new MockHttpServletResponse(),
+                (req, res) -> primaryRequired.compareAndSet(false, ReadYourWrites.isPrimaryRequired()));
+
+        //then
+        assertThat(primaryRequired).isFalse();
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNull();
+    }
+}
@@ -8,17 +8,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import pl.kurs.dto.CarDto;
 import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.entity.Reservation;
+import pl.kurs.entity.Status;
 import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CustomerRepository;
+import pl.kurs.repository.ReservationRepository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +52,15 @@ public class CarControllerTest {
     @Autowired
     private CarRepository carRepository;
 
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void shouldReturnCarAsXmlForGetById() throws Exception {
         //given
@@ -194,6 +211,22 @@ public class CarControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void shouldReturn400ForDuplicateRegistrationNumberWrittenOutsideTheApplication() throws Exception {
+        //given
+        jdbcTemplate.update("INSERT INTO cars (id, producer, model, year_of_production, registration_number, price_per_day, booking_version) " +
+                            "VALUES (900000, 'Audi', 'A4', 2020, 'WD 33333', 300, 0)");
+        CarDto duplicateCarDto = new CarDto("Mercedes", "C-Class", 2024, "WD 33333", new BigDecimal("800"));
+
+        //when then
+        mockMvc.perform(post("/cars")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(duplicateCarDto)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Registration number already exists"));
+    }
+
     @Test
     void shouldReturn400ForMissingRequestBody() throws Exception {
         //when then
@@ -298,6 +331,27 @@ public class CarControllerTest {
                 .andExpect(jsonPath("$.content[0].model").value(MODEL));
     }
 
+    @Test
+    void shouldSearchCarsSliceWithoutTotal() throws Exception {
+        //given
+        carRepository.save(createTestCar());
+        carRepository.save(new Car("BMW", "X5", 2024, "WX 55555", new BigDecimal("1100")));
+        carRepository.save(new Car("Audi", "A4", 2023, "WW 23456", new BigDecimal("600")));
+
+        //when then
+        mockMvc.perform(get("/cars/search")
+                        .param("producer", PRODUCER)
+                        .param("withTotal", "false")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].producer").value(PRODUCER))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.page").doesNotExist());
+    }
+
     @Test
     void shouldSortCarsAscending() throws Exception {
         //given
@@ -336,6 +390,189 @@ public class CarControllerTest {
                 .andExpect(jsonPath("$.content[2].producer").value("Audi"));
     }
 
+    @Test
+    void shouldReturnCarsSliceWithoutTotal() throws Exception {
+        //given
+        carRepository.save(createTestCar());
+        carRepository.save(new Car("Volvo", "XC90", 2024, "WX 55555", new BigDecimal("1100")));
+
+        //when then
+        mockMvc.perform(get("/cars")
+                        .param("withTotal", "false")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.number").value(0))
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.page").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnSortedCarsSliceWithoutTotal() throws Exception {
+        //given
+        carRepository.save(createTestCar());
+        carRepository.save(new Car("Audi", "A4", 2023, "WW 23456", new BigDecimal("600")));
+
+        //when then
+        mockMvc.perform(get("/cars/sort")
+                        .param("property", "price_per_day")
+                        .param("withTotal", "false")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].producer").value("Audi"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void shouldPageCarsWithCursor() throws Exception {
+        //given
+        Car firstCar = carRepository.save(createTestCar());
+        Car secondCar = carRepository.save(new Car("Volvo", "XC90", 2024, "WX 55555", new BigDecimal("1100")));
+        Car thirdCar = carRepository.save(new Car("Audi", "A4", 2023, "WW 23456", new BigDecimal("600")));
+
+        //when
+        MvcResult firstPage = mockMvc.perform(get("/cars")
+                        .param("after", "")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value(firstCar.getId()))
+                .andExpect(jsonPath("$.content[1].id").value(secondCar.getId()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.page").doesNotExist())
+                .andReturn();
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        //then
+        mockMvc.perform(get("/cars")
+                        .param("after", nextCursor)
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(thirdCar.getId()))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void shouldPageSortedCarsWithCursor() throws Exception {
+        //given
+        carRepository.save(createTestCar());
+        carRepository.save(new Car("Volvo", "XC90", 2023, "WX 55555", new BigDecimal("1100")));
+        carRepository.save(new Car("Audi", "A4", 2023, "WW 23456", new BigDecimal("600")));
+
+        //when
+        MvcResult firstPage = mockMvc.perform(get("/cars/sort")
+                        .param("property", "year_of_production")
+                        .param("direction", "desc")
+                        .param("after", "")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].producer").value(PRODUCER))
+                .andExpect(jsonPath("$.content[1].producer").value("Audi"))
+                .andReturn();
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        //then
+        mockMvc.perform(get("/cars/sort")
+                        .param("property", "year_of_production")
+                        .param("direction", "desc")
+                        .param("after", nextCursor)
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].producer").value("Volvo"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void shouldSearchAvailableCarsWithCursor() throws Exception {
+        //given
+        Car bookedCar = carRepository.save(createTestCar());
+        Car availableCar = carRepository.save(new Car(PRODUCER, MODEL, 2024, "WX 55555", new BigDecimal("1100")));
+        carRepository.save(new Car("Audi", "A4", 2023, "WW 23456", new BigDecimal("600")));
+        Customer customer = customerRepository.save(new Customer("Jan", "Kowalski", "j.kowal@gmail.com", "505606707", "PPX 12512"));
+        reservationRepository.save(new Reservation(bookedCar, customer, LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 5),
+                new BigDecimal(4000), Status.RESERVED));
+
+        //when then
+        mockMvc.perform(get("/cars/search")
+                        .param("after", "")
+                        .param("producer", PRODUCER)
+                        .param("model", MODEL)
+                        .param("startDate", "2025-05-03")
+                        .param("endDate", "2025-05-04")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(availableCar.getId()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void shouldReturnFleetAvailabilityCalendar() throws Exception {
+        //given
+        Car bookedCar = carRepository.save(createTestCar());
+        Car availableCar = carRepository.save(new Car(PRODUCER, MODEL, 2024, "WX 55555", new BigDecimal("1100")));
+        carRepository.save(new Car("Audi", "A4", 2023, "WW 23456", new BigDecimal("600")));
+        Customer customer = customerRepository.save(new Customer("Jan", "Kowalski", "j.kowal@gmail.com", "505606707", "PPX 12512"));
+        reservationRepository.save(new Reservation(bookedCar, customer, LocalDate.of(2025, 5, 2), LocalDate.of(2025, 5, 4),
+                new BigDecimal(2000), Status.RESERVED));
+
+        //when then
+        mockMvc.perform(get("/cars/availability")
+                        .param("from", "2025-05-01")
+                        .param("to", "2025-05-05")
+                        .param("producer", PRODUCER)
+                        .param("model", MODEL)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2025-05-01"))
+                .andExpect(jsonPath("$.cars", hasSize(2)))
+                .andExpect(jsonPath("$.cars[0].carId").value(bookedCar.getId()))
+                .andExpect(jsonPath("$.cars[0].busyDays").value("01100"))
+                .andExpect(jsonPath("$.cars[1].carId").value(availableCar.getId()))
+                .andExpect(jsonPath("$.cars[1].busyDays").value("00000"));
+    }
+
+    @Test
+    void shouldReturn400ForAvailabilityCalendarWithInvertedRange() throws Exception {
+        //when then
+        mockMvc.perform(get("/cars/availability")
+                        .param("from", "2025-05-05")
+                        .param("to", "2025-05-01")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("End date must not be before start date"));
+    }
+
+    @Test
+    void shouldReturn400ForInvalidCursor() throws Exception {
+        //when then
+        mockMvc.perform(get("/cars/sort")
+                        .param("property", "producer")
+                        .param("after", "not-a-cursor")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     private Car createTestCar() {
         return new Car(PRODUCER, MODEL, YEAR_OF_PRODUCTION, REGISTRATION_NUMBER, PRICE_PER_DAY);
     }
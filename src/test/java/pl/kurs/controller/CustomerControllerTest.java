@@ -17,6 +17,7 @@ import pl.kurs.entity.Customer;
 import pl.kurs.repository.CustomerRepository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -228,6 +229,38 @@ public class CustomerControllerTest {
                 .andReturn();
     }
 
+    @Test
+    void shouldReturn400ForDuplicateCustomerOnCreate() throws Exception {
+        //given
+        customerRepository.save(testCustomer);
+        CustomerDto duplicateCustomerDto = new CustomerDto("Jan", "Nowak", E_MAIL, "511222333", "XYZ 99999");
+
+        //when then
+        mockMvc.perform(post("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(duplicateCustomerDto)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Customer e-mail already exists"));
+    }
+
+    @Test
+    void shouldReturn400ForUpdateCollidingWithAnotherCustomer() throws Exception {
+        //given
+        customerRepository.save(testCustomer);
+        Customer otherCustomer = customerRepository.save(new Customer("Jan", "Nowak", "j.nowak@mail.com", "511222333", "XYZ 99999"));
+        CustomerDto updateCustomer = new CustomerDto(otherCustomer.getId(), "Jan", "Nowak", E_MAIL, PHONE_NUMBER, "XYZ 99999");
+
+        //when then
+        mockMvc.perform(put("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateCustomer)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage", containsString("Customer e-mail already exists")))
+                .andExpect(jsonPath("$.errorMessage", containsString("Customer phone number already exists")));
+    }
+
     @Test
     void shouldReturn400ForUpdateWithoutId() throws Exception {
         //given
@@ -304,6 +337,94 @@ public class CustomerControllerTest {
                 .andExpect(jsonPath("$.content[0].lastName").value(LAST_NAME));
     }
 
+    @Test
+    void shouldSearchCustomersSliceWithoutTotal() throws Exception {
+        //given
+        customerRepository.save(testCustomer);
+        customerRepository.save(new Customer("Johny", "Rambo", "j.rambo@mail.com", "600500400", "DEF 67890"));
+
+        //when then
+        mockMvc.perform(get("/customers/search")
+                        .param("firstName", FIRST_NAME)
+                        .param("withTotal", "false")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].firstName").value(FIRST_NAME))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.page").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnCustomersSliceWithoutTotal() throws Exception {
+        //given
+        customerRepository.save(testCustomer);
+        customerRepository.save(new Customer("Johny", "Rambo", "j.rambo@mail.com", "600500400", "DEF 67890"));
+
+        //when then
+        mockMvc.perform(get("/customers")
+                        .param("withTotal", "false")
+                        .param("page", "1")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.number").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.page").doesNotExist());
+    }
+
+    @Test
+    void shouldPageCustomersWithCursor() throws Exception {
+        //given
+        customerRepository.save(testCustomer);
+        Customer lastCustomer = customerRepository.save(new Customer("Johny", "Rambo", "j.rambo@mail.com", "600500400", "DEF 67890"));
+
+        //when
+        MvcResult firstPage = mockMvc.perform(get("/customers")
+                        .param("after", "")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        //then
+        mockMvc.perform(get("/customers")
+                        .param("after", nextCursor)
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(lastCustomer.getId()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void shouldSearchCustomerByFirstNameAndLastNameWithCursor() throws Exception {
+        //given
+        customerRepository.save(testCustomer);
+        customerRepository.save(new Customer("Johny", "Rambo", "j.rambo@mail.com", "600500400", "DEF 67890"));
+
+        //when then
+        mockMvc.perform(get("/customers/search")
+                        .param("after", "")
+                        .param("firstName", FIRST_NAME)
+                        .param("lastName", LAST_NAME)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].lastName").value(LAST_NAME))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
     private Customer createTestCustomer() {
         return new Customer(FIRST_NAME, LAST_NAME, E_MAIL, PHONE_NUMBER, DRIVING_LICENSE_NUMBER);
     }
@@ -236,6 +236,37 @@ public class EmployeeControllerTest {
                 .andReturn();
     }
 
+    @Test
+    void shouldReturn400ForDuplicateEmployeeOnCreate() throws Exception {
+        //given
+        Employee testEmployee = employeeRepository.save(createTestEmployee());
+        EmployeeDto duplicateEmployeeDto = new EmployeeDto("Ewa", "Konewa", testEmployee.getPosition().getId(), PHONE_NUMBER, "e.konewa@mail.com");
+
+        //when then
+        mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(duplicateEmployeeDto)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Employee phone number already exists"));
+    }
+
+    @Test
+    void shouldReturn400ForUpdateCollidingWithAnotherEmployee() throws Exception {
+        //given
+        Employee testEmployee = employeeRepository.save(createTestEmployee());
+        Employee otherEmployee = employeeRepository.save(new Employee("Ewa", "Konewa", receptionist, "070088800", "e.konewa@mail.com"));
+        EmployeeDto updateEmployee = new EmployeeDto(otherEmployee.getId(), "Ewa", "Konewa", testEmployee.getPosition().getId(), "070088800", E_MAIL);
+
+        //when then
+        mockMvc.perform(put("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateEmployee)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Employee e-mail already exists"));
+    }
+
     @Test
     void shouldReturn400ForUpdateWithoutId() throws Exception {
         //given
@@ -299,6 +330,27 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.content[0].lastName").value(LAST_NAME));
     }
 
+    @Test
+    void shouldSearchEmployeesSliceWithoutTotal() throws Exception {
+        //given
+        Employee testEmployee = createTestEmployee();
+        employeeRepository.save(testEmployee);
+        employeeRepository.save(new Employee("Johny", "Rambo", accountant, "600500400", "j.rambo@mail.com"));
+        employeeRepository.save(new Employee("Bruce", "Lee", mechanic, "800500400", "b.lee@mail.com"));
+
+        //when then
+        mockMvc.perform(get("/employees/search")
+                        .param("lastName", LAST_NAME)
+                        .param("withTotal", "false")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].lastName").value(LAST_NAME))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.page").doesNotExist());
+    }
+
     @Test
     void shouldSearchEmployeeByPosition() throws Exception {
         //given
@@ -319,6 +371,76 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.content[0].positionId").value(testEmployee.getPosition().getId()));
     }
 
+    @Test
+    void shouldReturnEmployeesSliceWithoutTotal() throws Exception {
+        //given
+        employeeRepository.save(createTestEmployee());
+        employeeRepository.save(new Employee("Johny", "Rambo", accountant, "600500400", "j.rambo@mail.com"));
+
+        //when then
+        mockMvc.perform(get("/employees")
+                        .param("withTotal", "false")
+                        .param("page", "1")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.number").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.page").doesNotExist());
+    }
+
+    @Test
+    void shouldPageEmployeesWithCursor() throws Exception {
+        //given
+        employeeRepository.save(createTestEmployee());
+        Employee lastEmployee = employeeRepository.save(new Employee("Johny", "Rambo", accountant, "600500400", "j.rambo@mail.com"));
+
+        //when
+        MvcResult firstPage = mockMvc.perform(get("/employees")
+                        .param("after", "")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        //then
+        mockMvc.perform(get("/employees")
+                        .param("after", nextCursor)
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(lastEmployee.getId()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void shouldSearchEmployeeByAllParamsWithCursor() throws Exception {
+        //given
+        employeeRepository.save(createTestEmployee());
+        employeeRepository.save(new Employee(FIRST_NAME, LAST_NAME, mechanic, "800500400", "a.wielka2@mail.com"));
+
+        //when then
+        mockMvc.perform(get("/employees/search")
+                        .param("after", "")
+                        .param("firstName", FIRST_NAME)
+                        .param("lastName", LAST_NAME)
+                        .param("position", POSITION_NAME)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].email").value(E_MAIL))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
     private Employee createTestEmployee() {
         return new Employee(FIRST_NAME, LAST_NAME, receptionist, PHONE_NUMBER, E_MAIL);
     }
@@ -0,0 +1,75 @@
+package pl.kurs.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.kurs.entity.Car;
+import pl.kurs.repository.CarRepository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+public class EndpointMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Test
+    void shouldRecordLatencyErrorsAndInFlightPerControllerMethod() throws Exception {
+        //given
+        Car car = carRepository.save(new Car("Audi", "A4", 2023, "WI 44556", new BigDecimal(300)));
+        long previousCount = latencyTimer().map(Timer::count).orElse(0L);
+        double previousErrors = errorCount();
+
+        //when
+        mockMvc.perform(get("/cars/" + car.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/cars/999999")).andExpect(status().isNotFound());
+
+        //then
+        Timer latency = latencyTimer().orElseThrow();
+        assertThat(latency.count()).isEqualTo(previousCount + 2);
+        assertThat(latency.max(TimeUnit.NANOSECONDS)).isPositive();
+        assertThat(errorCount()).isEqualTo(previousErrors + 1);
+        assertThat(meterRegistry.get("endpoint.in.flight")
+                .tags("controller", "CarController", "method", "getById")
+                .gauge().value()).isZero();
+        assertThat(meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "CarRepository")
+                .timers()).isNotEmpty();
+    }
+
+    private Optional<Timer> latencyTimer() {
+        return Optional.ofNullable(meterRegistry.find("endpoint.latency")
+                .tags("controller", "CarController", "method", "getById")
+                .timer());
+    }
+
+    private double errorCount() {
+        Counter counter = meterRegistry.find("endpoint.errors")
+                .tags("controller", "CarController", "method", "getById")
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,87 @@
+package pl.kurs.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.kurs.dto.QuoteRequestDto;
+import pl.kurs.entity.Car;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.service.PricingProperties;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+class PricingControllerTest {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private PricingProperties pricingProperties;
+
+    @Test
+    void shouldQuoteCarsForRequestedPeriods() throws Exception {
+        //given
+        Car car = carRepository.save(new Car("BMW", "M5", 2025, "PR 12345", new BigDecimal("1000")));
+        List<QuoteRequestDto> quoteRequests = List.of(
+                new QuoteRequestDto(car.getId(), MONDAY, MONDAY.plusDays(3)),
+                new QuoteRequestDto(car.getId(), MONDAY.plusDays(5), MONDAY.plusDays(7)),
+                new QuoteRequestDto(999_999L, MONDAY, MONDAY.plusDays(3)));
+
+        //when then
+        mockMvc.perform(post("/pricing/quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(quoteRequests)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].startDate").value("03-03-2025"))
+                .andExpect(jsonPath("$[0].days").value(3))
+                .andExpect(jsonPath("$[0].totalAmount").value(3000.0))
+                .andExpect(jsonPath("$[1].totalAmount").value(2400.0))
+                .andExpect(jsonPath("$[2].message").value("Car not found with id: 999999"));
+    }
+
+    @Test
+    void shouldReturn400ForEmptyQuoteList() throws Exception {
+        //when then
+        mockMvc.perform(post("/pricing/quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnCurrentRules() throws Exception {
+        //when then
+        mockMvc.perform(get("/pricing/rules"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.weekendSurchargePercent").value(pricingProperties.getWeekendSurchargePercent()))
+                .andExpect(jsonPath("$.seasons", hasSize(pricingProperties.getSeasons().size())));
+    }
+}
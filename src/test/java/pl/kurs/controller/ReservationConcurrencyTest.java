@@ -0,0 +1,203 @@
+package pl.kurs.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.kurs.dto.ReservationDto;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CustomerRepository;
+import pl.kurs.repository.ReservationRepository;
+import pl.kurs.service.BookingMode;
+import pl.kurs.service.CarAvailabilityIndex;
+import pl.kurs.service.ReservationService;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class ReservationConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 64;
+    private static final LocalDate START_DATE = LocalDate.of(2025, 9, 1);
+    private static final Map<String, Map<BookingMode, BookingRun>> RUNS = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CarAvailabilityIndex carAvailabilityIndex;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Car car;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        car = carRepository.save(new Car("BMW", "M3", 2024, "WZ 90909", new BigDecimal(500)));
+        customer = customerRepository.save(new Customer("Adam", "Nowak", "a.nowak@mail.com", "509909909", "DDX 90909"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        setBookingMode(BookingMode.PESSIMISTIC);
+        reservationRepository.deleteAll(reservationRepository.findAll().stream()
+                .filter(reservation -> reservation.getCar().getId().equals(car.getId()))
+                .toList());
+        carRepository.deleteById(car.getId());
+        customerRepository.deleteById(customer.getId());
+        carAvailabilityIndex.rebuild();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingMode.class)
+    void shouldAcceptExactlyOneOfConcurrentOverlappingReservations(BookingMode bookingMode) throws Exception {
+        //given
+        setBookingMode(bookingMode);
+        List<ReservationDto> reservations = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            reservations.add(createReservationDto(START_DATE, START_DATE.plusDays(3)));
+        }
+
+        //when
+        BookingRun run = book(bookingMode, "overlapping", reservations);
+
+        //then
+        assertThat(run.created()).isEqualTo(1);
+        assertThat(countReservationsOfTestCar()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingMode.class)
+    void shouldAcceptAllConcurrentDisjointReservations(BookingMode bookingMode) throws Exception {
+        //given
+        setBookingMode(bookingMode);
+        List<ReservationDto> reservations = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            LocalDate start = START_DATE.plusDays(i * 3L);
+            reservations.add(createReservationDto(start, start.plusDays(1)));
+        }
+
+        //when
+        BookingRun run = book(bookingMode, "disjoint", reservations);
+
+        //then
+        // optimistic claims of one hot car are bounded by max-attempts, so some requests are asked to retry
+        if (bookingMode == BookingMode.PESSIMISTIC) {
+            assertThat(run.created()).isEqualTo(REQUESTS);
+        } else {
+            assertThat(run.created()).isPositive();
+            assertThat(run.created() + run.askedToRetry()).isEqualTo(REQUESTS);
+        }
+        assertThat(countReservationsOfTestCar()).isEqualTo(run.created());
+    }
+
+    private BookingRun book(BookingMode bookingMode, String scenario, List<ReservationDto> reservations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger askedToRetry = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (ReservationDto reservation : reservations) {
+            String body = objectMapper.writeValueAsString(reservation);
+            futures.add(executor.submit(() -> {
+                start.await();
+                MockHttpServletResponse response = mockMvc.perform(post("/reservations")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                        .andReturn().getResponse();
+                if (response.getStatus() == 201) {
+                    created.incrementAndGet();
+                } else if (response.getContentAsString().contains("please try again")) {
+                    askedToRetry.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        executor.shutdown();
+
+        BookingRun run = new BookingRun(created.get(), askedToRetry.get(), elapsedMillis, reservations.size() * 1000L / elapsedMillis);
+        RUNS.computeIfAbsent(scenario, key -> new EnumMap<>(BookingMode.class)).put(bookingMode, run);
+        return run;
+    }
+
+    // both modes of a scenario side by side, so a change in one of them shows up against the other
+    @AfterAll
+    static void recordComparison() throws IOException {
+        StringBuilder comparison = new StringBuilder();
+        RUNS.forEach((scenario, runs) -> runs.forEach((mode, run) -> comparison.append(String.format(
+                "%s %s: created %d, asked to retry %d, %d ms, %d req/s%n", scenario, mode, run.created(),
+                run.askedToRetry(), run.elapsedMillis(), run.throughputPerSecond()))));
+        Path report = Path.of(System.getProperty("booking.report", "target/booking-modes.txt"));
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        Files.writeString(report, comparison);
+        System.out.println("[BOOKING] Mode comparison written to " + report);
+    }
+
+    private void setBookingMode(BookingMode bookingMode) {
+        ReservationService target = AopTestUtils.getTargetObject(reservationService);
+        ReflectionTestUtils.setField(target, "bookingMode", bookingMode);
+    }
+
+    private long countReservationsOfTestCar() {
+        return reservationRepository.findAll().stream()
+                .filter(reservation -> reservation.getCar().getId().equals(car.getId()))
+                .count();
+    }
+
+    private record BookingRun(int created, int askedToRetry, long elapsedMillis, long throughputPerSecond) {
+    }
+
+    private ReservationDto createReservationDto(LocalDate startDate, LocalDate endDate) {
+        return new ReservationDto(car.getId(), customer.getId(), startDate, endDate, new BigDecimal(1500), "RESERVED");
+    }
+}
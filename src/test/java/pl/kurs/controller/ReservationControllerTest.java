@@ -26,6 +26,7 @@ import pl.kurs.repository.ReservationRepository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -158,6 +159,61 @@ public class ReservationControllerTest {
                 .andReturn();
     }
 
+    @Test
+    void shouldReturnReservationsSliceWithoutTotal() throws Exception {
+        //given
+        reservationRepository.save(createTestReservation());
+        reservationRepository.save(new Reservation(new Car("BMW", "M135i", 2022, "WY 43210", new BigDecimal(200)),
+                new Customer("John", "Cena", "j.cenaa@mail.com", "501600700", "ABC 22345"), LocalDate.of(2025, 6, 1),
+                LocalDate.of(2025, 6, 4), new BigDecimal(750), Status.RESERVED));
+
+        //when then
+        mockMvc.perform(get("/reservations")
+                        .param("withTotal", "false")
+                        .param("page", "1")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.number").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.page").doesNotExist());
+    }
+
+    @Test
+    void shouldPageReservationsWithCursor() throws Exception {
+        //given
+        Car testCar = new Car("BMW", "M135i", 2022, "WY 43210", new BigDecimal(200));
+        Customer testCustomer = new Customer("John", "Cena", "j.cenaa@mail.com", "501600700", "ABC 22345");
+        reservationRepository.save(createTestReservation());
+        Reservation lastReservation = reservationRepository.save(new Reservation(testCar, testCustomer, LocalDate.of(2025, 6, 1),
+                LocalDate.of(2025, 6, 4), new BigDecimal(750), Status.RESERVED));
+
+        //when
+        MvcResult firstPage = mockMvc.perform(get("/reservations")
+                        .param("after", "")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        //then
+        mockMvc.perform(get("/reservations")
+                        .param("after", nextCursor)
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(lastReservation.getId()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
     @Test
     void shouldReturnReservationsListAsXml() throws Exception {
         //given
@@ -181,6 +237,55 @@ public class ReservationControllerTest {
                 .andReturn();
     }
 
+    @Test
+    void shouldExportReservationsAsNdjson() throws Exception {
+        //given
+        Reservation testReservation = reservationRepository.save(createTestReservation());
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/reservations/export")
+                        .param("format", "ndjson"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andReturn();
+
+        //then
+        String[] lines = mvcResult.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(1);
+        ReservationDto reservationDto = objectMapper.readValue(lines[0], ReservationDto.class);
+        assertReservationDto(reservationDto, testReservation);
+    }
+
+    @Test
+    void shouldExportReservationsAsCsv() throws Exception {
+        //given
+        Reservation testReservation = reservationRepository.save(createTestReservation());
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/reservations/export")
+                        .param("format", "csv"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reservations.csv\""))
+                .andReturn();
+
+        //then
+        String[] lines = mvcResult.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).startsWith(testReservation.getId() + "," + testReservation.getCar().getId() + ",");
+        assertThat(lines[1]).endsWith(",RESERVED");
+    }
+
+    @Test
+    void shouldReturn400ForUnknownExportFormat() throws Exception {
+        //when then
+        mockMvc.perform(get("/reservations/export")
+                        .param("format", "xlsx"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldCreateReservationSuccessfully() throws Exception {
         //given
@@ -208,6 +313,64 @@ public class ReservationControllerTest {
         assertThat(reservationRepository.findById(createdReservations.getId())).isPresent();
     }
 
+    @Test
+    void shouldBookCarFromEndDateOfPreviousReservation() throws Exception {
+        //given
+        Car testCar = carRepository.save(new Car("BMW", "M135i", 2022, "WX 43210", new BigDecimal(200)));
+        Customer testCustomer = customerRepository.save(new Customer("John", "Cena", "j.cena@mail.com", "500600700", "ABC 12345"));
+        reservationRepository.save(new Reservation(testCar, testCustomer, START_DATE, END_DATE, TOTAL_AMOUNT, Status.RESERVED));
+        ReservationDto backToBack = new ReservationDto(testCar.getId(), testCustomer.getId(), END_DATE, END_DATE.plusDays(3), TOTAL_AMOUNT, "RESERVED");
+        ReservationDto overlapping = new ReservationDto(testCar.getId(), testCustomer.getId(), END_DATE.minusDays(1), END_DATE.plusDays(5), TOTAL_AMOUNT, "RESERVED");
+
+        //when then
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(backToBack)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(overlapping)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value("Car already booked for this date"));
+    }
+
+    @Test
+    void shouldCreateReservationsInBatchAndReportConflicts() throws Exception {
+        //given
+        Car testCar = carRepository.save(new Car("BMW", "M135i", 2022, "WX 43210", new BigDecimal(200)));
+        Customer testCustomer = customerRepository.save(new Customer("John", "Cena", "j.cena@mail.com", "500600700", "ABC 12345"));
+        List<ReservationDto> reservationDtos = List.of(
+                new ReservationDto(testCar.getId(), testCustomer.getId(), START_DATE, END_DATE, TOTAL_AMOUNT, "RESERVED"),
+                new ReservationDto(testCar.getId(), testCustomer.getId(), END_DATE.minusDays(1), END_DATE.plusDays(2), TOTAL_AMOUNT, "RESERVED"),
+                new ReservationDto(testCar.getId(), testCustomer.getId(), END_DATE.plusDays(1), START_DATE, TOTAL_AMOUNT, "RESERVED"),
+                new ReservationDto(999L, testCustomer.getId(), START_DATE, END_DATE, TOTAL_AMOUNT, "RESERVED"));
+
+        //when then
+        mockMvc.perform(post("/reservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservationDtos)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].reservation.id").exists())
+                .andExpect(jsonPath("$[1].status").value("CONFLICT"))
+                .andExpect(jsonPath("$[2].status").value("INVALID"))
+                .andExpect(jsonPath("$[3].status").value("NOT_FOUND"));
+
+        assertThat(reservationRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturn400ForEmptyReservationBatch() throws Exception {
+        //when then
+        mockMvc.perform(post("/reservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturn400ForInvalidReservationData() throws Exception {
         //given
@@ -309,7 +472,7 @@ public class ReservationControllerTest {
         assertThat(reservationDto.getCustomerId()).isEqualTo(expectedReservation.getCustomer().getId());
         assertThat(reservationDto.getStartDate()).isEqualTo(expectedReservation.getStartDate());
         assertThat(reservationDto.getEndDate()).isEqualTo(expectedReservation.getEndDate());
-        assertThat(reservationDto.getTotalAmount()).isEqualTo(expectedReservation.getTotalAmount());
+        assertThat(reservationDto.getTotalAmount()).isEqualByComparingTo(expectedReservation.getTotalAmount());
         assertThat(reservationDto.getStatusName()).isEqualTo(expectedReservation.getStatus().getValue());
     }
 }
@@ -0,0 +1,152 @@
+package pl.kurs.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import pl.kurs.entity.Car;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.service.CarAvailabilityIndex;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+abstract class ThreadModeLoadTest {
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS = 2_000;
+    private static final int CARS = 50;
+    private static final Path REPORTS = Path.of(System.getProperty("load.report-dir", "target/load"));
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CarAvailabilityIndex carAvailabilityIndex;
+
+    private List<Car> cars;
+
+    protected abstract String mode();
+
+    @BeforeEach
+    void setUp() {
+        List<Car> testCars = new ArrayList<>();
+        for (int i = 0; i < CARS; i++) {
+            testCars.add(new Car("LoadTest", "Model" + (i % 5), 2024, registrationNumber(i), new BigDecimal(200)));
+        }
+        cars = carRepository.saveAll(testCars);
+        carAvailabilityIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        carRepository.deleteAll(cars);
+    }
+
+    @Test
+    void shouldServeConcurrentSearches() throws Exception {
+        //given
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        Semaphore clients = new Semaphore(CLIENTS);
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        long startedAt = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                int request = i;
+                HttpRequest httpRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port +
+                                "/cars/search?producer=LoadTest&model=Model" + (i % 5) + "&startDate=2025-07-01&endDate=2025-07-05"))
+                        .header("Accept", "application/json")
+                        .GET()
+                        .build();
+                futures.add(executor.submit(() -> {
+                    clients.acquire();
+                    try {
+                        long sentAt = System.nanoTime();
+                        HttpResponse<Void> response = client.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+                        latencies[request] = System.nanoTime() - sentAt;
+                        if (response.statusCode() == 200) {
+                            succeeded.incrementAndGet();
+                        }
+                    } finally {
+                        clients.release();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        //then
+        Arrays.sort(latencies);
+        long p99Micros = TimeUnit.NANOSECONDS.toMicros(latencies[(int) Math.ceil(REQUESTS * 0.99) - 1]);
+        ModeResult result = new ModeResult(mode(), CLIENTS, REQUESTS, elapsedMillis, REQUESTS * 1000L / elapsedMillis, p99Micros);
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(reportFile(mode()).toFile(), result);
+        recordComparison(result);
+        assertThat(succeeded.get()).isEqualTo(REQUESTS);
+    }
+
+    // whichever mode runs second writes both results side by side
+    private void recordComparison(ModeResult result) throws IOException {
+        String otherMode = "virtual".equals(mode()) ? "platform" : "virtual";
+        Path otherFile = reportFile(otherMode);
+        if (!Files.exists(otherFile)) {
+            return;
+        }
+        ModeResult other = OBJECT_MAPPER.readValue(otherFile.toFile(), ModeResult.class);
+        ModeResult virtual = "virtual".equals(mode()) ? result : other;
+        ModeResult platform = "virtual".equals(mode()) ? other : result;
+        Path comparison = REPORTS.resolve("thread-modes.txt");
+        Files.writeString(comparison, String.format("""
+                        clients: %d, requests: %d
+                        platform: %d req/s, p99 %d us
+                        virtual: %d req/s, p99 %d us
+                        virtual/platform throughput: %.2f, p99: %.2f
+                        """, CLIENTS, REQUESTS, platform.throughputPerSecond(), platform.p99Micros(),
+                virtual.throughputPerSecond(), virtual.p99Micros(),
+                (double) virtual.throughputPerSecond() / platform.throughputPerSecond(),
+                (double) virtual.p99Micros() / Math.max(1, platform.p99Micros())));
+        System.out.println("[LOAD] Thread mode comparison written to " + comparison);
+    }
+
+    private static Path reportFile(String mode) throws IOException {
+        Files.createDirectories(REPORTS);
+        return REPORTS.resolve("thread-mode-" + mode + ".json");
+    }
+
+    private String registrationNumber(int index) {
+        return "LT" + mode().charAt(0) + String.format("%04d", index);
+    }
+
+    record ModeResult(String mode, int clients, int requests, long elapsedMillis, long throughputPerSecond, long p99Micros) {
+    }
+}
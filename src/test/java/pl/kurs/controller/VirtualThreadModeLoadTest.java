@@ -0,0 +1,14 @@
+package pl.kurs.controller;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.threads.virtual.enabled=true")
+@EnabledIfSystemProperty(named = "load.embedded", matches = "true")
+class VirtualThreadModeLoadTest extends ThreadModeLoadTest {
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,216 @@
+package pl.kurs.load;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+// rebuild the in-memory availability and uniqueness indexes of a running application after seeding;
+// standalone: DatasetGenerator <jdbc-url> <user> <password> <cars> <customers> <reservations>
+public final class DatasetGenerator {
+    static final int SLOT_DAYS = 7;
+    private static final int ID_ALLOCATION = 50;
+    private static final int COPY_CHUNK = 1 << 16;
+
+    private final DataSource dataSource;
+    private final LocalDate firstDay;
+    private final LocalDate today;
+
+    public DatasetGenerator(DataSource dataSource, LocalDate firstDay, LocalDate today) {
+        this.dataSource = dataSource;
+        this.firstDay = firstDay;
+        this.today = today;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        DataSource dataSource = new DriverManagerDataSource(args[0], args[1], args[2]);
+        LocalDate today = LocalDate.now();
+        Dataset dataset = new DatasetGenerator(dataSource, today.minusDays(365), today)
+                .seed(Integer.parseInt(args[3]), Integer.parseInt(args[4]), Integer.parseInt(args[5]));
+        System.out.println("[DATASET] " + dataset);
+    }
+
+    public Dataset seed(int cars, int customers, int reservations) throws SQLException {
+        long startedAt = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            long firstCarId = firstFreeId(connection, postgres, "cars");
+            long firstCustomerId = firstFreeId(connection, postgres, "customers");
+            long firstReservationId = firstFreeId(connection, postgres, "reservations");
+            Dataset dataset = new Dataset(firstCarId, cars, firstCustomerId, customers, firstReservationId, reservations,
+                    firstDay, firstDay.plusDays((long) Math.ceilDiv(reservations, Math.max(cars, 1)) * SLOT_DAYS + SLOT_DAYS));
+
+            if (postgres) {
+                copy(connection, dataset);
+            } else {
+                insert(dataset);
+            }
+            try (Statement statement = connection.createStatement()) {
+                moveSequencePast(statement, postgres, "cars", dataset.lastCarId());
+                moveSequencePast(statement, postgres, "customers", dataset.lastCustomerId());
+                moveSequencePast(statement, postgres, "reservations", dataset.lastReservationId());
+                statement.execute(postgres ? "ANALYZE cars, customers, reservations" : "ANALYZE");
+            }
+            System.out.println("[DATASET] Seeded " + cars + " cars, " + customers + " customers and " + reservations +
+                               " reservations in " + (System.nanoTime() - startedAt) / 1_000_000 + " ms");
+            return dataset;
+        }
+    }
+
+    private void copy(Connection connection, Dataset dataset) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        StringBuilder rows = new StringBuilder(COPY_CHUNK + 256);
+
+        CopyIn cars = pgConnection.getCopyAPI().copyIn("COPY cars (id, producer, model, year_of_production, " +
+                "registration_number, price_per_day, booking_version) FROM STDIN WITH (FORMAT csv)");
+        for (int i = 0; i < dataset.cars(); i++) {
+            long id = dataset.firstCarId() + i;
+            rows.append(id).append(",Producer").append(i % 50).append(",Model").append(i % 20).append(',')
+                    .append(2000 + i % 25).append(",LD").append(id).append(',').append(pricePerDay(i)).append(",0\n");
+            flushIfFull(cars, rows);
+        }
+        finish(cars, rows);
+
+        CopyIn customers = pgConnection.getCopyAPI().copyIn("COPY customers (id, first_name, last_name, e_mail, " +
+                "phone_number, driving_license_number) FROM STDIN WITH (FORMAT csv)");
+        for (int i = 0; i < dataset.customers(); i++) {
+            long id = dataset.firstCustomerId() + i;
+            rows.append(id).append(",First").append(i % 500).append(",Last").append(i % 1000).append(",load").append(id)
+                    .append("@mail.com,").append(String.format("%09d", id)).append(",LD").append(id).append('\n');
+            flushIfFull(customers, rows);
+        }
+        finish(customers, rows);
+
+        CopyIn reservations = pgConnection.getCopyAPI().copyIn("COPY reservations (id, car_id, customer_id, start_date, " +
+                "end_date, total_amount, status) FROM STDIN WITH (FORMAT csv)");
+        for (long i = 0; i < dataset.reservations(); i++) {
+            int car = (int) (i % dataset.cars());
+            int days = 1 + (int) (i % 5);
+            LocalDate startDate = firstDay.plusDays((i / dataset.cars()) * SLOT_DAYS + car % 2);
+            LocalDate endDate = startDate.plusDays(days);
+            rows.append(dataset.firstReservationId() + i).append(',').append(dataset.firstCarId() + car).append(',')
+                    .append(dataset.firstCustomerId() + (i * 7919) % dataset.customers()).append(',')
+                    .append(startDate).append(',').append(endDate).append(',').append(pricePerDay(car) * days).append(',')
+                    .append(status(i, startDate, endDate)).append('\n');
+            flushIfFull(reservations, rows);
+        }
+        finish(reservations, rows);
+    }
+
+    private void insert(Dataset dataset) {
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("firstCarId", dataset.firstCarId())
+                .addValue("cars", dataset.cars())
+                .addValue("firstCustomerId", dataset.firstCustomerId())
+                .addValue("customers", dataset.customers())
+                .addValue("firstReservationId", dataset.firstReservationId())
+                .addValue("reservations", dataset.reservations())
+                .addValue("firstDay", firstDay)
+                .addValue("today", today)
+                .addValue("slotDays", SLOT_DAYS);
+
+        jdbcTemplate.update("""
+                INSERT INTO cars (id, producer, model, year_of_production, registration_number, price_per_day, booking_version)
+                SELECT :firstCarId + X, 'Producer' || MOD(X, 50), 'Model' || MOD(X, 20), 2000 + MOD(X, 25),
+                       'LD' || (:firstCarId + X), 100 + MOD(X, 400), 0
+                FROM SYSTEM_RANGE(0, :cars - 1)
+                """, parameters);
+        jdbcTemplate.update("""
+                INSERT INTO customers (id, first_name, last_name, e_mail, phone_number, driving_license_number)
+                SELECT :firstCustomerId + X, 'First' || MOD(X, 500), 'Last' || MOD(X, 1000),
+                       'load' || (:firstCustomerId + X) || '@mail.com', LPAD(CAST(:firstCustomerId + X AS VARCHAR), 9, '0'), 'LD' || (:firstCustomerId + X)
+                FROM SYSTEM_RANGE(0, :customers - 1)
+                """, parameters);
+        jdbcTemplate.update("""
+                INSERT INTO reservations (id, car_id, customer_id, start_date, end_date, total_amount, status)
+                SELECT :firstReservationId + X, :firstCarId + car, :firstCustomerId + MOD(X * 7919, :customers),
+                       start_date, DATEADD('DAY', days, start_date), (100 + MOD(car, 400)) * days,
+                       CASE WHEN MOD(X, 10) = 0 THEN 'CANCELED'
+                            WHEN DATEADD('DAY', days, start_date) <= :today THEN 'FINISHED'
+                            WHEN start_date <= :today THEN 'RENTED'
+                            ELSE 'RESERVED' END
+                FROM (SELECT X, MOD(X, :cars) AS car, 1 + MOD(X, 5) AS days,
+                             DATEADD('DAY', (X / :cars) * :slotDays + MOD(MOD(X, :cars), 2), CAST(:firstDay AS DATE)) AS start_date
+                      FROM SYSTEM_RANGE(0, :reservations - 1)) slots
+                """, parameters);
+    }
+
+    // values up to the sequence's next value may already sit in a pooled block handed out to Hibernate
+    private static long firstFreeId(Connection connection, boolean postgres, String table) throws SQLException {
+        long maxId = queryLong(connection, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+        long nextValue = queryLong(connection, postgres ? "SELECT nextval('" + table + "_id_seq')"
+                : "SELECT NEXT VALUE FOR " + table + "_id_seq");
+        return Math.max(maxId, nextValue) + 1;
+    }
+
+    // the pooled optimizer treats a fetched value as the upper end of its block
+    private static void moveSequencePast(Statement statement, boolean postgres, String table, long lastId) throws SQLException {
+        long nextValue = lastId + ID_ALLOCATION;
+        statement.execute(postgres ? "SELECT setval('" + table + "_id_seq', " + nextValue + ", false)"
+                : "ALTER SEQUENCE " + table + "_id_seq RESTART WITH " + nextValue);
+    }
+
+    private String status(long index, LocalDate startDate, LocalDate endDate) {
+        if (index % 10 == 0) {
+            return "CANCELED";
+        }
+        if (!endDate.isAfter(today)) {
+            return "FINISHED";
+        }
+        return startDate.isAfter(today) ? "RESERVED" : "RENTED";
+    }
+
+    private static int pricePerDay(int carIndex) {
+        return 100 + carIndex % 400;
+    }
+
+    private static void flushIfFull(CopyIn copyIn, StringBuilder rows) throws SQLException {
+        if (rows.length() >= COPY_CHUNK) {
+            byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            rows.setLength(0);
+        }
+    }
+
+    private static void finish(CopyIn copyIn, StringBuilder rows) throws SQLException {
+        if (!rows.isEmpty()) {
+            byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            rows.setLength(0);
+        }
+        copyIn.endCopy();
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    public record Dataset(long firstCarId, int cars, long firstCustomerId, int customers,
+                          long firstReservationId, int reservations, LocalDate firstDay, LocalDate horizon) {
+
+        public long lastCarId() {
+            return firstCarId + cars - 1;
+        }
+
+        public long lastCustomerId() {
+            return firstCustomerId + customers - 1;
+        }
+
+        public long lastReservationId() {
+            return firstReservationId + reservations - 1;
+        }
+    }
+}
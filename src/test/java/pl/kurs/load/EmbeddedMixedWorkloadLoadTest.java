@@ -0,0 +1,45 @@
+package pl.kurs.load;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// own H2 database, so the seeded rows do not leak into other test contexts
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest",
+        "spring.jpa.show-sql=false",
+        "tracing.enabled=false"})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "load.embedded", matches = "true")
+class EmbeddedMixedWorkloadLoadTest extends MixedWorkloadLoadTest {
+
+    @Override
+    protected String database() {
+        return "h2";
+    }
+
+    @Override
+    protected int defaultCars() {
+        return 2_000;
+    }
+
+    @Override
+    protected int defaultCustomers() {
+        return 20_000;
+    }
+
+    @Override
+    protected int defaultReservations() {
+        return 100_000;
+    }
+
+    @Override
+    protected int defaultRequests() {
+        return 4_000;
+    }
+
+    @Override
+    protected int defaultClients() {
+        return 32;
+    }
+}
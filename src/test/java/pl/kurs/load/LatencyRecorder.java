@@ -0,0 +1,37 @@
+package pl.kurs.load;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class LatencyRecorder {
+    private final long[] latencies;
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+
+    LatencyRecorder(int capacity) {
+        latencies = new long[capacity];
+    }
+
+    void record(long latencyNanos, boolean expected) {
+        latencies[recorded.getAndIncrement()] = latencyNanos;
+        if (!expected) {
+            errors.incrementAndGet();
+        }
+    }
+
+    LoadTestReport.EndpointResult result(long budgetMillis) {
+        long[] sorted = Arrays.copyOf(latencies, recorded.get());
+        Arrays.sort(sorted);
+        return new LoadTestReport.EndpointResult(sorted.length, errors.get(), percentile(sorted, 0.50),
+                percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(sorted[sorted.length - 1]), budgetMillis);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMicros(sorted[(int) Math.ceil(sorted.length * quantile) - 1]);
+    }
+}
@@ -0,0 +1,54 @@
+package pl.kurs.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+record LoadTestReport(String database, long seed, int cars, int customers, int reservations, int clients,
+                      int requests, long elapsedMillis, long throughputPerSecond, Map<String, EndpointResult> endpoints) {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+        System.out.println("[LOAD] Report written to " + file);
+    }
+
+    void printComparison(Path baselineFile) throws IOException {
+        if (!Files.exists(baselineFile)) {
+            System.out.println("[LOAD] No baseline report at " + baselineFile);
+            return;
+        }
+        JsonNode baseline = OBJECT_MAPPER.readTree(baselineFile.toFile());
+        System.out.println("[LOAD] Compared with " + baselineFile + ": throughput " +
+                           change(baseline.path("throughputPerSecond").asLong(), throughputPerSecond) + " req/s");
+        for (Map.Entry<String, EndpointResult> endpoint : endpoints.entrySet()) {
+            JsonNode previous = baseline.path("endpoints").path(endpoint.getKey());
+            if (previous.isMissingNode()) {
+                System.out.println("[LOAD] " + endpoint.getKey() + ": p99 " + endpoint.getValue().p99Micros() + " us (new)");
+                continue;
+            }
+            System.out.println("[LOAD] " + endpoint.getKey() + ": p99 " +
+                               change(previous.path("p99Micros").asLong(), endpoint.getValue().p99Micros()) + " us");
+        }
+    }
+
+    private static String change(long previous, long current) {
+        if (previous == 0) {
+            return previous + " -> " + current;
+        }
+        return previous + " -> " + current + String.format(" (%+.1f%%)", (current - previous) * 100.0 / previous);
+    }
+
+    record EndpointResult(int count, int errors, long p50Micros, long p95Micros, long p99Micros, long maxMicros,
+                          long budgetMillis) {
+
+        boolean isWithinBudget() {
+            return p99Micros <= budgetMillis * 1_000;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package pl.kurs.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import pl.kurs.dto.ReservationDto;
+import pl.kurs.service.CarAvailabilityIndex;
+import pl.kurs.service.UniquenessIndex;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+// the request plan is generated up front from -Dload.seed, so runs with the same settings send the same requests
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class MixedWorkloadLoadTest {
+    private static final int PAGE_SIZE = 20;
+    private static final int LISTED_PAGES = 50;
+    private static final int SEARCH_DAYS = 3;
+    private static final int BOOKING_WINDOW_DAYS = 365;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CarAvailabilityIndex carAvailabilityIndex;
+
+    @Autowired
+    private UniquenessIndex uniquenessIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private DatasetGenerator.Dataset dataset;
+
+    protected abstract String database();
+
+    protected abstract int defaultCars();
+
+    protected abstract int defaultCustomers();
+
+    protected abstract int defaultReservations();
+
+    protected abstract int defaultRequests();
+
+    protected abstract int defaultClients();
+
+    @BeforeAll
+    void seed() throws Exception {
+        LocalDate today = LocalDate.now();
+        dataset = new DatasetGenerator(dataSource, today.minusDays(365), today).seed(
+                Integer.getInteger("load.cars", defaultCars()),
+                Integer.getInteger("load.customers", defaultCustomers()),
+                Integer.getInteger("load.reservations", defaultReservations()));
+        carAvailabilityIndex.rebuild();
+        uniquenessIndex.rebuild();
+    }
+
+    @Test
+    void shouldKeepP99WithinBudgetUnderMixedWorkload() throws Exception {
+        //given
+        long seed = Long.getLong("load.seed", 42);
+        int requests = Integer.getInteger("load.requests", defaultRequests());
+        int clients = Integer.getInteger("load.clients", defaultClients());
+        Random random = new Random(seed);
+        List<PlannedRequest> warmup = plan(random, Integer.getInteger("load.warmup-requests", requests / 10));
+        List<PlannedRequest> plan = plan(random, requests);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        Map<WorkloadOperation, LatencyRecorder> recorders = new EnumMap<>(WorkloadOperation.class);
+        for (WorkloadOperation operation : WorkloadOperation.values()) {
+            recorders.put(operation, new LatencyRecorder(requests));
+        }
+
+        //when
+        run(client, warmup, clients, null);
+        long startedAt = System.nanoTime();
+        run(client, plan, clients, recorders);
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        //then
+        Map<String, LoadTestReport.EndpointResult> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<WorkloadOperation, LatencyRecorder> recorder : recorders.entrySet()) {
+            endpoints.put(recorder.getKey().getKey(), recorder.getValue().result(recorder.getKey().budgetMillis()));
+        }
+        LoadTestReport report = new LoadTestReport(database(), seed, dataset.cars(), dataset.customers(),
+                dataset.reservations(), clients, requests, elapsedMillis, requests * 1000L / elapsedMillis, endpoints);
+        System.out.println("[LOAD] database: " + database() + ", cars: " + dataset.cars() + ", customers: " +
+                           dataset.customers() + ", reservations: " + dataset.reservations() + ", clients: " + clients +
+                           ", requests: " + requests + ", time: " + elapsedMillis + " ms, throughput: " +
+                           report.throughputPerSecond() + " req/s");
+        endpoints.forEach((operation, result) -> System.out.println("[LOAD] " + operation + ": " + result));
+        report.write(Path.of(System.getProperty("load.report", "target/load-test-report-" + database() + ".json")));
+        String baseline = System.getProperty("load.baseline");
+        if (baseline != null) {
+            report.printComparison(Path.of(baseline));
+        }
+
+        SoftAssertions softly = new SoftAssertions();
+        endpoints.forEach((operation, result) -> {
+            softly.assertThat(result.errors()).as(operation + " unexpected responses").isZero();
+            softly.assertThat(result.isWithinBudget())
+                    .as(operation + " p99 " + result.p99Micros() + " us over budget of " + result.budgetMillis() + " ms")
+                    .isTrue();
+        });
+        softly.assertAll();
+    }
+
+    private void run(HttpClient client, List<PlannedRequest> plan, int clients,
+                     Map<WorkloadOperation, LatencyRecorder> recorders) throws Exception {
+        Semaphore permits = new Semaphore(clients);
+        List<Future<?>> futures = new ArrayList<>(plan.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (PlannedRequest plannedRequest : plan) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        send(client, plannedRequest, recorders);
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        }
+    }
+
+    private void send(HttpClient client, PlannedRequest plannedRequest, Map<WorkloadOperation, LatencyRecorder> recorders) {
+        long sentAt = System.nanoTime();
+        boolean expected;
+        try {
+            HttpResponse<Void> response = client.send(plannedRequest.request(), HttpResponse.BodyHandlers.discarding());
+            expected = plannedRequest.operation().isExpected(response.statusCode());
+        } catch (Exception exception) {
+            expected = false;
+        }
+        if (recorders != null) {
+            recorders.get(plannedRequest.operation()).record(System.nanoTime() - sentAt, expected);
+        }
+    }
+
+    private List<PlannedRequest> plan(Random random, int requests) throws Exception {
+        List<PlannedRequest> plan = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            WorkloadOperation operation = WorkloadOperation.pick(random.nextInt(100));
+            plan.add(new PlannedRequest(operation, request(operation, random)));
+        }
+        return plan;
+    }
+
+    private HttpRequest request(WorkloadOperation operation, Random random) throws Exception {
+        return switch (operation) {
+            case SEARCH -> {
+                int filter = random.nextInt(1_000);
+                LocalDate startDate = dataset.firstDay().plusDays(random.nextInt(
+                        (int) (dataset.horizon().toEpochDay() - dataset.firstDay().toEpochDay())));
+                yield get("/cars/search?page=0&size=" + PAGE_SIZE + "&producer=Producer" + (filter % 50) +
+                          "&model=Model" + (filter % 20) + "&startDate=" + startDate +
+                          "&endDate=" + startDate.plusDays(SEARCH_DAYS));
+            }
+            case LIST -> get("/reservations?page=" + random.nextInt(LISTED_PAGES) + "&size=" + PAGE_SIZE);
+            case BOOK -> {
+                LocalDate startDate = dataset.horizon().plusDays(random.nextInt(BOOKING_WINDOW_DAYS));
+                ReservationDto reservation = new ReservationDto(dataset.firstCarId() + random.nextInt(dataset.cars()),
+                        dataset.firstCustomerId() + random.nextInt(dataset.customers()), startDate,
+                        startDate.plusDays(1 + random.nextInt(5)), null, "RESERVED");
+                yield HttpRequest.newBuilder(uri("/reservations"))
+                        .header("Content-Type", "application/json")
+                        .header("Accept", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(reservation)))
+                        .build();
+            }
+            case CANCEL -> {
+                long reservationId = dataset.firstReservationId() + (long) (random.nextDouble() * dataset.reservations());
+                yield HttpRequest.newBuilder(uri("/reservations/" + reservationId + "/cancellations"))
+                        .header("Accept", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build();
+            }
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private record PlannedRequest(WorkloadOperation operation, HttpRequest request) {
+    }
+}
@@ -0,0 +1,109 @@
+package pl.kurs.load;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import pl.kurs.repository.CarAvailabilityQueries;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// every plan is written to target/explain/availability-<variant>.txt, the execution times to availability-timings.txt
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "tracing.enabled=false"})
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "load.postgres", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PostgresAvailabilityPlanTest {
+    private static final Path SNAPSHOTS = Path.of("target", "explain");
+    private static final Pattern EXECUTION_TIME = Pattern.compile("Execution Time: ([\\d.]+) ms");
+    private static final String PRODUCER = "Producer7";
+    private static final int SEARCH_DAYS = 3;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @BeforeAll
+    void seed() throws Exception {
+        LocalDate today = LocalDate.now();
+        DatasetGenerator.Dataset dataset = new DatasetGenerator(dataSource, today.minusDays(365), today).seed(
+                Integer.getInteger("load.cars", 100_000),
+                Integer.getInteger("load.customers", 1_000_000),
+                Integer.getInteger("load.reservations", 10_000_000));
+        startDate = dataset.firstDay().plusDays(ChronoUnit.DAYS.between(dataset.firstDay(), dataset.horizon()) / 2);
+        endDate = startDate.plusDays(SEARCH_DAYS);
+    }
+
+    @Test
+    void shouldAntiJoinOnPeriodRange() throws IOException {
+        //given
+        Map<String, Object> parameters = Map.of("producer", PRODUCER, "startDate", startDate, "endDate", endDate);
+
+        //when
+        String notIn = explainAnalyze("not-in", """
+                SELECT c.* FROM cars c
+                WHERE c.producer = :producer
+                  AND c.id NOT IN (SELECT r.car_id FROM reservations r
+                                   WHERE r.status IN ('RESERVED', 'RENTED')
+                                     AND r.start_date < :endDate AND r.end_date > :startDate)
+                LIMIT 20
+                """, parameters);
+        String byDates = explainAnalyze("not-exists-dates", """
+                SELECT c.* FROM cars c
+                WHERE c.producer = :producer
+                  AND NOT EXISTS (SELECT 1 FROM reservations r
+                                  WHERE r.car_id = c.id AND r.status IN ('RESERVED', 'RENTED')
+                                    AND r.start_date < :endDate AND r.end_date > :startDate)
+                LIMIT 20
+                """, parameters);
+        String byPeriod = explainAnalyze("not-exists-period",
+                "SELECT c.* FROM cars c" + CarAvailabilityQueries.availableCarsWhere(true, false) + " LIMIT 20", parameters);
+
+        //then
+        Files.writeString(SNAPSHOTS.resolve("availability-timings.txt"), "NOT IN " + executionTime(notIn) + " ms\n" +
+                          "NOT EXISTS on dates " + executionTime(byDates) + " ms\n" +
+                          "NOT EXISTS on period " + executionTime(byPeriod) + " ms\n");
+        assertThat(byPeriod).contains("Anti Join", "idx_reservations_active_car_period").doesNotContain("SubPlan");
+    }
+
+    private String explainAnalyze(String variant, String sql, Map<String, Object> parameters) throws IOException {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, parameters, String.class));
+        Files.createDirectories(SNAPSHOTS);
+        Files.writeString(SNAPSHOTS.resolve("availability-" + variant + ".txt"), sql + "\n" + plan + "\n");
+        return plan;
+    }
+
+    private static double executionTime(String plan) {
+        Matcher matcher = EXECUTION_TIME.matcher(plan);
+        assertThat(matcher.find()).as("execution time in plan").isTrue();
+        return Double.parseDouble(matcher.group(1));
+    }
+}
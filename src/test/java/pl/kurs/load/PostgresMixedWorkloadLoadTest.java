@@ -0,0 +1,50 @@
+package pl.kurs.load;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "tracing.enabled=false"})
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "load.postgres", matches = "true")
+class PostgresMixedWorkloadLoadTest extends MixedWorkloadLoadTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Override
+    protected String database() {
+        return "postgres";
+    }
+
+    @Override
+    protected int defaultCars() {
+        return 100_000;
+    }
+
+    @Override
+    protected int defaultCustomers() {
+        return 1_000_000;
+    }
+
+    @Override
+    protected int defaultReservations() {
+        return 10_000_000;
+    }
+
+    @Override
+    protected int defaultRequests() {
+        return 20_000;
+    }
+
+    @Override
+    protected int defaultClients() {
+        return 64;
+    }
+}
@@ -0,0 +1,47 @@
+package pl.kurs.load;
+
+import java.util.Set;
+
+enum WorkloadOperation {
+    SEARCH("search", 50, 500, Set.of(200)),
+    LIST("list", 25, 500, Set.of(200)),
+    BOOK("book", 15, 1_000, Set.of(201, 404)),
+    CANCEL("cancel", 10, 500, Set.of(200));
+
+    private static final int TOTAL_WEIGHT = 100;
+
+    private final String key;
+    private final int weight;
+    private final long defaultBudgetMillis;
+    private final Set<Integer> expectedStatuses;
+
+    WorkloadOperation(String key, int weight, long defaultBudgetMillis, Set<Integer> expectedStatuses) {
+        this.key = key;
+        this.weight = weight;
+        this.defaultBudgetMillis = defaultBudgetMillis;
+        this.expectedStatuses = expectedStatuses;
+    }
+
+    static WorkloadOperation pick(int roll) {
+        int bound = roll % TOTAL_WEIGHT;
+        for (WorkloadOperation operation : values()) {
+            if (bound < operation.weight) {
+                return operation;
+            }
+            bound -= operation.weight;
+        }
+        throw new IllegalStateException("Weights must add up to " + TOTAL_WEIGHT);
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    long budgetMillis() {
+        return Long.getLong("load.slo." + key + "-p99-ms", defaultBudgetMillis);
+    }
+
+    boolean isExpected(int status) {
+        return expectedStatuses.contains(status);
+    }
+}
@@ -0,0 +1,182 @@
+package pl.kurs.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import pl.kurs.entity.Car;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// checks the hot queries use the indexes from changesets 5-7 and 9-10; needs Docker
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexUsageTest {
+    private static final int CARS = 5_000;
+    private static final int PEOPLE = 5_000;
+    private static final int RESERVATIONS = 200_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO cars (producer, model, year_of_production, registration_number, price_per_day)
+                SELECT 'Producer' || (i % 50), 'Model' || (i % 20), 2000 + i % 25, 'IDX' || i, 100
+                FROM generate_series(1, ?) i
+                """, CARS);
+        jdbcTemplate.update("""
+                INSERT INTO customers (first_name, last_name, e_mail, phone_number, driving_license_number)
+                SELECT 'First' || (i % 500), 'Last' || (i % 1000), 'idx' || i || '@mail.com', 'C' || i, 'L' || i
+                FROM generate_series(1, ?) i
+                """, PEOPLE);
+        jdbcTemplate.update("""
+                INSERT INTO employees (first_name, last_name, position_id, phone_number, e_mail)
+                SELECT 'First' || (i % 500), 'Last' || (i % 1000), (SELECT min(id) FROM positions), 'E' || i, 'emp' || i || '@mail.com'
+                FROM generate_series(1, ?) i
+                """, PEOPLE);
+        jdbcTemplate.update("""
+                INSERT INTO reservations (car_id, customer_id, start_date, end_date, total_amount, status)
+                SELECT c.id, cu.id, ?::date + i % 700, ?::date + i % 700 + 1 + i % 5, 500,
+                       (ARRAY['RESERVED', 'RENTED', 'FINISHED', 'CANCELED'])[1 + i % 4]
+                FROM generate_series(1, ?) i
+                JOIN cars c ON c.registration_number = 'IDX' || (1 + i % ?)
+                JOIN customers cu ON cu.e_mail = 'idx' || (1 + i % ?) || '@mail.com'
+                """, FIRST_DAY, FIRST_DAY, RESERVATIONS, CARS, PEOPLE);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void shouldUseCarDatesIndexForOverlapCheck() {
+        //when
+        String plan = explain("""
+                SELECT count(*) FROM reservations r
+                WHERE r.car_id = ? AND r.start_date <= ? AND r.end_date >= ?
+                """, carId(), FIRST_DAY.plusDays(100), FIRST_DAY.plusDays(90));
+
+        //then
+        assertThat(plan).contains("idx_reservations_car_dates");
+    }
+
+    @Test
+    void shouldUsePartialIndexForActiveReservationsOfCar() {
+        //when
+        String plan = explain("""
+                SELECT count(*) FROM reservations r
+                WHERE r.car_id = ? AND r.status IN ('RESERVED', 'RENTED') AND r.start_date < ? AND r.end_date > ?
+                """, carId(), FIRST_DAY.plusDays(100), FIRST_DAY.plusDays(90));
+
+        //then
+        assertThat(plan).contains("idx_reservations_active_car_dates");
+    }
+
+    @Test
+    void shouldUseIndexesForAvailableCarsSearch() {
+        //when
+        String plan = explain("""
+                SELECT c.id FROM cars c
+                WHERE c.producer = ? AND c.model = ?
+                  AND NOT EXISTS (SELECT 1 FROM reservations r
+                                  WHERE r.car_id = c.id AND r.status IN ('RESERVED', 'RENTED')
+                                    AND r.start_date < ? AND r.end_date > ?)
+                """, "Producer7", "Model7", FIRST_DAY.plusDays(100), FIRST_DAY.plusDays(90));
+
+        //then
+        assertThat(plan).contains("idx_cars_producer_model", "idx_reservations_active_car_dates");
+    }
+
+    @Test
+    void shouldAntiJoinOnPeriodRangeIndexForAvailableCarsSearch() {
+        //when
+        String plan = explain("""
+                SELECT c.id FROM cars c
+                WHERE c.producer = ? AND c.model = ?
+                  AND NOT EXISTS (SELECT 1 FROM reservations r
+                                  WHERE r.car_id = c.id AND r.status IN ('RESERVED', 'RENTED')
+                                    AND r.period && daterange(?, ?, '[]')
+                                    AND r.start_date < ? AND r.end_date > ?)
+                """, "Producer7", "Model7", FIRST_DAY.plusDays(90), FIRST_DAY.plusDays(100),
+                FIRST_DAY.plusDays(100), FIRST_DAY.plusDays(90));
+
+        //then
+        assertThat(plan).contains("Anti Join", "idx_reservations_active_car_period").doesNotContain("SubPlan");
+    }
+
+    @Test
+    void shouldFindSameAvailableCarsWithPeriodRangeAsWithSpecification() {
+        //given
+        Pageable pageable = PageRequest.of(0, CARS);
+        LocalDate startDate = FIRST_DAY.plusDays(90);
+
+        //when then
+        for (int length = 0; length < 4; length++) {
+            LocalDate endDate = startDate.plusDays(length);
+            Page<Car> byPeriod = carRepository.findAvailableCarsByPeriod("Producer7", null, startDate, endDate, pageable);
+            Page<Car> bySpecification = carRepository.findAvailableCars("Producer7", null, startDate, endDate, pageable);
+            assertThat(byPeriod.getContent()).extracting(Car::getId)
+                    .containsExactlyInAnyOrderElementsOf(bySpecification.map(Car::getId).getContent());
+            assertThat(byPeriod.getTotalElements()).isEqualTo(bySpecification.getTotalElements());
+        }
+    }
+
+    @Test
+    void shouldUseStartDateStatusIndexForReminders() {
+        //when
+        String plan = explain("""
+                SELECT r.id FROM reservations r
+                WHERE r.start_date = ? AND r.status IN ('RESERVED')
+                """, FIRST_DAY.plusDays(30));
+
+        //then
+        assertThat(plan).contains("idx_reservations_start_date_status");
+    }
+
+    @Test
+    void shouldUseNameIndexForCustomerSearch() {
+        //when
+        String plan = explain("SELECT c.id FROM customers c WHERE c.first_name = ? AND c.last_name = ?",
+                "First7", "Last7");
+
+        //then
+        assertThat(plan).contains("idx_customers_last_first_name");
+    }
+
+    @Test
+    void shouldUseNameIndexForEmployeeSearch() {
+        //when
+        String plan = explain("SELECT e.id FROM employees e WHERE e.first_name = ? AND e.last_name = ?",
+                "First7", "Last7");
+
+        //then
+        assertThat(plan).contains("idx_employees_last_first_name");
+    }
+
+    private long carId() {
+        return jdbcTemplate.queryForObject("SELECT id FROM cars WHERE registration_number = 'IDX42'", Long.class);
+    }
+
+    private String explain(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+}
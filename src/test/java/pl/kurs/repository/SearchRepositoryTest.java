@@ -0,0 +1,148 @@
+package pl.kurs.repository;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import pl.kurs.entity.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SearchRepositoryTest {
+    private static final Pageable PAGE = PageRequest.of(0, 100);
+    private static final LocalDate START_DATE = LocalDate.of(2031, 3, 1);
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private Car bookedCar;
+    private Car freeCar;
+
+    @BeforeEach
+    void setUp() {
+        bookedCar = carRepository.save(new Car("SearchA", "X", 2020, "SR 00001", new BigDecimal(100)));
+        freeCar = carRepository.save(new Car("SearchA", "Y", 2021, "SR 00002", new BigDecimal(100)));
+        carRepository.save(new Car("SearchB", "X", 2022, "SR 00003", new BigDecimal(100)));
+
+        Customer customer = customerRepository.save(new Customer("Searchjan", "Searchkowalski", "s.jan1@mail.com", "600000001", "SRC 00001"));
+        customerRepository.save(new Customer("Searchjan", "Searchnowak", "s.jan2@mail.com", "600000002", "SRC 00002"));
+        customerRepository.save(new Customer("Searchola", "Searchnowak", "s.ola@mail.com", "600000003", "SRC 00003"));
+
+        Position position = positionRepository.save(new Position("SearchPosition"));
+        employeeRepository.save(new Employee("Searchjan", "Searchkowalski", position, "610000001", "e.jan1@mail.com"));
+        employeeRepository.save(new Employee("Searchola", "Searchnowak", position, "610000002", "e.ola@mail.com"));
+
+        reservationRepository.save(new Reservation(bookedCar, customer, START_DATE, START_DATE.plusDays(3),
+                new BigDecimal(300), Status.RESERVED));
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {
+            "SearchA, X, 1",
+            "SearchA, null, 2",
+            "null, X, 2",
+            "null, null, 3"
+    })
+    void shouldFilterCarsOnlyByProvidedParameters(String producer, String model, int expectedCount) {
+        //when
+        List<Car> result = searchCars(producer, model);
+
+        //then
+        assertThat(result).hasSize(expectedCount)
+                .allMatch(car -> producer == null || car.getProducer().equals(producer))
+                .allMatch(car -> model == null || car.getModel().equals(model));
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {
+            "Searchjan, Searchnowak, 1",
+            "Searchjan, null, 2",
+            "null, Searchnowak, 2",
+            "null, null, 3"
+    })
+    void shouldFilterCustomersOnlyByProvidedParameters(String firstName, String lastName, int expectedCount) {
+        //when
+        List<Customer> result = customerRepository.findAllByFirstNameAndLastName(firstName, lastName, PAGE).getContent().stream()
+                .filter(customer -> customer.getFirstName().startsWith("Search"))
+                .toList();
+
+        //then
+        assertThat(result).hasSize(expectedCount)
+                .allMatch(customer -> firstName == null || customer.getFirstName().equals(firstName))
+                .allMatch(customer -> lastName == null || customer.getLastName().equals(lastName));
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {
+            "Searchola, Searchnowak, SearchPosition, 1",
+            "Searchjan, null, null, 1",
+            "null, null, SearchPosition, 2",
+            "null, null, null, 2"
+    })
+    void shouldFilterEmployeesOnlyByProvidedParameters(String firstName, String lastName, String position, int expectedCount) {
+        //when
+        List<Employee> result = employeeRepository.findAllByFirstNameAndLastNameAndPosition(firstName, lastName, position, PAGE)
+                .getContent().stream()
+                .filter(employee -> employee.getFirstName().startsWith("Search"))
+                .toList();
+
+        //then
+        assertThat(result).hasSize(expectedCount)
+                .allMatch(employee -> position == null || employee.getPosition().getName().equals(position));
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {"SearchA", "null"})
+    void shouldSkipCarsBookedInRequestedPeriod(String producer) {
+        //when
+        List<Car> result = carRepository.findAvailableCars(producer, null, START_DATE.plusDays(1), START_DATE.plusDays(2), PAGE)
+                .getContent();
+
+        //then
+        assertThat(result).contains(freeCar).doesNotContain(bookedCar);
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {"X", "null"})
+    void shouldSkipExcludedCarIds(String model) {
+        //when
+        List<Car> result = carRepository.findByProducerAndModelExcludingIds("SearchA", model, Set.of(bookedCar.getId()), PAGE)
+                .getContent();
+
+        //then
+        assertThat(result).doesNotContain(bookedCar)
+                .allMatch(car -> model == null || Objects.equals(car.getModel(), model));
+    }
+
+    private List<Car> searchCars(String producer, String model) {
+        return carRepository.findByProducerAndModel(producer, model, PAGE).getContent().stream()
+                .filter(car -> car.getProducer().startsWith("Search"))
+                .toList();
+    }
+}
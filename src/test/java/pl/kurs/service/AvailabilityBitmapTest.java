@@ -0,0 +1,68 @@
+package pl.kurs.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityBitmapTest {
+
+    @Test
+    void shouldMarkRangeWithinSingleWord() {
+        //given
+        AvailabilityBitmap bitmap = new AvailabilityBitmap(2, 10);
+
+        //when
+        bitmap.markBusy(1, 2, 5);
+
+        //then
+        assertThat(bitmap.rowToString(0)).isEqualTo("0000000000");
+        assertThat(bitmap.rowToString(1)).isEqualTo("0011100000");
+    }
+
+    @Test
+    void shouldMarkRangeSpanningSeveralWords() {
+        //given
+        AvailabilityBitmap bitmap = new AvailabilityBitmap(3, 200);
+
+        //when
+        bitmap.markBusy(1, 60, 130);
+
+        //then
+        assertThat(bitmap.isBusy(1, 59)).isFalse();
+        assertThat(bitmap.isBusy(1, 60)).isTrue();
+        assertThat(bitmap.isBusy(1, 64)).isTrue();
+        assertThat(bitmap.isBusy(1, 128)).isTrue();
+        assertThat(bitmap.isBusy(1, 129)).isTrue();
+        assertThat(bitmap.isBusy(1, 130)).isFalse();
+        assertThat(bitmap.rowToString(1).chars().filter(day -> day == '1').count()).isEqualTo(70);
+        assertThat(bitmap.rowToString(0)).doesNotContain("1");
+        assertThat(bitmap.rowToString(2)).doesNotContain("1");
+    }
+
+    @Test
+    void shouldMarkRangeEndingOnWordBoundary() {
+        //given
+        AvailabilityBitmap bitmap = new AvailabilityBitmap(1, 128);
+
+        //when
+        bitmap.markBusy(0, 0, 64);
+
+        //then
+        assertThat(bitmap.isBusy(0, 63)).isTrue();
+        assertThat(bitmap.isBusy(0, 64)).isFalse();
+    }
+
+    @Test
+    void shouldClampRangesOutsideBitmap() {
+        //given
+        AvailabilityBitmap bitmap = new AvailabilityBitmap(1, 5);
+
+        //when
+        bitmap.markBusy(0, -3, 2);
+        bitmap.markBusy(0, 4, 40);
+        bitmap.markBusy(0, 3, 3);
+
+        //then
+        assertThat(bitmap.rowToString(0)).isEqualTo("11001");
+    }
+}
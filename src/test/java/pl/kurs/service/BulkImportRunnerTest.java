@@ -0,0 +1,64 @@
+package pl.kurs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+import pl.kurs.dto.ImportReportDto;
+import pl.kurs.dto.ImportRowErrorDto;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImportRunnerTest {
+
+    @Mock
+    private BulkImportService bulkImportServiceMock;
+
+    @Mock
+    private ConfigurableApplicationContext contextMock;
+
+    private BulkImportRunner bulkImportRunner;
+
+    @BeforeEach
+    void setUp() {
+        bulkImportRunner = new BulkImportRunner(bulkImportServiceMock, contextMock);
+    }
+
+    @Test
+    void shouldImportGivenFilesAndCloseApplication(@TempDir Path directory) throws Exception {
+        //given
+        Path cars = Files.writeString(directory.resolve("cars.csv"), "producer,model,yearOfProduction,registrationNumber,pricePerDay\n");
+        Path customers = Files.writeString(directory.resolve("customers.csv"), "firstName,lastName,email,phoneNumber,drivingLicenseNumber\n");
+        when(bulkImportServiceMock.importCsv(any(ImportType.class), any())).thenReturn(
+                new ImportReportDto("cars", 1, 0, 1, 1, 1000, List.of(new ImportRowErrorDto(2, "Registration number already exists"))),
+                new ImportReportDto("customers", 0, 0, 0, 1, 0, List.of()));
+
+        //when
+        bulkImportRunner.run(new DefaultApplicationArguments("--import-cars=" + cars, "--import-customers=" + customers));
+
+        //then
+        verify(bulkImportServiceMock).importCsv(eq(ImportType.CARS), any());
+        verify(bulkImportServiceMock).importCsv(eq(ImportType.CUSTOMERS), any());
+        verify(contextMock).close();
+    }
+
+    @Test
+    void shouldStartNormallyWithoutImportOptions() throws Exception {
+        //when
+        bulkImportRunner.run(new DefaultApplicationArguments("--server.port=8081"));
+
+        //then
+        verifyNoInteractions(bulkImportServiceMock, contextMock);
+    }
+}
@@ -0,0 +1,193 @@
+package pl.kurs.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.kurs.dto.ImportReportDto;
+import pl.kurs.dto.ImportRowErrorDto;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.exception.InvalidDataAccessApiUsageException;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CustomerRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the import commits on its own connection, so the tests delete their rows instead of rolling back
+@SpringBootTest(properties = "import.chunk-size=2")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class BulkImportServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private UniquenessIndex uniquenessIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM cars WHERE registration_number LIKE 'IMP%'");
+        jdbcTemplate.update("DELETE FROM customers WHERE e_mail LIKE 'import%'");
+        uniquenessIndex.rebuild();
+    }
+
+    @Test
+    void shouldImportValidCarsAndReportRejectedRows() throws Exception {
+        //given
+        carRepository.save(new Car("BMW", "M5", 2020, "IMP 00001", new BigDecimal("500")));
+        String csv = """
+                producer,model,yearOfProduction,registrationNumber,pricePerDay
+                Audi,A4,2021,IMP 10001,250.00
+                "Skoda, a.s.",Octavia,2022,IMP 10002,180
+                BMW,X3,1800,IMP 10003,300
+                BMW,X5,2023,IMP 10001,400
+
+                Toyota,Yaris,2019,IMP 00001,120
+                Fiat,Panda,abc,IMP 10004,90
+                Kia,Ceed,2020,IMP 10005
+                """;
+
+        //when then
+        mockMvc.perform(post("/cars/imports")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("cars"))
+                .andExpect(jsonPath("$.rows").value(7))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(5))
+                .andExpect(jsonPath("$.errors", hasSize(5)))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[0].message").value("Year of manufacture must be between 2000 and current year"))
+                .andExpect(jsonPath("$.errors[1].line").value(5))
+                .andExpect(jsonPath("$.errors[1].message").value("Registration number already exists in line 2"))
+                .andExpect(jsonPath("$.errors[2].line").value(7))
+                .andExpect(jsonPath("$.errors[2].message").value("Registration number already exists"))
+                .andExpect(jsonPath("$.errors[3].message").value("Year of production must be a number"))
+                .andExpect(jsonPath("$.errors[4].message").value("Expected 5 values but found 4"));
+
+        assertThat(carRepository.findExistingRegistrationNumbers(List.of("IMP 10001", "IMP 10002")))
+                .containsExactlyInAnyOrder("IMP 10001", "IMP 10002");
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, "IMP 10002")).isTrue();
+    }
+
+    @Test
+    void shouldImportCustomersCheckingEveryUniqueKey() throws IOException {
+        //given
+        customerRepository.save(new Customer("Jan", "Kowalski", "import.jan@mail.com", "700000001", "IMP-DL-1"));
+        String csv = """
+                \uFEFFfirstName,lastName,email,phoneNumber,drivingLicenseNumber
+                Anna,Nowak,import.anna@mail.com,700000002,IMP-DL-2
+                Piotr,Lis,import.piotr@mail.com,700000001,IMP-DL-3
+                Ewa,Kot,import.anna@mail.com,700000004,IMP-DL-2
+                Adam,Wilk,import.adam@mail.com,12345,IMP-DL-5
+                Olga,"Zając ""Junior""\",import.olga@mail.com,700000006,IMP-DL-6
+                """;
+
+        //when
+        ImportReportDto report = bulkImportService.importCsv(ImportType.CUSTOMERS, stream(csv));
+
+        //then
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(ImportRowErrorDto::getLine).containsExactly(3L, 4L, 5L);
+        assertThat(report.getErrors()).extracting(ImportRowErrorDto::getMessage).containsExactly(
+                "Customer phone number already exists",
+                "Customer e-mail already exists in line 2; Driving License number already exists in line 2",
+                "Phone number must consist of 9 digits");
+        assertThat(customerRepository.findExistingEmails(List.of("import.anna@mail.com", "import.olga@mail.com")))
+                .hasSize(2);
+        assertThat(customerRepository.findExistingDrivingLicenseNumbers(List.of("IMP-DL-6"))).containsExactly("IMP-DL-6");
+    }
+
+    @Test
+    void shouldKeepIdSequenceAheadOfImportedRows() throws IOException {
+        //given
+        String csv = """
+                producer,model,yearOfProduction,registrationNumber,pricePerDay
+                Audi,A4,2021,IMP 20001,250.00
+                """;
+        bulkImportService.importCsv(ImportType.CARS, stream(csv));
+
+        //when
+        Car car = carRepository.saveAndFlush(new Car("Audi", "A6", 2022, "IMP 20002", new BigDecimal("300")));
+
+        //then
+        assertThat(carRepository.findAll()).extracting(Car::getRegistrationNumber).contains("IMP 20001", "IMP 20002");
+        assertThat(car.getId()).isNotNull();
+    }
+
+    @Test
+    void shouldDrawOneIdBlockPerFiftyImportedRows() throws Exception {
+        //given
+        StringBuilder csv = new StringBuilder("producer,model,yearOfProduction,registrationNumber,pricePerDay\n");
+        for (int i = 0; i < 60; i++) {
+            csv.append("Audi,A4,2021,IMP ").append(30000 + i).append(",250.00\n");
+        }
+
+        //when
+        bulkImportService.importCsv(ImportType.CARS, stream(csv.toString()));
+
+        //then
+        List<Long> ids = carRepository.findAll().stream()
+                .filter(car -> car.getRegistrationNumber().startsWith("IMP 3"))
+                .map(Car::getId)
+                .sorted()
+                .toList();
+        assertThat(ids).hasSize(60).doesNotHaveDuplicates();
+        assertThat(ids.getLast() - ids.getFirst()).isLessThan(150);
+    }
+
+    @Test
+    void shouldRejectFileWithUnexpectedHeader() throws Exception {
+        //when then
+        mockMvc.perform(post("/customers/imports")
+                        .contentType("text/csv")
+                        .content("name,email\nJan,jan@mail.com\n"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectUnclosedQuote() {
+        //when then
+        assertThatThrownBy(() -> BulkImportService.parseLine("Audi,\"A4,2021"))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasMessage("Quoted value is not closed");
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
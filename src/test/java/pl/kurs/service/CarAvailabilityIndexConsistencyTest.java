@@ -0,0 +1,83 @@
+package pl.kurs.service;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.entity.Reservation;
+import pl.kurs.entity.Status;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CustomerRepository;
+import pl.kurs.repository.ReservationRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CarAvailabilityIndexConsistencyTest {
+    private static final LocalDate BASE = LocalDate.of(2025, 7, 1);
+
+    @Autowired
+    private CarAvailabilityIndex carAvailabilityIndex;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @AfterTransaction
+    void resetIndex() {
+        carAvailabilityIndex.rebuild();
+    }
+
+    @Test
+    void shouldReturnSameCarsAsSqlQueryForEveryWindow() {
+        //given
+        Customer customer = customerRepository.save(new Customer("Jan", "Kowalski", "j.kowal@gmail.com", "505606707", "PPX 12512"));
+        List<Car> cars = List.of(
+                carRepository.save(new Car("BMW", "X3", 2022, "WA 10001", new BigDecimal(300))),
+                carRepository.save(new Car("BMW", "X5", 2023, "WA 10002", new BigDecimal(400))),
+                carRepository.save(new Car("Audi", "A4", 2021, "WA 10003", new BigDecimal(250))),
+                carRepository.save(new Car("Audi", "A6", 2024, "WA 10004", new BigDecimal(350))));
+        reservationRepository.save(new Reservation(cars.get(0), customer, BASE, BASE.plusDays(5), new BigDecimal(1500), Status.RESERVED));
+        reservationRepository.save(new Reservation(cars.get(0), customer, BASE.plusDays(20), BASE.plusDays(50), new BigDecimal(9000), Status.RENTED));
+        reservationRepository.save(new Reservation(cars.get(1), customer, BASE.plusDays(3), BASE.plusDays(4), new BigDecimal(400), Status.CANCELED));
+        reservationRepository.save(new Reservation(cars.get(2), customer, BASE.plusDays(4), BASE.plusDays(10), new BigDecimal(1500), Status.FINISHED));
+        reservationRepository.save(new Reservation(cars.get(3), customer, BASE.plusDays(5), BASE.plusDays(7), new BigDecimal(700), Status.RESERVED));
+        carAvailabilityIndex.rebuild();
+
+        //when then
+        for (int startOffset = -2; startOffset < 55; startOffset++) {
+            for (int length = 0; length < 8; length++) {
+                LocalDate start = BASE.plusDays(startOffset);
+                LocalDate end = start.plusDays(length);
+
+                List<Long> fromIndex = carService.getByProducerAndModelAndAvailable(null, null, start, end, 0, 100)
+                        .map(Car::getId).getContent();
+                List<Long> fromSql = carRepository.findAvailableCars(null, null, start, end, PageRequest.of(0, 100))
+                        .map(Car::getId).getContent();
+
+                assertThat(fromIndex)
+                        .as("available cars between %s and %s", start, end)
+                        .containsExactlyInAnyOrderElementsOf(fromSql);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package pl.kurs.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import pl.kurs.dto.ReservationPeriodDto;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.entity.Reservation;
+import pl.kurs.entity.Status;
+import pl.kurs.repository.ReservationRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CarAvailabilityIndexTest {
+    private static final LocalDate FROM = LocalDate.of(2025, 7, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 7, 10);
+
+    @Mock
+    private ReservationRepository reservationRepositoryMock;
+
+    @InjectMocks
+    private CarAvailabilityIndex carAvailabilityIndex;
+
+    @Test
+    void shouldNotBeReadyBeforeRebuild() {
+        //when then
+        assertThat(carAvailabilityIndex.isReady()).isFalse();
+    }
+
+    @Test
+    void shouldLoadActivePeriodsOnRebuild() {
+        //given
+        when(reservationRepositoryMock.findActivePeriods()).thenReturn(List.of(
+                new ReservationPeriodDto(1L, 1L, FROM, TO),
+                new ReservationPeriodDto(2L, 2L, TO.plusDays(5), TO.plusDays(8))));
+
+        //when
+        carAvailabilityIndex.rebuild();
+
+        //then
+        assertThat(carAvailabilityIndex.isReady()).isTrue();
+        assertThat(carAvailabilityIndex.findBookedCarIds(FROM.plusDays(2), FROM.plusDays(3))).containsExactly(1L);
+        assertThat(carAvailabilityIndex.findBookedCarIds(TO.plusDays(1), TO.plusDays(6))).containsExactly(2L);
+        assertThat(carAvailabilityIndex.findBookedCarIds(FROM, TO.plusDays(20))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void shouldTreatTouchingPeriodsAsNotOverlapping() {
+        //given
+        when(reservationRepositoryMock.findActivePeriods()).thenReturn(List.of(new ReservationPeriodDto(1L, 1L, FROM, TO)));
+        carAvailabilityIndex.rebuild();
+
+        //when then
+        assertThat(carAvailabilityIndex.isBooked(1L, TO, TO.plusDays(3))).isFalse();
+        assertThat(carAvailabilityIndex.isBooked(1L, FROM.minusDays(3), FROM)).isFalse();
+        assertThat(carAvailabilityIndex.isBooked(1L, TO.minusDays(1), TO.plusDays(3))).isTrue();
+    }
+
+    @Test
+    void shouldFindLongPeriodStartingBeforeSearchedRange() {
+        //given
+        when(reservationRepositoryMock.findActivePeriods()).thenReturn(List.of(
+                new ReservationPeriodDto(1L, 1L, FROM, FROM.plusDays(60)),
+                new ReservationPeriodDto(2L, 1L, FROM.plusDays(70), FROM.plusDays(72))));
+        carAvailabilityIndex.rebuild();
+
+        //when then
+        assertThat(carAvailabilityIndex.isBooked(1L, FROM.plusDays(40), FROM.plusDays(41))).isTrue();
+        assertThat(carAvailabilityIndex.isBooked(1L, FROM.plusDays(62), FROM.plusDays(65))).isFalse();
+    }
+
+    @Test
+    void shouldRegisterAndMoveReservation() {
+        //given
+        Reservation reservation = createTestReservation(Status.RESERVED);
+
+        //when
+        carAvailabilityIndex.register(reservation);
+        reservation.setStartDate(TO.plusDays(10));
+        reservation.setEndDate(TO.plusDays(12));
+        carAvailabilityIndex.register(reservation);
+
+        //then
+        assertThat(carAvailabilityIndex.isBooked(1L, FROM, TO)).isFalse();
+        assertThat(carAvailabilityIndex.isBooked(1L, TO.plusDays(10), TO.plusDays(11))).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreInactiveReservationOnRegister() {
+        //given
+        Reservation reservation = createTestReservation(Status.FINISHED);
+
+        //when
+        carAvailabilityIndex.register(reservation);
+
+        //then
+        assertThat(carAvailabilityIndex.isBooked(1L, FROM, TO)).isFalse();
+    }
+
+    @Test
+    void shouldRemoveReservationOnUnregister() {
+        //given
+        carAvailabilityIndex.register(createTestReservation(Status.RENTED));
+
+        //when
+        carAvailabilityIndex.unregister(1L);
+
+        //then
+        assertThat(carAvailabilityIndex.findBookedCarIds(FROM, TO)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepFindingShortPeriodsAfterLongestIsRemoved() {
+        //given
+        when(reservationRepositoryMock.findActivePeriods()).thenReturn(List.of(
+                new ReservationPeriodDto(1L, 1L, FROM, FROM.plusDays(60)),
+                new ReservationPeriodDto(2L, 1L, FROM.plusDays(70), FROM.plusDays(72))));
+        carAvailabilityIndex.rebuild();
+
+        //when
+        carAvailabilityIndex.unregister(1L);
+
+        //then
+        assertThat(carAvailabilityIndex.isBooked(1L, FROM.plusDays(40), FROM.plusDays(41))).isFalse();
+        assertThat(carAvailabilityIndex.isBooked(1L, FROM.plusDays(71), FROM.plusDays(75))).isTrue();
+    }
+
+    @Test
+    void shouldStayNotReadyWhenDisabled() {
+        //given
+        ReflectionTestUtils.setField(carAvailabilityIndex, "enabled", false);
+
+        //when
+        carAvailabilityIndex.rebuild();
+
+        //then
+        assertThat(carAvailabilityIndex.isReady()).isFalse();
+        verifyNoInteractions(reservationRepositoryMock);
+    }
+
+    private Reservation createTestReservation(Status status) {
+        Car car = new Car("BMW", "135i", 2022, "P0 WOLNY", new BigDecimal(600));
+        car.setId(1L);
+        Customer customer = new Customer("Jan", "Kowalski", "j.kowal@gmail.com", "505606707", "PPX 12512");
+        customer.setId(1L);
+        Reservation reservation = new Reservation(car, customer, FROM, TO, new BigDecimal(5400), status);
+        reservation.setId(1L);
+        return reservation;
+    }
+}
@@ -1,67 +1,78 @@
 package pl.kurs.service;
 
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.test.util.ReflectionTestUtils;
-import pl.kurs.entity.Car;
-import pl.kurs.entity.Customer;
-import pl.kurs.entity.Reservation;
-import pl.kurs.entity.Status;
+import pl.kurs.dto.ReservationReminderDto;
+import pl.kurs.template.TemplateRegistry;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
-import static org.mockito.internal.verification.VerificationModeFactory.times;
 
 @ExtendWith(MockitoExtension.class)
 class CarRentalReminderServiceTest {
 
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
     @Mock
     private ReservationService reservationServiceMock;
 
     @Mock
     private JavaMailSender mailSenderMock;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private CarRentalReminderService reminderService;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reminderService = createReminderService(mailSenderMock);
+    }
+
     @Test
     void shouldSendRemindersForReservationsOnNextDay() {
         // given
-        ReflectionTestUtils.setField(reminderService, "managerEmail", "manager@test.com");
-        ReflectionTestUtils.setField(reminderService, "noReplyMail", "noreply@test.com");
-        ReflectionTestUtils.setField(reminderService, "systemMail", "system@test.com");
-
-        Reservation reservation = createSampleReservation();
+        ReservationReminderDto reservation = createSampleReminder(1L, "john@example.com");
         LocalDate tomorrow = LocalDate.now().plusDays(1);
-        when(reservationServiceMock.findActiveReservationForDate(tomorrow)).thenReturn(List.of(reservation));
-
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        givenReminders(tomorrow, List.of(reservation));
+        List<SimpleMailMessage> sentMessages = collectSentMessages();
 
         // when
         reminderService.sendDailyReminders();
 
         // then
-        verify(mailSenderMock, times(2)).send(messageCaptor.capture());
-
-        List<SimpleMailMessage> sentMessages = messageCaptor.getAllValues();
+        verify(mailSenderMock, times(1)).send(any(SimpleMailMessage[].class));
+        assertThat(sentMessages).hasSize(2);
 
         SimpleMailMessage customerMail = sentMessages.getFirst();
         assertThat(customerMail.getTo()).contains("john@example.com");
         assertThat(customerMail.getFrom()).isEqualTo("noreply@test.com");
         assertThat(customerMail.getSubject()).contains("Car rental reminder");
-        assertThat(customerMail.getText()).contains("John");
+        assertThat(customerMail.getText()).startsWith("Hi John!\n\nWe remind you about tomorrow's car rental!");
+        assertThat(customerMail.getText()).contains("Car: Toyota Corolla\nReservation id: 1\n");
+        assertThat(customerMail.getText()).endsWith("Best regards,\nRental Team!");
 
         SimpleMailMessage employeeMail = sentMessages.get(1);
         assertThat(employeeMail.getTo()).contains("manager@test.com");
@@ -74,24 +85,163 @@ class CarRentalReminderServiceTest {
     @Test
     void shouldNotSendEmailIfNoReservations() {
         // given
-        when(reservationServiceMock.findActiveReservationForDate(any())).thenReturn(Collections.emptyList());
+        givenReminders(LocalDate.now().plusDays(1), Collections.emptyList());
+
+        // when
+        reminderService.sendDailyReminders();
+
+        // then
+        verifyNoInteractions(mailSenderMock);
+    }
+
+    @Test
+    void shouldDeliverAllRemindersInBatchesThroughSmtpServer() {
+        // given
+        JavaMailSenderImpl smtpSender = new JavaMailSenderImpl();
+        smtpSender.setHost("localhost");
+        smtpSender.setPort(ServerSetupTest.SMTP.getPort());
+        CarRentalReminderService smtpReminderService = createReminderService(smtpSender);
+
+        List<ReservationReminderDto> reservations = new ArrayList<>();
+        for (long id = 1; id <= 120; id++) {
+            reservations.add(createSampleReminder(id, "customer" + id + "@example.com"));
+        }
+        givenReminders(LocalDate.now().plusDays(1), reservations);
+
+        // when
+        smtpReminderService.sendDailyReminders();
+
+        // then
+        assertThat(greenMail.getReceivedMessages()).hasSize(240);
+        assertThat(meterRegistry.counter("reminders.sent").count()).isEqualTo(240.0);
+        assertThat(meterRegistry.counter("reminders.failed").count()).isZero();
+        assertThat(meterRegistry.timer("reminders.run").count()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldSendBatchesOfWholeRunConcurrently() {
+        // given
+        List<ReservationReminderDto> reservations = new ArrayList<>();
+        for (long id = 1; id <= 120; id++) {
+            reservations.add(createSampleReminder(id, "customer" + id + "@example.com"));
+        }
+        givenReminders(LocalDate.now().plusDays(1), reservations);
+        CountDownLatch allBatchesInFlight = new CountDownLatch(4);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            allBatchesInFlight.countDown();
+            allBatchesInFlight.await(5, TimeUnit.SECONDS);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(mailSenderMock).send(any(SimpleMailMessage[].class));
 
         // when
         reminderService.sendDailyReminders();
 
         // then
-        verify(mailSenderMock, never()).send(any(SimpleMailMessage.class));
+        verify(mailSenderMock, times(5)).send(any(SimpleMailMessage[].class));
+        assertThat(maxInFlight.get()).isEqualTo(4);
+        assertThat(meterRegistry.counter("reminders.sent").count()).isEqualTo(240.0);
     }
 
-    private Reservation createSampleReservation() {
-        Customer customer = new Customer("John", "Doe", "john@example.com", "123456789", "DL123456");
-        Car car = new Car("Toyota", "Corolla", 2022, "XYZ123", new BigDecimal(200));
+    @Test
+    void shouldRetryOnlyFailedMessagesOfBatch() {
+        // given
+        SimpleMailMessage delivered = createMessage("first@example.com");
+        SimpleMailMessage rejected = createMessage("second@example.com");
+        List<Integer> attemptSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            SimpleMailMessage[] batch = (SimpleMailMessage[]) invocation.getRawArguments()[0];
+            attemptSizes.add(batch.length);
+            if (attemptSizes.size() == 1) {
+                throw new MailSendException(Map.of(rejected, new IllegalStateException("451 try again later")));
+            }
+            return null;
+        }).when(mailSenderMock).send(any(SimpleMailMessage[].class));
 
-        Reservation reservation = new Reservation(car, customer, LocalDate.of(2025, 8, 1),
-                LocalDate.of(2025, 8, 5), new BigDecimal(1000), Status.RESERVED);
-        reservation.setId(1L);
+        // when
+        ReminderRunStats stats = reminderService.dispatch(List.of(delivered, rejected).iterator());
+
+        // then
+        assertThat(attemptSizes).containsExactly(2, 1);
+        assertThat(stats.messages()).isEqualTo(2);
+        assertThat(stats.batches()).isEqualTo(1);
+        assertThat(stats.sent()).isEqualTo(2);
+        assertThat(stats.failed()).isZero();
+        assertThat(stats.elapsed()).isPositive();
+        assertThat(stats.throughputPerSecond()).isPositive();
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        // given
+        doThrow(new MailSendException("Connection refused")).when(mailSenderMock).send(any(SimpleMailMessage[].class));
+
+        // when
+        ReminderRunStats stats = reminderService.dispatch(List.of(createMessage("first@example.com"), createMessage("second@example.com")).iterator());
+
+        // then
+        verify(mailSenderMock, times(3)).send(any(SimpleMailMessage[].class));
+        assertThat(stats.sent()).isZero();
+        assertThat(stats.failed()).isEqualTo(2);
+        assertThat(meterRegistry.counter("reminders.failed").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldNotRetryWhenMailServerRejectsCredentials() {
+        // given
+        doThrow(new MailAuthenticationException("Bad credentials")).when(mailSenderMock).send(any(SimpleMailMessage[].class));
+
+        // when
+        ReminderRunStats stats = reminderService.dispatch(List.of(createMessage("first@example.com")).iterator());
+
+        // then
+        verify(mailSenderMock, times(1)).send(any(SimpleMailMessage[].class));
+        assertThat(stats.failed()).isEqualTo(1);
+    }
+
+    private CarRentalReminderService createReminderService(JavaMailSender mailSender) {
+        TemplateRegistry templateRegistry = new TemplateRegistry(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(templateRegistry, "location", "classpath:templates/");
+        CarRentalReminderService service = new CarRentalReminderService(reservationServiceMock, mailSender, templateRegistry, meterRegistry);
+        ReflectionTestUtils.setField(service, "reminderLocale", Locale.ENGLISH);
+        ReflectionTestUtils.setField(service, "managerEmail", "manager@test.com");
+        ReflectionTestUtils.setField(service, "noReplyMail", "noreply@test.com");
+        ReflectionTestUtils.setField(service, "systemMail", "system@test.com");
+        ReflectionTestUtils.setField(service, "batchSize", 50);
+        ReflectionTestUtils.setField(service, "maxConcurrentBatches", 4);
+        ReflectionTestUtils.setField(service, "maxSendAttempts", 3);
+        ReflectionTestUtils.setField(service, "sendBackoffMs", 1L);
+        return service;
+    }
+
+    private void givenReminders(LocalDate date, List<ReservationReminderDto> reminders) {
+        when(reservationServiceMock.getRemindersForDate(date)).thenReturn(reminders);
+    }
+
+    private List<SimpleMailMessage> collectSentMessages() {
+        List<SimpleMailMessage> sentMessages = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            sentMessages.addAll(Arrays.asList((SimpleMailMessage[]) invocation.getRawArguments()[0]));
+            return null;
+        }).when(mailSenderMock).send(any(SimpleMailMessage[].class));
+        return sentMessages;
+    }
+
+    private SimpleMailMessage createMessage(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        message.setFrom("noreply@test.com");
+        message.setSubject("Car rental reminder");
+        message.setText("Reminder");
+        return message;
+    }
 
-        return reservation;
+    private ReservationReminderDto createSampleReminder(Long id, String email) {
+        return new ReservationReminderDto(id, "John", "Doe", email, "123456789", "DL123456",
+                "Toyota", "Corolla", "XYZ123");
     }
 
-}
\ No newline at end of file
+}
@@ -5,9 +5,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import pl.kurs.dto.CursorPageDto;
 import pl.kurs.entity.Car;
 import pl.kurs.exception.DataNotFoundException;
+import pl.kurs.exception.DuplicateValueException;
 import pl.kurs.exception.InvalidDataAccessApiUsageException;
 import pl.kurs.exception.ResourceNotFoundException;
 import pl.kurs.repository.CarRepository;
@@ -15,11 +19,14 @@ import pl.kurs.repository.CarRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,6 +36,18 @@ public class CarServiceTest {
     @Mock
     private CarRepository carRepositoryMock;
 
+    @Mock
+    private CarAvailabilityIndex carAvailabilityIndexMock;
+
+    @Mock
+    private KeysetPaginator keysetPaginatorMock;
+
+    @Mock
+    private TotalCountCache totalCountCacheMock;
+
+    @Mock
+    private UniqueFieldsService uniqueFieldsServiceMock;
+
     @InjectMocks
     private CarService carService;
 
@@ -60,8 +79,8 @@ public class CarServiceTest {
     void shouldReturnPagedCarsForGetAll() {
         //given
         Car testCar = createTestCar();
-        Page<Car> page = new PageImpl<>(List.of(testCar));
-        when(carRepositoryMock.findAll(PageRequest.of(0, 5))).thenReturn(page);
+        Slice<Car> slice = new SliceImpl<>(List.of(testCar), PageRequest.of(0, 5), false);
+        when(carRepositoryMock.findAllBy(PageRequest.of(0, 5))).thenReturn(slice);
 
         //when
         Page<Car> result = carService.getAll(0, 5);
@@ -70,17 +89,33 @@ public class CarServiceTest {
         assertThat(result.getContent()).containsExactly(testCar);
     }
 
+    @Test
+    void shouldTakeTotalFromCountCacheWhenPageIsFull() {
+        //given
+        Slice<Car> slice = new SliceImpl<>(List.of(createTestCar()), PageRequest.of(0, 1), true);
+        when(carRepositoryMock.findAllBy(PageRequest.of(0, 1))).thenReturn(slice);
+        when(totalCountCacheMock.count(eq(Car.class), any())).thenReturn(42L);
+
+        //when
+        Page<Car> result = carService.getAll(0, 1);
+
+        //then
+        assertThat(result.getTotalElements()).isEqualTo(42L);
+        verify(carRepositoryMock, never()).count();
+    }
+
     @Test
     void shouldSaveCar() {
         //given
         Car testCar = createTestCar();
-        when(carRepositoryMock.save(testCar)).thenReturn(testCar);
+        when(carRepositoryMock.saveAndFlush(testCar)).thenReturn(testCar);
 
         //when
         Car savedCar = carService.saveCar(testCar);
 
         //then
         assertThat(savedCar).isEqualTo(testCar);
+        verify(totalCountCacheMock).invalidate(Car.class);
     }
 
     @Test
@@ -90,7 +125,7 @@ public class CarServiceTest {
         Car incomingCar = new Car("Honda", "Civic", 2022, "WI 91827", new BigDecimal(160));
         incomingCar.setId(1L);
         when(carRepositoryMock.findById(1L)).thenReturn(Optional.of(testCar));
-        when(carRepositoryMock.save(any(Car.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(carRepositoryMock.saveAndFlush(any(Car.class))).thenAnswer(inv -> inv.getArgument(0));
 
         //when
         Car updated = carService.updateCar(incomingCar);
@@ -103,6 +138,34 @@ public class CarServiceTest {
         assertThat(updated.getPricePerDay()).isEqualTo(BigDecimal.valueOf(160));
     }
 
+    @Test
+    void shouldTranslateUniqueViolationOnSave() {
+        //given
+        Car testCar = createTestCar();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("duplicate key");
+        DuplicateValueException duplicate = new DuplicateValueException(Map.of("registrationNumber", "Registration number already exists"), violation);
+        when(carRepositoryMock.saveAndFlush(testCar)).thenThrow(violation);
+        when(uniqueFieldsServiceMock.translate(violation, Car.class)).thenReturn(duplicate);
+
+        //when then
+        assertThatThrownBy(() -> carService.saveCar(testCar)).isSameAs(duplicate);
+        verify(totalCountCacheMock, never()).invalidate(Car.class);
+    }
+
+    @Test
+    void shouldTranslateUniqueViolationOnUpdate() {
+        //given
+        Car testCar = createTestCar();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("duplicate key");
+        DuplicateValueException duplicate = new DuplicateValueException(Map.of("registrationNumber", "Registration number already exists"), violation);
+        when(carRepositoryMock.findById(1L)).thenReturn(Optional.of(createTestCar()));
+        when(carRepositoryMock.saveAndFlush(any(Car.class))).thenThrow(violation);
+        when(uniqueFieldsServiceMock.translate(violation, Car.class)).thenReturn(duplicate);
+
+        //when then
+        assertThatThrownBy(() -> carService.updateCar(testCar)).isSameAs(duplicate);
+    }
+
     @Test
     void shouldThrowWhenUpdateCarAndNotFound() {
         //given
@@ -122,26 +185,41 @@ public class CarServiceTest {
 
         //then
         verify(carRepositoryMock).deleteById(1L);
+        verify(totalCountCacheMock).invalidate(Car.class);
     }
 
     @Test
     void shouldReturnSortedPageForGetAllSorted() {
         //given
         Car testCar = createTestCar();
-        Page<Car> page = new PageImpl<>(List.of(testCar));
-        when(carRepositoryMock.findAll(any(Pageable.class))).thenReturn(page);
+        Slice<Car> slice = new SliceImpl<>(List.of(testCar), PageRequest.of(0, 5), false);
+        when(carRepositoryMock.findAllBy(any(Pageable.class))).thenReturn(slice);
 
         //when
         Page<Car> result = carService.getAllSorted("producer", Sort.Direction.ASC, 0, 5);
 
         //then
         assertThat(result.getContent()).containsExactly(testCar);
-        verify(carRepositoryMock).findAll((argThat((Pageable p) -> {
+        verify(carRepositoryMock).findAllBy((argThat((Pageable p) -> {
             Sort.Order producer = p.getSort().getOrderFor("producer");
             return producer.getDirection() == Sort.Direction.ASC;
         })));
     }
 
+    @Test
+    void shouldTranslateSortFieldToEntityPropertyForGetAllSortedAfter() {
+        //given
+        CursorPageDto<Car> page = new CursorPageDto<>(List.of(createTestCar()), 5, false, null);
+        when(keysetPaginatorMock.scroll(eq(carRepositoryMock), eq(Car.class), isNull(),
+                eq(Sort.by(Sort.Direction.DESC, "yearOfProduction")), eq("cursor"), eq(5))).thenReturn(page);
+
+        //when
+        CursorPageDto<Car> result = carService.getAllSortedAfter("year_of_production", Sort.Direction.DESC, "cursor", 5);
+
+        //then
+        assertThat(result).isSameAs(page);
+    }
+
     @Test
     void shouldThrowWhenSortFieldInvalid() {
         //given when then
@@ -198,6 +276,120 @@ public class CarServiceTest {
         assertThat(result.getContent()).containsExactly(testCar);
     }
 
+    @Test
+    void shouldUsePeriodRangeQueryWhenEnabled() {
+        //given
+        ReflectionTestUtils.setField(carService, "periodIndex", true);
+        Car testCar = createTestCar();
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(5);
+        Page<Car> page = new PageImpl<>(List.of(testCar));
+        when(carRepositoryMock.findAvailableCarsByPeriod("Toyota", "Corolla", start, end, PageRequest.of(0, 5)))
+                .thenReturn(page);
+
+        //when
+        Page<Car> result = carService.getByProducerAndModelAndAvailable("Toyota", "Corolla", start, end, 0, 5);
+
+        //then
+        assertThat(result.getContent()).containsExactly(testCar);
+        verify(carRepositoryMock, never()).findAvailableCars(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldNotUsePeriodRangeQueryWhenEndDateIsBeforeStartDate() {
+        //given
+        ReflectionTestUtils.setField(carService, "periodIndex", true);
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.minusDays(1);
+        when(carRepositoryMock.findAvailableCars("Toyota", "Corolla", start, end, PageRequest.of(0, 5)))
+                .thenReturn(Page.empty());
+
+        //when
+        Page<Car> result = carService.getByProducerAndModelAndAvailable("Toyota", "Corolla", start, end, 0, 5);
+
+        //then
+        assertThat(result.getContent()).isEmpty();
+        verify(carRepositoryMock, never()).findAvailableCarsByPeriod(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldExcludeCarsBookedInAvailabilityIndexWhenDatesAreProvided() {
+        //given
+        Car testCar = createTestCar();
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(5);
+        Page<Car> page = new PageImpl<>(List.of(testCar));
+        when(carAvailabilityIndexMock.isReady()).thenReturn(true);
+        when(carAvailabilityIndexMock.findBookedCarIds(start, end)).thenReturn(Set.of(2L, 3L));
+        when(carRepositoryMock.findByProducerAndModelExcludingIds(null, null, Set.of(2L, 3L), PageRequest.of(0, 5)))
+                .thenReturn(page);
+
+        //when
+        Page<Car> result = carService.getByProducerAndModelAndAvailable(null, null, start, end, 0, 5);
+
+        //then
+        assertThat(result.getContent()).containsExactly(testCar);
+        verify(carRepositoryMock, never()).findAvailableCars(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldLeaveFilteredSearchWithBookedCarsToAntiJoin() {
+        //given
+        Car testCar = createTestCar();
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(5);
+        Page<Car> page = new PageImpl<>(List.of(testCar));
+        when(carAvailabilityIndexMock.isReady()).thenReturn(true);
+        when(carAvailabilityIndexMock.findBookedCarIds(start, end)).thenReturn(Set.of(2L, 3L));
+        when(carRepositoryMock.findAvailableCars("Toyota", null, start, end, PageRequest.of(0, 5))).thenReturn(page);
+
+        //when
+        Page<Car> result = carService.getByProducerAndModelAndAvailable("Toyota", null, start, end, 0, 5);
+
+        //then
+        assertThat(result.getContent()).containsExactly(testCar);
+        verify(carRepositoryMock, never()).findByProducerAndModelExcludingIds(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldExcludeCarsBookedInAvailabilityIndexWhenSearchingSlice() {
+        //given
+        Car testCar = createTestCar();
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(5);
+        Slice<Car> slice = new SliceImpl<>(List.of(testCar), PageRequest.of(0, 5), false);
+        when(carAvailabilityIndexMock.isReady()).thenReturn(true);
+        when(carAvailabilityIndexMock.findBookedCarIds(start, end)).thenReturn(Set.of(2L, 3L));
+        when(carRepositoryMock.findSliceByProducerAndModelExcludingIds(null, null, Set.of(2L, 3L), PageRequest.of(0, 5)))
+                .thenReturn(slice);
+
+        //when
+        Slice<Car> result = carService.getByProducerAndModelAndAvailableSlice(null, null, start, end, 0, 5);
+
+        //then
+        assertThat(result.getContent()).containsExactly(testCar);
+        verify(carRepositoryMock, never()).findByProducerAndModelExcludingIds(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldSearchByProducerAndModelWhenAvailabilityIndexHasNoBookedCars() {
+        //given
+        Car testCar = createTestCar();
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(5);
+        Page<Car> page = new PageImpl<>(List.of(testCar));
+        when(carAvailabilityIndexMock.isReady()).thenReturn(true);
+        when(carAvailabilityIndexMock.findBookedCarIds(start, end)).thenReturn(Set.of());
+        when(carRepositoryMock.findByProducerAndModel("Toyota", "Corolla", PageRequest.of(0, 5))).thenReturn(page);
+
+        //when
+        Page<Car> result = carService.getByProducerAndModelAndAvailable("Toyota", "Corolla", start, end, 0, 5);
+
+        //then
+        assertThat(result.getContent()).containsExactly(testCar);
+        verify(carRepositoryMock, never()).findAvailableCars(any(), any(), any(), any(), any());
+    }
+
     @Test
     void shouldReturnCarWhenFindForUpdateExists() {
         //given
@@ -222,6 +414,66 @@ public class CarServiceTest {
                 .hasMessageContaining("Car with id: 1 not found");
     }
 
+    @Test
+    void shouldReturnCarReference() {
+        //given
+        Car testCar = createTestCar();
+        when(carRepositoryMock.getReferenceById(1L)).thenReturn(testCar);
+
+        //when
+        Car result = carService.getCarReference(1L);
+
+        //then
+        assertThat(result).isEqualTo(testCar);
+    }
+
+    @Test
+    void shouldReturnBookingVersion() {
+        //given
+        when(carRepositoryMock.findBookingVersion(1L)).thenReturn(Optional.of(7L));
+
+        //when
+        Long result = carService.getBookingVersion(1L);
+
+        //then
+        assertThat(result).isEqualTo(7L);
+    }
+
+    @Test
+    void shouldThrowWhenBookingVersionNotFound() {
+        //given
+        when(carRepositoryMock.findBookingVersion(1L)).thenReturn(Optional.empty());
+
+        //when then
+        assertThatThrownBy(() -> carService.getBookingVersion(1L))
+                .isInstanceOf(DataNotFoundException.class)
+                .hasMessageContaining("Car with id: 1 not found");
+    }
+
+    @Test
+    void shouldIncrementBookingVersionWhenExpectedVersionMatches() {
+        //given
+        when(carRepositoryMock.incrementBookingVersion(1L, 7L)).thenReturn(1);
+
+        //when
+        boolean result = carService.incrementBookingVersion(1L, 7L);
+
+        //then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void shouldNotIncrementBookingVersionWhenExpectedVersionIsStale() {
+        //given
+        when(carRepositoryMock.incrementBookingVersion(1L, 6L)).thenReturn(0);
+
+        //when
+        boolean result = carService.incrementBookingVersion(1L, 6L);
+
+        //then
+        assertThat(result).isFalse();
+    }
+
     private Car createTestCar() {
         Car car = new Car("Toyota", "Corolla", 2020, "WX 17458", new BigDecimal(140));
         car.setId(1L);
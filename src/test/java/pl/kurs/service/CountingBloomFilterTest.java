@@ -0,0 +1,67 @@
+package pl.kurs.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountingBloomFilterTest {
+
+    @Test
+    void shouldNeverReportAddedValuesAsAbsent() {
+        //given
+        CountingBloomFilter filter = new CountingBloomFilter(10_000);
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("value-" + i);
+        }
+
+        //then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("value-" + i)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 10_000; i < 20_000; i++) {
+            if (filter.mightContain("value-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+        assertThat(filter.isOverloaded()).isFalse();
+    }
+
+    @Test
+    void shouldRemoveValueWithoutAffectingOthers() {
+        //given
+        CountingBloomFilter filter = new CountingBloomFilter(100);
+        filter.add("first");
+        filter.add("second");
+        filter.add("second");
+
+        //when
+        filter.remove("first");
+        filter.remove("second");
+        filter.remove("missing");
+
+        //then
+        assertThat(filter.mightContain("first")).isFalse();
+        assertThat(filter.mightContain("second")).isTrue();
+    }
+
+    @Test
+    void shouldKeepSaturatedCounters() {
+        //given
+        CountingBloomFilter filter = new CountingBloomFilter(1);
+        for (int i = 0; i < 300; i++) {
+            filter.add("hot");
+        }
+
+        //when
+        for (int i = 0; i < 300; i++) {
+            filter.remove("hot");
+        }
+
+        //then
+        assertThat(filter.mightContain("hot")).isTrue();
+    }
+}
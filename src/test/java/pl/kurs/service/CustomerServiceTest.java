@@ -5,16 +5,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Pageable;
 import pl.kurs.entity.Customer;
 import pl.kurs.exception.DataNotFoundException;
+import pl.kurs.exception.DuplicateValueException;
 import pl.kurs.exception.ResourceNotFoundException;
 import pl.kurs.repository.CustomerRepository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,6 +35,12 @@ public class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepositoryMock;
 
+    @Mock
+    private TotalCountCache totalCountCacheMock;
+
+    @Mock
+    private UniqueFieldsService uniqueFieldsServiceMock;
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -57,12 +68,25 @@ public class CustomerServiceTest {
                 .hasMessageContaining("Customer not found with id: 42");
     }
 
+    @Test
+    void shouldReturnCustomerReference() {
+        //given
+        Customer testCustomer = createTestCustomer();
+        when(customerRepositoryMock.getReferenceById(1L)).thenReturn(testCustomer);
+
+        //when
+        Customer result = customerService.getCustomerReference(1L);
+
+        //then
+        assertThat(result).isEqualTo(testCustomer);
+    }
+
     @Test
     void shouldReturnPagedCustomersForGetAll() {
         //given
         Customer testCustomer = createTestCustomer();
-        Page<Customer> page = new PageImpl<>(List.of(testCustomer));
-        when(customerRepositoryMock.findAll(PageRequest.of(0, 3))).thenReturn(page);
+        Slice<Customer> slice = new SliceImpl<>(List.of(testCustomer), PageRequest.of(0, 3), false);
+        when(customerRepositoryMock.findAllBy(PageRequest.of(0, 3))).thenReturn(slice);
 
         //when
         Page<Customer> result = customerService.getAll(0, 3);
@@ -71,11 +95,25 @@ public class CustomerServiceTest {
         assertThat(result.getContent()).containsExactly(testCustomer);
     }
 
+    @Test
+    void shouldTakeTotalFromCountCacheWhenPageIsFull() {
+        //given
+        Slice<Customer> slice = new SliceImpl<>(List.of(createTestCustomer()), PageRequest.of(0, 1), true);
+        when(customerRepositoryMock.findAllBy(PageRequest.of(0, 1))).thenReturn(slice);
+        when(totalCountCacheMock.count(eq(Customer.class), any())).thenReturn(42L);
+
+        //when
+        Page<Customer> result = customerService.getAll(0, 1);
+
+        //then
+        assertThat(result.getTotalElements()).isEqualTo(42L);
+    }
+
     @Test
     void shouldSaveCustomer() {
         //given
         Customer testCustomer = createTestCustomer();
-        when(customerRepositoryMock.save(testCustomer)).thenReturn(testCustomer);
+        when(customerRepositoryMock.saveAndFlush(testCustomer)).thenReturn(testCustomer);
 
         //when
         Customer saved = customerService.saveCustomer(testCustomer);
@@ -84,6 +122,32 @@ public class CustomerServiceTest {
         assertThat(saved).isEqualTo(testCustomer);
     }
 
+    @Test
+    void shouldTranslateUniqueViolationOnSave() {
+        //given
+        Customer testCustomer = createTestCustomer();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("duplicate key");
+        DuplicateValueException duplicate = new DuplicateValueException(Map.of("email", "Customer e-mail already exists"), violation);
+        when(customerRepositoryMock.saveAndFlush(testCustomer)).thenThrow(violation);
+        when(uniqueFieldsServiceMock.translate(violation, Customer.class)).thenReturn(duplicate);
+
+        //when then
+        assertThatThrownBy(() -> customerService.saveCustomer(testCustomer)).isSameAs(duplicate);
+    }
+
+    @Test
+    void shouldTranslateUniqueViolationOnUpdate() {
+        //given
+        Customer testCustomer = createTestCustomer();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("duplicate key");
+        when(customerRepositoryMock.findById(testCustomer.getId())).thenReturn(Optional.of(createTestCustomer()));
+        when(customerRepositoryMock.saveAndFlush(any(Customer.class))).thenThrow(violation);
+        when(uniqueFieldsServiceMock.translate(violation, Customer.class)).thenReturn(violation);
+
+        //when then
+        assertThatThrownBy(() -> customerService.updateCustomer(testCustomer)).isSameAs(violation);
+    }
+
     @Test
     void shouldUpdateCustomer() {
         //given
@@ -92,7 +156,7 @@ public class CustomerServiceTest {
         incomingCustomer.setId(1L);
 
         when(customerRepositoryMock.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(customerRepositoryMock.save(any(Customer.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(customerRepositoryMock.saveAndFlush(any(Customer.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // when
         Customer updated = customerService.updateCustomer(incomingCustomer);
@@ -5,17 +5,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Pageable;
+import pl.kurs.dto.EmployeeDto;
 import pl.kurs.entity.Employee;
 import pl.kurs.entity.Position;
 import pl.kurs.exception.DataNotFoundException;
+import pl.kurs.exception.DuplicateValueException;
 import pl.kurs.exception.ResourceNotFoundException;
+import pl.kurs.mapper.EmployeeMapper;
 import pl.kurs.repository.EmployeeRepository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,6 +38,18 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepositoryMock;
 
+    @Mock
+    private EmployeeMapper employeeMapperMock;
+
+    @Mock
+    private PositionService positionServiceMock;
+
+    @Mock
+    private TotalCountCache totalCountCacheMock;
+
+    @Mock
+    private UniqueFieldsService uniqueFieldsServiceMock;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -62,8 +81,8 @@ public class EmployeeServiceTest {
     void shouldReturnPagedEmployeesForGetAll() {
         //given
         Employee testEmployee = createTestEmployee();
-        Page<Employee> page = new PageImpl<>(List.of(testEmployee));
-        when(employeeRepositoryMock.findAll(PageRequest.of(0, 2))).thenReturn(page);
+        Slice<Employee> slice = new SliceImpl<>(List.of(testEmployee), PageRequest.of(0, 2), false);
+        when(employeeRepositoryMock.findAllBy(PageRequest.of(0, 2))).thenReturn(slice);
 
         //when
         Page<Employee> result = employeeService.getAll(0, 2);
@@ -72,11 +91,25 @@ public class EmployeeServiceTest {
         assertThat(result.getContent()).containsExactly(testEmployee);
     }
 
+    @Test
+    void shouldTakeTotalFromCountCacheWhenPageIsFull() {
+        //given
+        Slice<Employee> slice = new SliceImpl<>(List.of(createTestEmployee()), PageRequest.of(0, 1), true);
+        when(employeeRepositoryMock.findAllBy(PageRequest.of(0, 1))).thenReturn(slice);
+        when(totalCountCacheMock.count(eq(Employee.class), any())).thenReturn(42L);
+
+        //when
+        Page<Employee> result = employeeService.getAll(0, 1);
+
+        //then
+        assertThat(result.getTotalElements()).isEqualTo(42L);
+    }
+
     @Test
     void shouldSaveEmployee() {
         //given
         Employee testEmployee = createTestEmployee();
-        when(employeeRepositoryMock.save(testEmployee)).thenReturn(testEmployee);
+        when(employeeRepositoryMock.saveAndFlush(testEmployee)).thenReturn(testEmployee);
 
         //when
         Employee result = employeeService.saveEmployee(testEmployee);
@@ -85,6 +118,32 @@ public class EmployeeServiceTest {
         assertThat(result).isEqualTo(testEmployee);
     }
 
+    @Test
+    void shouldTranslateUniqueViolationOnSave() {
+        //given
+        Employee testEmployee = createTestEmployee();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("duplicate key");
+        DuplicateValueException duplicate = new DuplicateValueException(Map.of("email", "Employee e-mail already exists"), violation);
+        when(employeeRepositoryMock.saveAndFlush(testEmployee)).thenThrow(violation);
+        when(uniqueFieldsServiceMock.translate(violation, Employee.class)).thenReturn(duplicate);
+
+        //when then
+        assertThatThrownBy(() -> employeeService.saveEmployee(testEmployee)).isSameAs(duplicate);
+    }
+
+    @Test
+    void shouldTranslateUniqueViolationOnUpdate() {
+        //given
+        Employee testEmployee = createTestEmployee();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("duplicate key");
+        when(employeeRepositoryMock.findById(testEmployee.getId())).thenReturn(Optional.of(createTestEmployee()));
+        when(employeeRepositoryMock.saveAndFlush(any(Employee.class))).thenThrow(violation);
+        when(uniqueFieldsServiceMock.translate(violation, Employee.class)).thenReturn(violation);
+
+        //when then
+        assertThatThrownBy(() -> employeeService.updateEmployee(testEmployee)).isSameAs(violation);
+    }
+
     @Test
     void shouldUpdateEmployee() {
         //given
@@ -93,7 +152,7 @@ public class EmployeeServiceTest {
         incomingEmployee.setId(1L);
 
         when(employeeRepositoryMock.findById(1L)).thenReturn(Optional.of(testEmployee));
-        when(employeeRepositoryMock.save(any(Employee.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(employeeRepositoryMock.saveAndFlush(any(Employee.class))).thenAnswer(inv -> inv.getArgument(0));
 
         //when
         Employee result = employeeService.updateEmployee(incomingEmployee);
@@ -145,6 +204,22 @@ public class EmployeeServiceTest {
                 eq("Jan"), eq("Kowalski"), eq("MANAGER"), eq(PageRequest.of(0, 10)));
     }
 
+    @Test
+    void shouldCreateEmployeeWithPositionReference() {
+        //given
+        EmployeeDto testEmployeeDto = new EmployeeDto("Adam", "Smith", 3L, "600500400", "a.smith@gmail.com");
+        Employee testEmployee = new Employee("Adam", "Smith", null, "600500400", "a.smith@gmail.com");
+        Position testPosition = new Position(3L, "MECHANIC");
+        when(positionServiceMock.getPositionReference(3L)).thenReturn(testPosition);
+        when(employeeMapperMock.dtoToEntityWithId(testEmployeeDto)).thenReturn(testEmployee);
+
+        //when
+        Employee result = employeeService.createEmployee(testEmployeeDto);
+
+        //then
+        assertThat(result.getPosition()).isEqualTo(testPosition);
+    }
+
     private Employee createTestEmployee() {
         Employee employee = new Employee("Adam", "Smith", new Position("MECHANIC"), "600500400", "a.smith@gmail.com");
         employee.setId(1L);
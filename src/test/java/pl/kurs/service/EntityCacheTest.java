@@ -0,0 +1,72 @@
+package pl.kurs.service;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CustomerRepository;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class EntityCacheTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void shouldCacheCarAfterFirstLookupAndEvictOnUpdate() {
+        //given
+        Car testCar = carRepository.save(new Car("Toyota", "Yaris", 2021, "WC 11223", new BigDecimal(120)));
+
+        //when
+        Car firstLookup = carService.getCarById(testCar.getId());
+        Car secondLookup = carService.getCarById(testCar.getId());
+
+        //then
+        assertThat(secondLookup).isSameAs(firstLookup);
+        assertThat(cacheManager.getCache("cars").get(testCar.getId())).isNotNull();
+
+        //when
+        Car incomingCar = new Car("Toyota", "Yaris", 2022, "WC 11223", new BigDecimal(130));
+        incomingCar.setId(testCar.getId());
+        carService.updateCar(incomingCar);
+
+        //then
+        assertThat(cacheManager.getCache("cars").get(testCar.getId())).isNull();
+    }
+
+    @Test
+    void shouldEvictCustomerOnDelete() {
+        //given
+        Customer testCustomer = customerRepository.save(new Customer("Ola", "Lis", "o.lis@mail.com", "507111222", "LIS 11122"));
+        customerService.getCustomerById(testCustomer.getId());
+
+        //when
+        customerService.deleteCustomerById(testCustomer.getId());
+
+        //then
+        assertThat(cacheManager.getCache("customers").get(testCustomer.getId())).isNull();
+    }
+}
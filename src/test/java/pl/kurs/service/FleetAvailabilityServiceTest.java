@@ -0,0 +1,96 @@
+package pl.kurs.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import pl.kurs.dto.CarCalendarDto;
+import pl.kurs.dto.FleetAvailabilityDto;
+import pl.kurs.dto.ReservationPeriodDto;
+import pl.kurs.entity.Car;
+import pl.kurs.exception.InvalidDataAccessApiUsageException;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.ReservationRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FleetAvailabilityServiceTest {
+    private static final LocalDate FROM = LocalDate.of(2025, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 6, 7);
+
+    @Mock
+    private CarRepository carRepositoryMock;
+
+    @Mock
+    private ReservationRepository reservationRepositoryMock;
+
+    @InjectMocks
+    private FleetAvailabilityService fleetAvailabilityService;
+
+    @Test
+    void shouldSweepReservationsIntoPerCarCalendars() {
+        //given
+        when(carRepositoryMock.findAll(any(Specification.class), any(Sort.class)))
+                .thenReturn(List.of(createTestCar(1L, "WA 00001"), createTestCar(2L, "WA 00002")));
+        when(reservationRepositoryMock.findActivePeriodsBetween(FROM, TO)).thenReturn(List.of(
+                new ReservationPeriodDto(10L, 1L, FROM.minusDays(3), FROM.plusDays(2)),
+                new ReservationPeriodDto(11L, 2L, FROM.plusDays(4), TO.plusDays(10)),
+                new ReservationPeriodDto(12L, 99L, FROM, TO)));
+
+        //when
+        FleetAvailabilityDto result = fleetAvailabilityService.getCalendar("Toyota", null, FROM, TO);
+
+        //then
+        assertThat(result.getFrom()).isEqualTo(FROM);
+        assertThat(result.getTo()).isEqualTo(TO);
+        assertThat(result.getCars()).extracting(CarCalendarDto::getCarId).containsExactly(1L, 2L);
+        assertThat(result.getCars()).extracting(CarCalendarDto::getBusyDays).containsExactly("1100000", "0000111");
+    }
+
+    @Test
+    void shouldSkipReservationQueryWhenNoCarsMatch() {
+        //given
+        when(carRepositoryMock.findAll(any(Specification.class), any(Sort.class))).thenReturn(List.of());
+
+        //when
+        FleetAvailabilityDto result = fleetAvailabilityService.getCalendar("Toyota", "Corolla", FROM, TO);
+
+        //then
+        assertThat(result.getCars()).isEmpty();
+        verifyNoInteractions(reservationRepositoryMock);
+    }
+
+    @Test
+    void shouldRejectEndDateBeforeStartDate() {
+        //given when then
+        assertThatThrownBy(() -> fleetAvailabilityService.getCalendar(null, null, TO, FROM))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasMessageContaining("End date must not be before start date");
+    }
+
+    @Test
+    void shouldRejectRangeLongerThanAYear() {
+        //given when then
+        assertThatThrownBy(() -> fleetAvailabilityService.getCalendar(null, null, FROM, FROM.plusDays(366)))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasMessageContaining("Calendar range must not exceed 366 days");
+        verifyNoInteractions(carRepositoryMock);
+    }
+
+    private Car createTestCar(Long id, String registrationNumber) {
+        Car car = new Car("Toyota", "Corolla", 2022, registrationNumber, new BigDecimal(150));
+        car.setId(id);
+        return car;
+    }
+}
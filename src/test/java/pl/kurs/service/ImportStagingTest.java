@@ -0,0 +1,144 @@
+package pl.kurs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportStagingTest {
+
+    @Mock
+    private Connection connectionMock;
+
+    @Mock
+    private DatabaseMetaData metaDataMock;
+
+    @Mock
+    private Statement statementMock;
+
+    @Mock
+    private PGConnection pgConnectionMock;
+
+    @Mock
+    private CopyManager copyManagerMock;
+
+    @Mock
+    private CopyIn copyInMock;
+
+    @Mock
+    private ResultSet resultSetMock;
+
+    @Mock
+    private ResultSet highsMock;
+
+    @Mock
+    private PreparedStatement insertBlockMock;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(connectionMock.getMetaData()).thenReturn(metaDataMock);
+        when(metaDataMock.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(connectionMock.createStatement()).thenReturn(statementMock);
+    }
+
+    @Test
+    void shouldCopyRowsIntoStagingTableAndMergeWithOneInsert() throws Exception {
+        //given
+        when(connectionMock.unwrap(PGConnection.class)).thenReturn(pgConnectionMock);
+        when(pgConnectionMock.getCopyAPI()).thenReturn(copyManagerMock);
+        when(copyManagerMock.copyIn(anyString())).thenReturn(copyInMock);
+        when(statementMock.executeUpdate(anyString())).thenReturn(2, 1);
+        when(statementMock.executeQuery(startsWith("SELECT nextval"))).thenReturn(highsMock);
+        when(highsMock.next()).thenReturn(true, false);
+        when(highsMock.getLong(1)).thenReturn(100L);
+        when(connectionMock.prepareStatement(startsWith("INSERT INTO import_id_blocks"))).thenReturn(insertBlockMock);
+        when(statementMock.executeQuery(startsWith("SELECT line"))).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(true, false);
+        when(resultSetMock.getLong(1)).thenReturn(3L);
+        ImportStaging staging = new ImportStaging(connectionMock, ImportType.CARS, 100);
+
+        //when
+        staging.add(2, new String[]{"Audi", "A4", "2021", "WA 10001", "250.00"});
+        staging.add(3, new String[]{"Skoda \"Auto\"", "Octavia", "2022", "WA 10002", "180"});
+        ImportStaging.MergeResult result = staging.merge();
+
+        //then
+        ArgumentCaptor<byte[]> rows = ArgumentCaptor.forClass(byte[].class);
+        verify(copyManagerMock).copyIn("COPY import_staging (line, row_index, producer, model, year_of_production, " +
+                                       "registration_number, price_per_day) FROM STDIN WITH (FORMAT csv)");
+        verify(copyInMock).writeToCopy(rows.capture(), eq(0), anyInt());
+        verify(copyInMock).endCopy();
+        assertThat(new String(rows.getValue(), StandardCharsets.UTF_8)).isEqualTo(
+                "2,0,\"Audi\",\"A4\",\"2021\",\"WA 10001\",\"250.00\"\n" +
+                "3,1,\"Skoda \"\"Auto\"\"\",\"Octavia\",\"2022\",\"WA 10002\",\"180\"\n");
+        verify(statementMock).execute("ANALYZE import_staging");
+        verify(statementMock).executeQuery("SELECT nextval('cars_id_seq') FROM generate_series(1, 1)");
+        verify(insertBlockMock).setLong(1, 0);
+        verify(insertBlockMock).setLong(2, 100);
+        verify(insertBlockMock).executeBatch();
+        verify(statementMock).executeUpdate("UPDATE import_staging SET id = (SELECT high FROM import_id_blocks " +
+                                            "WHERE block = row_index / 50) - 49 + MOD(row_index, 50)");
+        verify(statementMock).executeUpdate("INSERT INTO cars (id, producer, model, year_of_production, " +
+                                            "registration_number, price_per_day, booking_version) SELECT id, producer, model, " +
+                                            "year_of_production, registration_number, price_per_day, 0 FROM import_staging staged " +
+                                            "WHERE NOT EXISTS (SELECT 1 FROM cars existing WHERE " +
+                                            "existing.registration_number = staged.registration_number) ON CONFLICT DO NOTHING");
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.skippedLines()).containsExactly(3L);
+    }
+
+    @Test
+    void shouldCancelOpenCopyOnAbort() throws Exception {
+        //given
+        when(connectionMock.unwrap(PGConnection.class)).thenReturn(pgConnectionMock);
+        when(pgConnectionMock.getCopyAPI()).thenReturn(copyManagerMock);
+        when(copyManagerMock.copyIn(anyString())).thenReturn(copyInMock);
+        when(copyInMock.isActive()).thenReturn(true);
+        ImportStaging staging = new ImportStaging(connectionMock, ImportType.CUSTOMERS, 100);
+        String longValue = "x".repeat(70 * 1024);
+        staging.add(2, new String[]{longValue, "Nowak", "anna@mail.com", "700000002", "DL-2"});
+
+        //when
+        staging.abort();
+
+        //then
+        verify(copyInMock).writeToCopy(any(byte[].class), eq(0), anyInt());
+        verify(copyInMock).cancelCopy();
+    }
+
+    @Test
+    void shouldNotCancelWhenNothingWasCopied() throws Exception {
+        //given
+        ImportStaging staging = new ImportStaging(connectionMock, ImportType.CARS, 100);
+
+        //when
+        staging.abort();
+
+        //then
+        verify(statementMock).execute(startsWith("CREATE LOCAL TEMPORARY TABLE import_staging"));
+        verifyNoInteractions(pgConnectionMock);
+    }
+}
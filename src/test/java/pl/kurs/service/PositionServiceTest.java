@@ -9,10 +9,14 @@ import pl.kurs.entity.Position;
 import pl.kurs.exception.ResourceNotFoundException;
 import pl.kurs.repository.PositionRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +42,51 @@ public class PositionServiceTest {
         assertThat(result).isEqualTo(testPosition);
     }
 
+    @Test
+    void shouldReturnPreloadedPositionWithoutQuery() {
+        //given
+        Position testPosition = new Position(1L, "MECHANIC");
+        when(positionRepositoryMock.findAll()).thenReturn(List.of(testPosition));
+        positionService.preloadPositions();
+
+        //when
+        Position result = positionService.findById(1L);
+
+        //then
+        assertThat(result).isEqualTo(testPosition);
+        verify(positionRepositoryMock, never()).findById(1L);
+    }
+
+    @Test
+    void shouldQueryPositionOnlyOnceWhenNotPreloaded() {
+        //given
+        Position testPosition = new Position(2L, "MANAGER");
+        when(positionRepositoryMock.findById(2L)).thenReturn(Optional.of(testPosition));
+
+        //when
+        positionService.findById(2L);
+        Position result = positionService.findById(2L);
+
+        //then
+        assertThat(result).isEqualTo(testPosition);
+        verify(positionRepositoryMock, times(1)).findById(2L);
+    }
+
+    @Test
+    void shouldReturnPositionReference() {
+        //given
+        Position testPosition = new Position(1L, "MECHANIC");
+        when(positionRepositoryMock.findAll()).thenReturn(List.of(testPosition));
+        when(positionRepositoryMock.getReferenceById(1L)).thenReturn(testPosition);
+        positionService.preloadPositions();
+
+        //when
+        Position result = positionService.getPositionReference(1L);
+
+        //then
+        assertThat(result).isEqualTo(testPosition);
+    }
+
     @Test
     void shouldThrowWhenPositionNotFound() {
         //given
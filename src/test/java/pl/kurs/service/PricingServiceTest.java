@@ -0,0 +1,178 @@
+package pl.kurs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.kurs.dto.LongRentalDiscountDto;
+import pl.kurs.dto.PricingRulesDto;
+import pl.kurs.dto.QuoteDto;
+import pl.kurs.dto.QuoteRequestDto;
+import pl.kurs.dto.SeasonRateDto;
+import pl.kurs.entity.Car;
+import pl.kurs.exception.InvalidDataAccessApiUsageException;
+import pl.kurs.repository.CarRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PricingServiceTest {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Mock
+    private CarRepository carRepositoryMock;
+
+    private PricingService pricingService;
+
+    @BeforeEach
+    void setUp() {
+        pricingService = new PricingService(createProperties(), carRepositoryMock);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "100.00, 2025-03-03, 2025-03-06, 300.00",
+            "100.00, 2025-03-07, 2025-03-10, 340.00",
+            "100.00, 2025-07-01, 2025-07-03, 250.00",
+            "100.00, 2025-03-03, 2025-03-10, 666.00",
+            "100.00, 2025-12-31, 2026-01-02, 230.00",
+            "100.00, 2025-02-28, 2025-03-02, 280.00",
+            "100.00, 2024-02-28, 2024-03-02, 350.00",
+            "100.00, 2025-03-03, 2025-03-03, 100.00",
+            "33.33, 2025-03-08, 2025-03-09, 40.00"
+    })
+    void shouldPriceRentalWithSeasonWeekendAndLongRentalRules(BigDecimal pricePerDay, LocalDate startDate,
+                                                              LocalDate endDate, BigDecimal expectedTotal) {
+        //given
+        Car car = createTestCar(1L, pricePerDay);
+
+        //when
+        BigDecimal total = pricingService.price(car, startDate, endDate);
+
+        //then
+        assertThat(total).isEqualTo(expectedTotal);
+    }
+
+    @Test
+    void shouldThrowWhenRentalPeriodIsTooLong() {
+        //given
+        Car car = createTestCar(1L, new BigDecimal(100));
+
+        //when //then
+        assertThatThrownBy(() -> pricingService.price(car, MONDAY, MONDAY.plusYears(20)))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasMessageContaining("Rental period must not exceed");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "-100, 10, 7, Weekend surcharge must be between -99 and 1000 percent",
+            "20, 100, 7, Long rental discount must be between 0 and 99 percent",
+            "20, 10, 0, Long rental discount minimum days must be between 1 and 3660"
+    })
+    void shouldRejectInvalidRules(int weekendSurcharge, int discountPercent, int minDays, String expectedMessage) {
+        //given
+        PricingRulesDto rules = new PricingRulesDto(weekendSurcharge, null,
+                List.of(new LongRentalDiscountDto(minDays, discountPercent)));
+
+        //when //then
+        assertThatThrownBy(() -> new PricingService(properties(rules), carRepositoryMock))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasMessage(expectedMessage);
+    }
+
+    @Test
+    void shouldRejectSeasonsThatMakeDayRateNonPositive() {
+        //given
+        PricingRulesDto rules = new PricingRulesDto(0, List.of(
+                new SeasonRateDto("sale", "01-01", "01-31", -60),
+                new SeasonRateDto("clearance", "01-15", "01-20", -60)), null);
+
+        //when //then
+        assertThatThrownBy(() -> new PricingService(properties(rules), carRepositoryMock))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasMessage("Combined season surcharges must leave a positive day rate");
+    }
+
+    @Test
+    void shouldQuoteEachRequestAndReportInvalidOnes() {
+        //given
+        when(carRepositoryMock.findAllById(any())).thenReturn(List.of(createTestCar(1L, new BigDecimal(100))));
+        List<QuoteRequestDto> quoteRequests = Arrays.asList(
+                new QuoteRequestDto(1L, MONDAY, MONDAY.plusDays(3)),
+                new QuoteRequestDto(2L, MONDAY, MONDAY.plusDays(3)),
+                new QuoteRequestDto(1L, null, MONDAY),
+                new QuoteRequestDto(1L, MONDAY, MONDAY.minusDays(1)),
+                new QuoteRequestDto(1L, MONDAY, MONDAY.plusYears(20)),
+                null);
+
+        //when
+        List<QuoteDto> quotes = pricingService.quote(quoteRequests);
+
+        //then
+        assertThat(quotes).extracting(QuoteDto::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(quotes.getFirst().getDays()).isEqualTo(3L);
+        assertThat(quotes.getFirst().getTotalAmount()).isEqualTo(new BigDecimal("300.00"));
+        assertThat(quotes.getFirst().getMessage()).isNull();
+        assertThat(quotes).extracting(QuoteDto::getMessage).containsExactly(
+                null,
+                "Car not found with id: 2",
+                "Car ID, start date and end date are required",
+                "End date must not be before start date",
+                "Rental period must not exceed 3660 days",
+                "Car ID, start date and end date are required");
+    }
+
+    @Test
+    void shouldReportOverflowingQuoteAsItemError() {
+        //given
+        when(carRepositoryMock.findAllById(any())).thenReturn(List.of(createTestCar(1L, new BigDecimal("90000000000000000"))));
+        List<QuoteRequestDto> quoteRequests = List.of(new QuoteRequestDto(1L, MONDAY, MONDAY.plusDays(3)));
+
+        //when
+        List<QuoteDto> quotes = pricingService.quote(quoteRequests);
+
+        //then
+        assertThat(quotes).extracting(QuoteDto::getMessage).containsExactly("Total amount is too large");
+        assertThat(quotes.getFirst().getTotalAmount()).isNull();
+    }
+
+    private PricingProperties properties(PricingRulesDto rules) {
+        PricingProperties properties = new PricingProperties();
+        properties.setWeekendSurchargePercent(rules.getWeekendSurchargePercent());
+        properties.setSeasons(rules.getSeasons());
+        properties.setLongRentalDiscounts(rules.getLongRentalDiscounts());
+        return properties;
+    }
+
+    private PricingProperties createProperties() {
+        PricingProperties properties = new PricingProperties();
+        properties.setWeekendSurchargePercent(20);
+        properties.setSeasons(new ArrayList<>(List.of(
+                new SeasonRateDto("summer", "06-15", "08-31", 25),
+                new SeasonRateDto("winter-holidays", "12-20", "01-06", 15),
+                new SeasonRateDto("first-of-march", "03-01", "03-01", 50))));
+        properties.setLongRentalDiscounts(new ArrayList<>(List.of(
+                new LongRentalDiscountDto(7, 10),
+                new LongRentalDiscountDto(30, 25))));
+        return properties;
+    }
+
+    private Car createTestCar(Long id, BigDecimal pricePerDay) {
+        Car car = new Car("BMW", "135i", 2022, "P0 WOLNY", pricePerDay);
+        car.setId(id);
+        return car;
+    }
+}
@@ -0,0 +1,86 @@
+package pl.kurs.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.entity.Reservation;
+import pl.kurs.entity.Status;
+import pl.kurs.repository.ReservationRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReminderQueryStatementCountTest {
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private CarRentalReminderService reminderService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 60})
+    void shouldLoadReminderDataWithSingleStatementRegardlessOfReservationCount(int reservationCount) {
+        //given
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        for (int i = 0; i < reservationCount; i++) {
+            Car car = new Car("Skoda", "Octavia", 2022, "RM " + (10000 + i), new BigDecimal(150));
+            Customer customer = new Customer("Jan", "Nowak", "jan" + i + "@mail.com", String.valueOf(600000000 + i), "RMD " + (10000 + i));
+            reservationRepository.save(new Reservation(car, customer, tomorrow, tomorrow.plusDays(2), new BigDecimal(300), Status.RESERVED));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<SimpleMailMessage> sentMessages = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            sentMessages.addAll(Arrays.asList((SimpleMailMessage[]) invocation.getRawArguments()[0]));
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        //when
+        reminderService.sendDailyReminders();
+
+        //then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(sentMessages).hasSize(reservationCount * 2);
+        assertThat(sentMessages).extracting(SimpleMailMessage::getText).anyMatch(text -> text.contains("RM 10000"));
+        statistics.setStatisticsEnabled(false);
+    }
+}
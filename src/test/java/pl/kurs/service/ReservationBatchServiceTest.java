@@ -0,0 +1,189 @@
+package pl.kurs.service;
+
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.kurs.dto.BatchItemStatus;
+import pl.kurs.dto.ReservationBatchResultDto;
+import pl.kurs.dto.ReservationDto;
+import pl.kurs.dto.ReservationPeriodDto;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.entity.Reservation;
+import pl.kurs.mapper.ReservationMapper;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CustomerRepository;
+import pl.kurs.repository.ReservationRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationBatchServiceTest {
+    private static final LocalDate FROM = LocalDate.of(2025, 7, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 7, 10);
+
+    @Mock
+    private ReservationRepository reservationRepositoryMock;
+
+    @Mock
+    private CarRepository carRepositoryMock;
+
+    @Mock
+    private CustomerRepository customerRepositoryMock;
+
+    @Mock
+    private ReservationMapper reservationMapperMock;
+
+    @Mock
+    private CarAvailabilityIndex carAvailabilityIndexMock;
+
+    @Mock
+    private TotalCountCache totalCountCacheMock;
+
+    @Mock
+    private PricingService pricingServiceMock;
+
+    private ReservationBatchService reservationBatchService;
+
+    @BeforeEach
+    void setUp() {
+        reservationBatchService = new ReservationBatchService(reservationRepositoryMock, carRepositoryMock, customerRepositoryMock,
+                reservationMapperMock, carAvailabilityIndexMock, totalCountCacheMock, Validation.buildDefaultValidatorFactory().getValidator(),
+                pricingServiceMock);
+    }
+
+    @Test
+    void shouldCreateReservationsAndReportConflictsPerItem() {
+        //given
+        Car car = createTestCar(1L);
+        Customer customer = createTestCustomer();
+        List<ReservationDto> reservationDtos = List.of(
+                createReservationDto(1L, FROM, TO),
+                createReservationDto(1L, TO.minusDays(2), TO.plusDays(2)),
+                createReservationDto(1L, TO.plusDays(5), TO.plusDays(6)),
+                createReservationDto(1L, TO.plusDays(20), TO.plusDays(22)));
+        when(carRepositoryMock.findAllForUpdate(any())).thenReturn(List.of(car));
+        when(customerRepositoryMock.findAllById(any())).thenReturn(List.of(customer));
+        when(reservationRepositoryMock.findPeriodsOverlapping(any(), any(), any()))
+                .thenReturn(List.of(new ReservationPeriodDto(99L, 1L, TO.plusDays(4), TO.plusDays(6))));
+        when(reservationMapperMock.dtoToEntity(any(ReservationDto.class))).thenAnswer(inv -> new Reservation());
+        when(reservationRepositoryMock.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(reservationMapperMock.entityToDto(any(Reservation.class))).thenReturn(new ReservationDto());
+        when(pricingServiceMock.price(eq(car), any(), any())).thenReturn(new BigDecimal("1000.00"));
+
+        //when
+        List<ReservationBatchResultDto> results = reservationBatchService.createReservations(reservationDtos);
+
+        //then
+        assertThat(results).extracting(ReservationBatchResultDto::getStatus).containsExactly(
+                BatchItemStatus.CREATED, BatchItemStatus.CONFLICT, BatchItemStatus.CONFLICT, BatchItemStatus.CREATED);
+        assertThat(results).extracting(ReservationBatchResultDto::getIndex).containsExactly(0, 1, 2, 3);
+        verify(reservationRepositoryMock).saveAll(anyList());
+        verify(carRepositoryMock).incrementBookingVersions(any());
+        verify(carAvailabilityIndexMock, times(2)).register(any(Reservation.class));
+        verify(pricingServiceMock, times(2)).price(eq(car), any(), any());
+        verify(totalCountCacheMock).invalidate(Reservation.class);
+    }
+
+    @Test
+    void shouldAcceptReservationStartingOnEndDateOfAnother() {
+        //given
+        Car car = createTestCar(1L);
+        Customer customer = createTestCustomer();
+        List<ReservationDto> reservationDtos = List.of(
+                createReservationDto(1L, FROM, TO),
+                createReservationDto(1L, TO, TO.plusDays(3)));
+        when(carRepositoryMock.findAllForUpdate(any())).thenReturn(List.of(car));
+        when(customerRepositoryMock.findAllById(any())).thenReturn(List.of(customer));
+        when(reservationRepositoryMock.findPeriodsOverlapping(any(), any(), any()))
+                .thenReturn(List.of(new ReservationPeriodDto(99L, 1L, FROM.minusDays(3), FROM)));
+        when(reservationMapperMock.dtoToEntity(any(ReservationDto.class))).thenAnswer(inv -> new Reservation());
+        when(reservationRepositoryMock.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(reservationMapperMock.entityToDto(any(Reservation.class))).thenReturn(new ReservationDto());
+        when(pricingServiceMock.price(eq(car), any(), any())).thenReturn(new BigDecimal("1000.00"));
+
+        //when
+        List<ReservationBatchResultDto> results = reservationBatchService.createReservations(reservationDtos);
+
+        //then
+        assertThat(results).extracting(ReservationBatchResultDto::getStatus)
+                .containsExactly(BatchItemStatus.CREATED, BatchItemStatus.CREATED);
+    }
+
+    @Test
+    void shouldReportMissingCarsAndInvalidItems() {
+        //given
+        Customer customer = createTestCustomer();
+        ReservationDto invalidDates = createReservationDto(1L, TO, FROM);
+        ReservationDto unknownStatus = createReservationDto(1L, FROM, TO);
+        unknownStatus.setStatusName("LOST");
+        when(carRepositoryMock.findAllForUpdate(any())).thenReturn(List.of());
+        when(customerRepositoryMock.findAllById(any())).thenReturn(List.of(customer));
+
+        //when
+        List<ReservationBatchResultDto> results = reservationBatchService.createReservations(
+                List.of(invalidDates, unknownStatus, createReservationDto(5L, FROM, TO)));
+
+        //then
+        assertThat(results).extracting(ReservationBatchResultDto::getStatus).containsExactly(
+                BatchItemStatus.INVALID, BatchItemStatus.INVALID, BatchItemStatus.NOT_FOUND);
+        assertThat(results.get(0).getMessage()).contains("End date must not be before start date");
+        assertThat(results.get(1).getMessage()).contains("Unknown reservation status: LOST");
+        assertThat(results.get(2).getMessage()).contains("Car not found with id: 5");
+        verify(reservationRepositoryMock, never()).saveAll(anyList());
+        verify(reservationRepositoryMock, never()).findPeriodsOverlapping(any(), any(), any());
+    }
+
+    @Test
+    void shouldReportMissingCustomer() {
+        //given
+        when(carRepositoryMock.findAllForUpdate(any())).thenReturn(List.of(createTestCar(1L)));
+        when(customerRepositoryMock.findAllById(any())).thenReturn(List.of());
+
+        //when
+        List<ReservationBatchResultDto> results = reservationBatchService.createReservations(
+                List.of(createReservationDto(1L, FROM, TO)));
+
+        //then
+        assertThat(results.getFirst().getStatus()).isEqualTo(BatchItemStatus.NOT_FOUND);
+        assertThat(results.getFirst().getMessage()).contains("Customer not found with id: 1");
+    }
+
+    @Test
+    void shouldNotTouchDatabaseWhenAllItemsAreInvalid() {
+        //when
+        List<ReservationBatchResultDto> results = reservationBatchService.createReservations(
+                List.of(new ReservationDto()));
+
+        //then
+        assertThat(results.getFirst().getStatus()).isEqualTo(BatchItemStatus.INVALID);
+        verifyNoInteractions(carRepositoryMock, customerRepositoryMock, reservationRepositoryMock);
+    }
+
+    private ReservationDto createReservationDto(Long carId, LocalDate startDate, LocalDate endDate) {
+        return new ReservationDto(carId, 1L, startDate, endDate, new BigDecimal(500), "RESERVED");
+    }
+
+    private Car createTestCar(Long id) {
+        Car car = new Car("BMW", "135i", 2022, "P0 WOLNY", new BigDecimal(600));
+        car.setId(id);
+        return car;
+    }
+
+    private Customer createTestCustomer() {
+        Customer customer = new Customer("Jan", "Kowalski", "j.kowal@gmail.com", "505606707", "PPX 12512");
+        customer.setId(1L);
+        return customer;
+    }
+}
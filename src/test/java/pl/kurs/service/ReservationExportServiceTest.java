@@ -0,0 +1,91 @@
+package pl.kurs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.kurs.dto.ReservationDto;
+import pl.kurs.repository.ReservationRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExportServiceTest {
+    private static final LocalDate FROM = LocalDate.of(2025, 7, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 7, 10);
+
+    @Mock
+    private ReservationRepository reservationRepositoryMock;
+
+    private ReservationExportService reservationExportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        reservationExportService = new ReservationExportService(reservationRepositoryMock, objectMapper);
+    }
+
+    @Test
+    void shouldWriteReservationsAsNdjson() throws Exception {
+        //given
+        when(reservationRepositoryMock.streamAllForExport())
+                .thenReturn(Stream.of(createTestReservation(1L), createTestReservation(2L)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //when
+        long rows = reservationExportService.exportReservations(ExportFormat.NDJSON, output);
+
+        //then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"id\":1").contains("\"startDate\":\"01-07-2025\"");
+        assertThat(lines[1]).contains("\"id\":2");
+    }
+
+    @Test
+    void shouldWriteReservationsAsCsv() throws Exception {
+        //given
+        when(reservationRepositoryMock.streamAllForExport()).thenReturn(Stream.of(createTestReservation(7L)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //when
+        long rows = reservationExportService.exportReservations(ExportFormat.CSV, output);
+
+        //then
+        assertThat(rows).isEqualTo(1);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,carId,customerId,startDate,endDate,totalAmount,status\n" +
+                "7,3,4,2025-07-01,2025-07-10,5400.50,RESERVED\n");
+    }
+
+    @Test
+    void shouldWriteNothingForEmptyNdjsonExport() throws Exception {
+        //given
+        when(reservationRepositoryMock.streamAllForExport()).thenReturn(Stream.empty());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //when
+        long rows = reservationExportService.exportReservations(ExportFormat.NDJSON, output);
+
+        //then
+        assertThat(rows).isZero();
+        assertThat(output.size()).isZero();
+    }
+
+    private ReservationDto createTestReservation(Long id) {
+        ReservationDto reservation = new ReservationDto(3L, 4L, FROM, TO, new BigDecimal("5400.50"), "RESERVED");
+        reservation.setId(id);
+        return reservation;
+    }
+}
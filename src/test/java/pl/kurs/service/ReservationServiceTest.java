@@ -5,10 +5,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import pl.kurs.dto.ReservationDto;
+import pl.kurs.dto.ReservationReminderDto;
 import pl.kurs.entity.Car;
 import pl.kurs.entity.Customer;
 import pl.kurs.entity.Reservation;
@@ -19,13 +27,21 @@ import pl.kurs.mapper.ReservationMapper;
 import pl.kurs.repository.ReservationRepository;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +52,9 @@ public class ReservationServiceTest {
     @Mock
     private ReservationRepository reservationRepositoryMock;
 
+    @Mock
+    private TotalCountCache totalCountCacheMock;
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -48,6 +67,15 @@ public class ReservationServiceTest {
     @Mock
     private CustomerService customerService;
 
+    @Mock
+    private CarAvailabilityIndex carAvailabilityIndex;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PricingService pricingService;
+
     @Test
     void shouldReturnReservationWhenGetById() {
         //given
@@ -76,8 +104,8 @@ public class ReservationServiceTest {
     void shouldReturnPagedReservationsWhenGetAll() {
         //given
         Reservation testReservation = createTestReservation();
-        Page<Reservation> page = new PageImpl<>(List.of(testReservation));
-        when(reservationRepositoryMock.findAll(PageRequest.of(0, 2))).thenReturn(page);
+        Slice<Reservation> slice = new SliceImpl<>(List.of(testReservation), PageRequest.of(0, 2), false);
+        when(reservationRepositoryMock.findAllBy(PageRequest.of(0, 2))).thenReturn(slice);
 
         //when
         Page<Reservation> result = reservationService.getAll(0, 2);
@@ -86,12 +114,28 @@ public class ReservationServiceTest {
         assertThat(result.getContent()).containsExactly(testReservation);
     }
 
+    @Test
+    void shouldTakeTotalFromCountCacheWhenPageIsFull() {
+        //given
+        Slice<Reservation> slice = new SliceImpl<>(List.of(createTestReservation()), PageRequest.of(0, 1), true);
+        when(reservationRepositoryMock.findAllBy(PageRequest.of(0, 1))).thenReturn(slice);
+        when(totalCountCacheMock.count(eq(Reservation.class), any())).thenReturn(42L);
+
+        //when
+        Page<Reservation> result = reservationService.getAll(0, 1);
+
+        //then
+        assertThat(result.getTotalElements()).isEqualTo(42L);
+    }
+
     @Test
     void shouldSaveReservation() {
         //given
         Reservation testReservation = createTestReservation();
         Car testCar = createTestCar();
+        runTransactionsInline();
         when(carService.findForUpdate(1L)).thenReturn(testCar);
+        when(customerService.getCustomerReference(1L)).thenReturn(testReservation.getCustomer());
         when(reservationRepositoryMock.existsOverlap(1L, FROM, TO)).thenReturn(false);
         when(reservationRepositoryMock.save(testReservation)).thenReturn(testReservation);
 
@@ -100,13 +144,158 @@ public class ReservationServiceTest {
 
         //then
         assertThat(savedReservation).isEqualTo(testReservation);
+        assertThat(savedReservation.getCar()).isEqualTo(testCar);
+        verify(carService, never()).incrementBookingVersion(any(), any());
+        verify(carAvailabilityIndex).register(testReservation);
     }
 
     @Test
     void shouldThrowWhenSaveReservationWithOverlap() {
         //given
         Reservation testReservation = createTestReservation();
+        runTransactionsInline();
+        when(carService.findForUpdate(1L)).thenReturn(createTestCar());
+        when(reservationRepositoryMock.existsOverlap(1L, FROM, TO)).thenReturn(true);
+
+        //when then
+        assertThatThrownBy(() -> reservationService.saveReservation(testReservation))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Car already booked for this date");
+    }
+
+    @Test
+    void shouldSaveReservationOptimistically() {
+        //given
+        useOptimisticBooking();
+        Reservation testReservation = createTestReservation();
+        Car testCar = createTestCar();
+        runTransactionsInline();
+        when(carService.getBookingVersion(1L)).thenReturn(3L);
+        when(reservationRepositoryMock.existsOverlap(1L, FROM, TO)).thenReturn(false);
+        when(reservationRepositoryMock.existsOverlapExcludingReservation(1L, FROM, TO, 1L)).thenReturn(false);
+        when(carService.incrementBookingVersion(1L, 3L)).thenReturn(true);
+        when(carService.getCarReference(1L)).thenReturn(testCar);
+        when(customerService.getCustomerReference(1L)).thenReturn(testReservation.getCustomer());
+        when(reservationRepositoryMock.save(testReservation)).thenReturn(testReservation);
+
+        //when
+        Reservation savedReservation = reservationService.saveReservation(testReservation);
+
+        //then
+        assertThat(savedReservation).isEqualTo(testReservation);
+        verify(carService, never()).findForUpdate(any());
+        verify(carAvailabilityIndex).register(testReservation);
+    }
+
+    @Test
+    void shouldRecheckOverlapInsteadOfRetryingWhenBookingVersionChanged() {
+        //given
+        useOptimisticBooking();
+        Reservation testReservation = createTestReservation();
+        runTransactionsInline();
+        when(carService.getBookingVersion(1L)).thenReturn(3L, 4L);
+        when(reservationRepositoryMock.existsOverlap(1L, FROM, TO)).thenReturn(false);
+        when(reservationRepositoryMock.existsOverlapExcludingReservation(1L, FROM, TO, 1L)).thenReturn(false);
+        when(carService.incrementBookingVersion(1L, 3L)).thenReturn(false);
+        when(carService.incrementBookingVersion(1L, 4L)).thenReturn(true);
+        when(carService.getCarReference(1L)).thenReturn(createTestCar());
+        when(customerService.getCustomerReference(1L)).thenReturn(createTestCustomer());
+        when(reservationRepositoryMock.save(testReservation)).thenReturn(testReservation);
+
+        //when
+        Reservation savedReservation = reservationService.saveReservation(testReservation);
+
+        //then
+        assertThat(savedReservation).isEqualTo(testReservation);
+        verify(reservationRepositoryMock, times(1)).save(testReservation);
+        verify(reservationRepositoryMock, times(2)).existsOverlapExcludingReservation(1L, FROM, TO, 1L);
+    }
+
+    @Test
+    void shouldThrowWhenConcurrentlyCommittedReservationOverlaps() {
+        //given
+        useOptimisticBooking();
+        Reservation testReservation = createTestReservation();
+        runTransactionsInline();
+        when(carService.getBookingVersion(1L)).thenReturn(3L, 4L);
+        when(reservationRepositoryMock.existsOverlap(1L, FROM, TO)).thenReturn(false);
+        when(reservationRepositoryMock.existsOverlapExcludingReservation(1L, FROM, TO, 1L)).thenReturn(false, true);
+        when(carService.incrementBookingVersion(1L, 3L)).thenReturn(false);
+        when(carService.getCarReference(1L)).thenReturn(createTestCar());
+        when(customerService.getCustomerReference(1L)).thenReturn(createTestCustomer());
+        when(reservationRepositoryMock.save(testReservation)).thenReturn(testReservation);
+
+        //when then
+        assertThatThrownBy(() -> reservationService.saveReservation(testReservation))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Car already booked for this date");
+        verify(carAvailabilityIndex, never()).register(any());
+    }
+
+    @Test
+    void shouldGiveUpClaimingBookingVersionAfterMaxAttempts() {
+        //given
+        useOptimisticBooking();
+        Reservation testReservation = createTestReservation();
+        runTransactionsInline();
+        when(carService.getBookingVersion(1L)).thenReturn(3L);
+        when(reservationRepositoryMock.existsOverlap(1L, FROM, TO)).thenReturn(false);
+        when(reservationRepositoryMock.existsOverlapExcludingReservation(1L, FROM, TO, 1L)).thenReturn(false);
+        when(carService.incrementBookingVersion(1L, 3L)).thenReturn(false);
+        when(carService.getCarReference(1L)).thenReturn(createTestCar());
+        when(customerService.getCustomerReference(1L)).thenReturn(createTestCustomer());
+        when(reservationRepositoryMock.save(testReservation)).thenReturn(testReservation);
+
+        //when then
+        assertThatThrownBy(() -> reservationService.saveReservation(testReservation))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Car is being booked by another customer");
+        verify(carService, times(3)).incrementBookingVersion(1L, 3L);
+        verify(carAvailabilityIndex, never()).register(any());
+    }
+
+    @Test
+    void shouldTranslateOverlapConstraintViolation() {
+        //given
+        Reservation testReservation = createTestReservation();
+        runTransactionsInline();
         when(carService.findForUpdate(1L)).thenReturn(createTestCar());
+        when(reservationRepositoryMock.existsOverlap(1L, FROM, TO)).thenReturn(false);
+        when(customerService.getCustomerReference(1L)).thenReturn(createTestCustomer());
+        when(reservationRepositoryMock.save(testReservation)).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException(
+                "ERROR: conflicting key value violates exclusion constraint \"ex_reservations_car_period\"", "23P01")));
+
+        //when then
+        assertThatThrownBy(() -> reservationService.saveReservation(testReservation))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Car already booked for this date");
+    }
+
+    @Test
+    void shouldThrowWhenOptimisticReservationKeepsFailingOnLocks() {
+        //given
+        useOptimisticBooking();
+        Reservation testReservation = createTestReservation();
+        runTransactionsInline();
+        when(reservationRepositoryMock.existsOverlap(1L, FROM, TO)).thenReturn(false);
+        when(carService.getCarReference(1L)).thenReturn(createTestCar());
+        when(customerService.getCustomerReference(1L)).thenReturn(createTestCustomer());
+        when(reservationRepositoryMock.save(testReservation)).thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        //when then
+        assertThatThrownBy(() -> reservationService.saveReservation(testReservation))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Car is being booked by another customer");
+        verify(reservationRepositoryMock, times(3)).save(testReservation);
+    }
+
+    @Test
+    void shouldThrowWhenOptimisticReservationOverlaps() {
+        //given
+        useOptimisticBooking();
+        Reservation testReservation = createTestReservation();
+        runTransactionsInline();
         when(reservationRepositoryMock.existsOverlap(1L, FROM, TO)).thenReturn(true);
 
         //when then
@@ -125,6 +314,8 @@ public class ReservationServiceTest {
         when(reservationRepositoryMock.existsOverlapExcludingReservation(1L, FROM.plusDays(2),
                 TO.plusDays(5), 1L)).thenReturn(false);
         when(reservationRepositoryMock.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(pricingService.price(testReservation.getCar(), FROM.plusDays(2), TO.plusDays(5)))
+                .thenReturn(new BigDecimal("7320.00"));
 
         // when
         Reservation updatedReservation = reservationService.updateReservation(testReservationDto);
@@ -132,8 +323,9 @@ public class ReservationServiceTest {
         // then
         assertThat(updatedReservation.getStartDate()).isEqualTo(testReservationDto.getStartDate());
         assertThat(updatedReservation.getEndDate()).isEqualTo(testReservationDto.getEndDate());
-        assertThat(updatedReservation.getTotalAmount()).isEqualByComparingTo(testReservationDto.getTotalAmount());
+        assertThat(updatedReservation.getTotalAmount()).isEqualByComparingTo("7320.00");
         assertThat(updatedReservation.getStatus().getValue()).isEqualTo(testReservationDto.getStatusName());
+        verify(carAvailabilityIndex).register(updatedReservation);
     }
 
     @Test
@@ -208,6 +400,7 @@ public class ReservationServiceTest {
 
         //then
         assertThat(canceledReservation.getStatus()).isEqualTo(Status.CANCELED);
+        verify(carAvailabilityIndex).unregister(1L);
     }
 
     @Test
@@ -223,6 +416,8 @@ public class ReservationServiceTest {
         when(carService.getCarById(1L)).thenReturn(testCar);
         when(customerService.getCustomerById(1L)).thenReturn(testCustomer);
         when(reservationMapperMock.dtoToEntityWithId(testReservationDto)).thenReturn(testReservation);
+        when(pricingService.price(testCar, testReservation.getStartDate(), testReservation.getEndDate()))
+                .thenReturn(new BigDecimal("4860.00"));
 
         // when
         Reservation result = reservationService.createReservation(testReservationDto);
@@ -231,20 +426,34 @@ public class ReservationServiceTest {
         assertThat(result.getCar()).isEqualTo(testCar);
         assertThat(result.getCustomer()).isEqualTo(testCustomer);
         assertThat(result.getStatus()).isEqualTo(Status.RESERVED);
+        assertThat(result.getTotalAmount()).isEqualByComparingTo("4860.00");
     }
 
     @Test
-    void shouldFindActiveReservationsForDate() {
+    void shouldReadRemindersForDateAndCloseStream() {
         // given
-        List<Reservation> activeReservations = List.of(new Reservation(), new Reservation());
-
-        when(reservationRepositoryMock.findActiveReservationForDate(FROM)).thenReturn(activeReservations);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(reservationRepositoryMock.streamRemindersForDate(FROM)).thenReturn(Stream.of(
+                new ReservationReminderDto(), new ReservationReminderDto(), new ReservationReminderDto())
+                .onClose(() -> closed.set(true)));
 
         // when
-        List<Reservation> result = reservationService.findActiveReservationForDate(FROM);
+        List<ReservationReminderDto> reminders = reservationService.getRemindersForDate(FROM);
 
         // then
-        assertThat(result).hasSize(2);
+        assertThat(reminders).hasSize(3);
+        assertThat(closed).isTrue();
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<Reservation>>getArgument(0).doInTransaction(null));
+    }
+
+    private void useOptimisticBooking() {
+        ReflectionTestUtils.setField(reservationService, "bookingMode", BookingMode.OPTIMISTIC);
+        ReflectionTestUtils.setField(reservationService, "maxBookingAttempts", 3);
+        ReflectionTestUtils.setField(reservationService, "bookingBackoffMs", 0L);
     }
 
     private Car createTestCar() {
@@ -0,0 +1,116 @@
+package pl.kurs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TotalCountCacheTest {
+    private TotalCountCache totalCountCache;
+    private AtomicLong counterCalls;
+
+    @BeforeEach
+    void setUp() {
+        totalCountCache = new TotalCountCache();
+        ReflectionTestUtils.setField(totalCountCache, "maxStaleness", Duration.ofMinutes(1));
+        counterCalls = new AtomicLong();
+    }
+
+    @Test
+    void shouldReuseCountWithinMaxStaleness() {
+        //when
+        long first = totalCountCache.count(Car.class, this::countCars);
+        long second = totalCountCache.count(Car.class, this::countCars);
+
+        //then
+        assertThat(first).isEqualTo(10L);
+        assertThat(second).isEqualTo(10L);
+        assertThat(counterCalls.get()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldRecountAfterInvalidationOfSameEntityOnly() {
+        //given
+        totalCountCache.count(Car.class, this::countCars);
+        totalCountCache.count(Customer.class, this::countCars);
+
+        //when
+        totalCountCache.invalidate(Car.class);
+        totalCountCache.count(Car.class, this::countCars);
+        totalCountCache.count(Customer.class, this::countCars);
+
+        //then
+        assertThat(counterCalls.get()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldRecountWhenEntryIsOlderThanMaxStaleness() {
+        //given
+        ReflectionTestUtils.setField(totalCountCache, "maxStaleness", Duration.ofNanos(1));
+
+        //when
+        totalCountCache.count(Car.class, this::countCars);
+        totalCountCache.count(Car.class, this::countCars);
+
+        //then
+        assertThat(counterCalls.get()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldAlwaysCountWhenCachingIsDisabled() {
+        //given
+        ReflectionTestUtils.setField(totalCountCache, "maxStaleness", Duration.ZERO);
+
+        //when
+        totalCountCache.count(Car.class, this::countCars);
+        totalCountCache.count(Car.class, this::countCars);
+
+        //then
+        assertThat(counterCalls.get()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldNotCacheCountTakenWhileInvalidated() {
+        //when
+        totalCountCache.count(Car.class, () -> {
+            totalCountCache.invalidate(Car.class);
+            return countCars();
+        });
+        totalCountCache.count(Car.class, this::countCars);
+
+        //then
+        assertThat(counterCalls.get()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldInvalidateAgainAfterCommit() {
+        //given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            totalCountCache.invalidate(Car.class);
+            totalCountCache.count(Car.class, this::countCars);
+
+            //when
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            totalCountCache.count(Car.class, this::countCars);
+
+            //then
+            assertThat(counterCalls.get()).isEqualTo(2L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private long countCars() {
+        counterCalls.incrementAndGet();
+        return 10L;
+    }
+}
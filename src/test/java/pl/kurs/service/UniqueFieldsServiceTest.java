@@ -0,0 +1,158 @@
+package pl.kurs.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import pl.kurs.dto.UniqueValuesDto;
+import pl.kurs.entity.Customer;
+import pl.kurs.entity.Employee;
+import pl.kurs.exception.DuplicateValueException;
+import pl.kurs.repository.CustomerRepository;
+import pl.kurs.repository.EmployeeRepository;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniqueFieldsServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepositoryMock;
+
+    @Mock
+    private EmployeeRepository employeeRepositoryMock;
+
+    @Mock
+    private UniquenessIndex uniquenessIndexMock;
+
+    private UniqueFieldsService uniqueFieldsService;
+
+    @BeforeEach
+    void setUp() {
+        uniqueFieldsService = new UniqueFieldsService(customerRepositoryMock, employeeRepositoryMock, uniquenessIndexMock);
+    }
+
+    @Test
+    void shouldReportEveryCollidingCustomerFieldFromSingleQuery() {
+        //given
+        when(uniquenessIndexMock.mightContain(any(), anyString())).thenReturn(true);
+        when(customerRepositoryMock.findUniqueValueConflicts("jan@mail.com", "505606707", "PPX 12512", 7L)).thenReturn(List.of(
+                new UniqueValuesDto("jan@mail.com", "111222333", "AAA 11111"),
+                new UniqueValuesDto("other@mail.com", "999888777", "PPX 12512")));
+
+        //when
+        Map<String, String> conflicts = uniqueFieldsService.findCustomerConflicts(7L, "jan@mail.com", "505606707", "PPX 12512");
+
+        //then
+        assertThat(conflicts).containsExactly(
+                Map.entry("email", "Customer e-mail already exists"),
+                Map.entry("drivingLicenseNumber", "Driving License number already exists"));
+        verify(customerRepositoryMock, times(1)).findUniqueValueConflicts(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldOnlyQueryValuesThatMightExist() {
+        //given
+        when(uniquenessIndexMock.mightContain(UniqueKey.CUSTOMER_EMAIL, "jan@mail.com")).thenReturn(false);
+        when(uniquenessIndexMock.mightContain(UniqueKey.CUSTOMER_PHONE_NUMBER, "505606707")).thenReturn(true);
+        when(customerRepositoryMock.findUniqueValueConflicts(null, "505606707", null, 0L)).thenReturn(List.of());
+
+        //when
+        Map<String, String> conflicts = uniqueFieldsService.findCustomerConflicts(null, "jan@mail.com", "505606707", " ");
+
+        //then
+        assertThat(conflicts).isEmpty();
+    }
+
+    @Test
+    void shouldSkipQueryWhenNoValueMightExist() {
+        //given
+        when(uniquenessIndexMock.mightContain(any(), anyString())).thenReturn(false);
+
+        //when
+        Map<String, String> customerConflicts = uniqueFieldsService.findCustomerConflicts(null, "jan@mail.com", "505606707", "PPX 12512");
+        Map<String, String> employeeConflicts = uniqueFieldsService.findEmployeeConflicts(null, "ola@firma.pl", null);
+
+        //then
+        assertThat(customerConflicts).isEmpty();
+        assertThat(employeeConflicts).isEmpty();
+        verifyNoInteractions(customerRepositoryMock, employeeRepositoryMock);
+    }
+
+    @Test
+    void shouldReportCollidingEmployeeFields() {
+        //given
+        when(uniquenessIndexMock.mightContain(any(), anyString())).thenReturn(true);
+        when(employeeRepositoryMock.findUniqueValueConflicts("ola@firma.pl", "600700800", 0L))
+                .thenReturn(List.of(new UniqueValuesDto("ola@firma.pl", "600700800")));
+
+        //when
+        Map<String, String> conflicts = uniqueFieldsService.findEmployeeConflicts(null, "ola@firma.pl", "600700800");
+
+        //then
+        assertThat(conflicts).containsExactly(
+                Map.entry("email", "Employee e-mail already exists"),
+                Map.entry("phoneNumber", "Employee phone number already exists"));
+    }
+
+    @Test
+    void shouldTranslatePostgresUniqueViolation() {
+        //given
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("ERROR: duplicate key value violates unique constraint \"customers_e_mail_key\""),
+                        "customers_e_mail_key"));
+
+        //when
+        RuntimeException translated = uniqueFieldsService.translate(exception, Customer.class);
+
+        //then
+        assertThat(translated).isInstanceOf(DuplicateValueException.class)
+                .hasMessage("Customer e-mail already exists")
+                .hasCause(exception);
+        assertThat(((DuplicateValueException) translated).getFieldErrors()).containsOnlyKeys("email");
+    }
+
+    @Test
+    void shouldTranslateH2UniqueViolationByBackingIndexName() {
+        //given
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("Unique index or primary key violation: \"PUBLIC.EMPLOYEES_PHONE_NUMBER_KEY_INDEX_4 ON " +
+                                         "PUBLIC.EMPLOYEES(PHONE_NUMBER NULLS FIRST) VALUES ( /* 1 */ '600700800' )\""),
+                        " PUBLIC.EMPLOYEES_PHONE_NUMBER_KEY_INDEX_4"));
+
+        //when
+        RuntimeException translated = uniqueFieldsService.translate(exception, Employee.class);
+
+        //then
+        assertThat(translated).hasMessage("Employee phone number already exists");
+    }
+
+    @Test
+    void shouldReturnOriginalExceptionForOtherIntegrityViolations() {
+        //given
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("NULL not allowed for column \"E_MAIL\"");
+        DataIntegrityViolationException otherTable = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("duplicate key value violates unique constraint \"positions_name_key\""), "positions_name_key"));
+        DataIntegrityViolationException otherEntity = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("duplicate key value violates unique constraint \"employees_e_mail_key\""), "employees_e_mail_key"));
+
+        //when then
+        assertThat(uniqueFieldsService.translate(notNull, Customer.class)).isSameAs(notNull);
+        assertThat(uniqueFieldsService.translate(otherTable, Customer.class)).isSameAs(otherTable);
+        assertThat(uniqueFieldsService.translate(otherEntity, Customer.class)).isSameAs(otherEntity);
+    }
+}
@@ -0,0 +1,174 @@
+package pl.kurs.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.kurs.entity.Car;
+import pl.kurs.entity.Customer;
+import pl.kurs.entity.Employee;
+import pl.kurs.entity.Position;
+import pl.kurs.repository.CarRepository;
+import pl.kurs.repository.CustomerRepository;
+import pl.kurs.repository.EmployeeRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniquenessIndexTest {
+
+    @Mock
+    private CarRepository carRepositoryMock;
+
+    @Mock
+    private CustomerRepository customerRepositoryMock;
+
+    @Mock
+    private EmployeeRepository employeeRepositoryMock;
+
+    private UniquenessIndex uniquenessIndex;
+
+    @BeforeEach
+    void setUp() {
+        uniquenessIndex = new UniquenessIndex(carRepositoryMock, customerRepositoryMock, employeeRepositoryMock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldReportEveryValueAsPossiblyPresentBeforeRebuild() {
+        //when then
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CUSTOMER_EMAIL, "a@mail.com")).isTrue();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, "WA 00000")).isTrue();
+    }
+
+    @Test
+    void shouldAnswerFromExistingValuesAfterRebuild() {
+        //given
+        stubRepositories();
+
+        //when
+        uniquenessIndex.rebuild();
+
+        //then
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, "WA 12345")).isTrue();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, "WA 99999")).isFalse();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CUSTOMER_EMAIL, "jan@mail.com")).isTrue();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CUSTOMER_PHONE_NUMBER, "505606707")).isTrue();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CUSTOMER_DRIVING_LICENSE_NUMBER, "PPX 12512")).isTrue();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.EMPLOYEE_EMAIL, "ola@firma.pl")).isTrue();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.EMPLOYEE_PHONE_NUMBER, "600700800")).isTrue();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.EMPLOYEE_PHONE_NUMBER, "505606707")).isFalse();
+    }
+
+    @Test
+    void shouldTrackRegisteredAndRemovedEntities() {
+        //given
+        stubRepositories();
+        uniquenessIndex.rebuild();
+        Car car = new Car("Audi", "A4", 2023, "WI 44556", new BigDecimal(300));
+        Customer customer = new Customer("Anna", "Lis", "anna@mail.com", "501501501", "ABC 11111");
+        Employee employee = new Employee("Piotr", "Nowak", new Position("Manager"), "502502502", "piotr@firma.pl");
+
+        //when
+        uniquenessIndex.register(car);
+        uniquenessIndex.register(customer);
+        uniquenessIndex.register(employee);
+        uniquenessIndex.register(new Position("Driver"));
+
+        //then
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, "WI 44556")).isTrue();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CUSTOMER_DRIVING_LICENSE_NUMBER, "ABC 11111")).isTrue();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.EMPLOYEE_EMAIL, "piotr@firma.pl")).isTrue();
+
+        //when
+        uniquenessIndex.unregister(car);
+        uniquenessIndex.unregister(customer);
+        uniquenessIndex.unregister(employee);
+        uniquenessIndex.unregister(new Position("Driver"));
+
+        //then
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, "WI 44556")).isFalse();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CUSTOMER_EMAIL, "anna@mail.com")).isFalse();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.EMPLOYEE_PHONE_NUMBER, "502502502")).isFalse();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, "WA 12345")).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreNullValues() {
+        //given
+        stubRepositories();
+        uniquenessIndex.rebuild();
+
+        //when
+        uniquenessIndex.register(new Car());
+        uniquenessIndex.unregister(new Car());
+
+        //then
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, "WA 12345")).isTrue();
+    }
+
+    @Test
+    void shouldKeepValuesCommittedAcrossRebuild() {
+        //given
+        stubRepositories();
+        uniquenessIndex.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+        uniquenessIndex.register(new Car("Audi", "A4", 2023, "WI 44556", new BigDecimal(300)));
+        uniquenessIndex.unregister(new Car("BMW", "M3", 2024, "WA 12345", new BigDecimal(500)));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        //when
+        uniquenessIndex.rebuild(UniqueKey.CAR_REGISTRATION_NUMBER);
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        //then
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, "WI 44556")).isTrue();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, "WA 12345")).isTrue();
+    }
+
+    @Test
+    void shouldRebuildOnlyOverloadedFilters() {
+        //given
+        stubRepositories();
+        uniquenessIndex.rebuild();
+        for (int i = 0; i < 1100; i++) {
+            uniquenessIndex.register(new Car("Audi", "A4", 2023, "WI " + i, new BigDecimal(300)));
+        }
+
+        //when
+        uniquenessIndex.rebuildOverloaded();
+
+        //then
+        verify(carRepositoryMock, times(2)).findAllRegistrationNumbers();
+        verify(customerRepositoryMock, times(1)).findAllEmails();
+        assertThat(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, "WA 12345")).isTrue();
+    }
+
+    private void stubRepositories() {
+        when(carRepositoryMock.count()).thenReturn(1L);
+        when(customerRepositoryMock.count()).thenReturn(1L);
+        when(employeeRepositoryMock.count()).thenReturn(1L);
+        when(carRepositoryMock.findAllRegistrationNumbers()).thenReturn(new ArrayList<>(List.of("WA 12345")));
+        when(customerRepositoryMock.findAllEmails()).thenReturn(List.of("jan@mail.com"));
+        when(customerRepositoryMock.findAllPhoneNumbers()).thenReturn(List.of("505606707"));
+        when(customerRepositoryMock.findAllDrivingLicenseNumbers()).thenReturn(List.of("PPX 12512"));
+        when(employeeRepositoryMock.findAllEmails()).thenReturn(List.of("ola@firma.pl"));
+        when(employeeRepositoryMock.findAllPhoneNumbers()).thenReturn(List.of("600700800"));
+    }
+}
@@ -0,0 +1,87 @@
+package pl.kurs.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledTemplateTest {
+    private static final Map<String, Function<String[], ?>> VARIABLES = Map.of(
+            "first", values -> values[0],
+            "second", values -> values[1]);
+
+    @Test
+    void shouldRenderLiteralsAndVariablesInOrder() {
+        //given
+        CompiledTemplate template = CompiledTemplate.compile("Hi {{first}}, meet {{ second }} and {{first}}!");
+
+        //when
+        String rendered = template.<String[]>bind(VARIABLES).render(new String[]{"Anna", "Jan"});
+
+        //then
+        assertThat(template.getVariables()).containsExactly("first", "second", "first");
+        assertThat(rendered).isEqualTo("Hi Anna, meet Jan and Anna!");
+    }
+
+    @Test
+    void shouldRenderTemplateWithoutVariables() {
+        //when
+        String rendered = CompiledTemplate.compile("Plain text").<String[]>bind(VARIABLES).render(new String[0]);
+
+        //then
+        assertThat(rendered).isEqualTo("Plain text");
+    }
+
+    @Test
+    void shouldAppendToProvidedBuilder() {
+        //given
+        BoundTemplate<String[]> template = CompiledTemplate.compile("{{first}}-{{second}}").bind(VARIABLES);
+        StringBuilder target = new StringBuilder("> ");
+
+        //when
+        template.renderTo(target, new String[]{"A", null});
+
+        //then
+        assertThat(target).hasToString("> A-null");
+    }
+
+    @Test
+    void shouldRenderLargeOutputRepeatedly() {
+        //given
+        BoundTemplate<String[]> template = CompiledTemplate.compile("{{first}}{{first}}").bind(VARIABLES);
+        String large = "x".repeat(20_000);
+
+        //when
+        String first = template.render(new String[]{large});
+        String second = template.render(new String[]{"y"});
+
+        //then
+        assertThat(first).hasSize(40_000);
+        assertThat(second).isEqualTo("yy");
+    }
+
+    @Test
+    void shouldRejectUnknownVariableWhenBinding() {
+        //given
+        CompiledTemplate template = CompiledTemplate.compile("Hi {{third}}");
+
+        //when then
+        assertThatThrownBy(() -> template.bind(VARIABLES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown template variable: third");
+    }
+
+    @Test
+    void shouldRejectMalformedPlaceholders() {
+        //when then
+        assertThatThrownBy(() -> CompiledTemplate.compile("Hi {{first"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unterminated placeholder at position 3");
+        assertThatThrownBy(() -> CompiledTemplate.compile("Hi {{ }}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Empty placeholder at position 3");
+    }
+}
@@ -0,0 +1,114 @@
+package pl.kurs.template;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TemplateRegistryTest {
+    private static final Map<String, Function<String, ?>> NAME = Map.of("name", Function.identity());
+
+    @TempDir
+    private Path templatesDirectory;
+
+    private TemplateRegistry templateRegistry;
+
+    @BeforeEach
+    void setUp() {
+        templateRegistry = new TemplateRegistry(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(templateRegistry, "location", templatesDirectory.toUri().toString());
+    }
+
+    @Test
+    void shouldResolveMostSpecificLocaleVariant() throws IOException {
+        //given
+        write("greeting.txt", "Hello {{name}}\n");
+        write("greeting_pl.txt", "Cześć {{name}}\n");
+        write("greeting_pl_PL.txt", "Dzień dobry {{name}}\r\n");
+
+        //then
+        assertThat(render(Locale.ENGLISH)).isEqualTo("Hello Anna");
+        assertThat(render(Locale.UK)).isEqualTo("Hello Anna");
+        assertThat(render(Locale.of("pl"))).isEqualTo("Cześć Anna");
+        assertThat(render(Locale.of("pl", "PL"))).isEqualTo("Dzień dobry Anna");
+        assertThat(render(Locale.ROOT)).isEqualTo("Hello Anna");
+    }
+
+    @Test
+    void shouldCacheCompiledTemplateWhenHotReloadIsDisabled() throws IOException {
+        //given
+        write("greeting.txt", "Hello {{name}}");
+        CompiledTemplate first = templateRegistry.getTemplate("greeting", Locale.ENGLISH);
+
+        //when
+        write("greeting.txt", "Welcome {{name}}");
+        touch("greeting.txt");
+
+        //then
+        assertThat(templateRegistry.getTemplate("greeting", Locale.ENGLISH)).isSameAs(first);
+    }
+
+    @Test
+    void shouldReloadModifiedTemplateWhenHotReloadIsEnabled() throws IOException {
+        //given
+        ReflectionTestUtils.setField(templateRegistry, "hotReload", true);
+        write("greeting.txt", "Hello {{name}}");
+        CompiledTemplate first = templateRegistry.getTemplate("greeting", Locale.ENGLISH);
+        assertThat(templateRegistry.getTemplate("greeting", Locale.ENGLISH)).isSameAs(first);
+
+        //when
+        write("greeting.txt", "Welcome {{name}}");
+        touch("greeting.txt");
+
+        //then
+        assertThat(render(Locale.ENGLISH)).isEqualTo("Welcome Anna");
+    }
+
+    @Test
+    void shouldFailForMissingTemplate() {
+        //when then
+        assertThatThrownBy(() -> templateRegistry.getTemplate("missing", Locale.ENGLISH))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Template not found: missing for locale: en");
+    }
+
+    @Test
+    void shouldLoadBundledReminderTemplates() {
+        //given
+        ReflectionTestUtils.setField(templateRegistry, "location", "classpath:templates/");
+
+        //when
+        CompiledTemplate english = templateRegistry.getTemplate("reminders/customer-reminder", Locale.ENGLISH);
+        CompiledTemplate polish = templateRegistry.getTemplate("reminders/employee-reminder", Locale.of("pl", "PL"));
+
+        //then
+        assertThat(english.getVariables()).contains("customerFirstName", "reservationId");
+        assertThat(polish.getVariables()).contains("carRegistrationNumber", "customerPhoneNumber");
+    }
+
+    private String render(Locale locale) {
+        return templateRegistry.getTemplate("greeting", locale).<String>bind(NAME).render("Anna");
+    }
+
+    private void write(String fileName, String content) throws IOException {
+        Files.writeString(templatesDirectory.resolve(fileName), content, StandardCharsets.UTF_8);
+    }
+
+    private void touch(String fileName) throws IOException {
+        Path file = templatesDirectory.resolve(fileName);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5_000));
+    }
+}
@@ -0,0 +1,78 @@
+package pl.kurs.validation;
+
+import jakarta.validation.ConstraintValidatorContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.kurs.dto.CustomerDto;
+import pl.kurs.service.UniqueFieldsService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniqueCustomerValidatorTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private ConstraintValidatorContext context;
+
+    @Mock
+    private UniqueFieldsService uniqueFieldsService;
+
+    private UniqueCustomerValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new UniqueCustomerValidator(uniqueFieldsService);
+    }
+
+    @Test
+    void shouldReturnTrueWhenCustomerIsNull() {
+        //when
+        boolean result = validator.isValid(null, context);
+
+        //then
+        assertTrue(result);
+        verifyNoInteractions(uniqueFieldsService);
+    }
+
+    @Test
+    void shouldReturnTrueWhenNoFieldCollides() {
+        //given
+        CustomerDto customerDto = new CustomerDto(3L, "Jan", "Kowalski", "jan@mail.com", "505606707", "PPX 12512");
+        when(uniqueFieldsService.findCustomerConflicts(3L, "jan@mail.com", "505606707", "PPX 12512")).thenReturn(Map.of());
+
+        //when
+        boolean result = validator.isValid(customerDto, context);
+
+        //then
+        assertTrue(result);
+        verifyNoInteractions(context);
+    }
+
+    @Test
+    void shouldReportEachCollidingField() {
+        //given
+        CustomerDto customerDto = new CustomerDto(3L, "Jan", "Kowalski", "jan@mail.com", "505606707", "PPX 12512");
+        Map<String, String> conflicts = new LinkedHashMap<>();
+        conflicts.put("email", "Customer e-mail already exists");
+        conflicts.put("phoneNumber", "Customer phone number already exists");
+        when(uniqueFieldsService.findCustomerConflicts(3L, "jan@mail.com", "505606707", "PPX 12512")).thenReturn(conflicts);
+
+        //when
+        boolean result = validator.isValid(customerDto, context);
+
+        //then
+        assertFalse(result);
+        verify(context).disableDefaultConstraintViolation();
+        verify(context.buildConstraintViolationWithTemplate("Customer e-mail already exists")).addPropertyNode("email");
+        verify(context.buildConstraintViolationWithTemplate("Customer phone number already exists")).addPropertyNode("phoneNumber");
+    }
+}
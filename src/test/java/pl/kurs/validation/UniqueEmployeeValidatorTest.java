@@ -0,0 +1,73 @@
+package pl.kurs.validation;
+
+import jakarta.validation.ConstraintValidatorContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.kurs.dto.EmployeeDto;
+import pl.kurs.service.UniqueFieldsService;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniqueEmployeeValidatorTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private ConstraintValidatorContext context;
+
+    @Mock
+    private UniqueFieldsService uniqueFieldsService;
+
+    private UniqueEmployeeValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new UniqueEmployeeValidator(uniqueFieldsService);
+    }
+
+    @Test
+    void shouldReturnTrueWhenEmployeeIsNull() {
+        //when
+        boolean result = validator.isValid(null, context);
+
+        //then
+        assertTrue(result);
+        verifyNoInteractions(uniqueFieldsService);
+    }
+
+    @Test
+    void shouldReturnTrueWhenNoFieldCollides() {
+        //given
+        EmployeeDto employeeDto = new EmployeeDto(2L, "Ola", "Lis", 1L, "600700800", "ola@firma.pl");
+        when(uniqueFieldsService.findEmployeeConflicts(2L, "ola@firma.pl", "600700800")).thenReturn(Map.of());
+
+        //when
+        boolean result = validator.isValid(employeeDto, context);
+
+        //then
+        assertTrue(result);
+    }
+
+    @Test
+    void shouldReportCollidingField() {
+        //given
+        EmployeeDto employeeDto = new EmployeeDto(2L, "Ola", "Lis", 1L, "600700800", "ola@firma.pl");
+        when(uniqueFieldsService.findEmployeeConflicts(2L, "ola@firma.pl", "600700800"))
+                .thenReturn(Map.of("email", "Employee e-mail already exists"));
+
+        //when
+        boolean result = validator.isValid(employeeDto, context);
+
+        //then
+        assertFalse(result);
+        verify(context).disableDefaultConstraintViolation();
+        verify(context.buildConstraintViolationWithTemplate("Employee e-mail already exists")).addPropertyNode("email");
+    }
+}
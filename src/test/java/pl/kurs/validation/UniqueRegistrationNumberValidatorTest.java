@@ -7,6 +7,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import pl.kurs.repository.CarRepository;
+import pl.kurs.service.UniqueKey;
+import pl.kurs.service.UniquenessIndex;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -22,11 +24,14 @@ class UniqueRegistrationNumberValidatorTest {
     @Mock
     private CarRepository carRepository;
 
+    @Mock
+    private UniquenessIndex uniquenessIndex;
+
     private UniqueRegistrationNumberValidator validator;
 
     @BeforeEach
     void setUp() {
-        validator = new UniqueRegistrationNumberValidator(carRepository);
+        validator = new UniqueRegistrationNumberValidator(carRepository, uniquenessIndex);
     }
 
     @Test
@@ -53,6 +58,7 @@ class UniqueRegistrationNumberValidatorTest {
     void shouldReturnTrueWhenRegistrationNumberDoesNotExist() {
         //given
         String registrationNumber = "WA 12345";
+        when(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, registrationNumber)).thenReturn(true);
         when(carRepository.existsByRegistrationNumber(registrationNumber)).thenReturn(false);
 
         //when
@@ -66,6 +72,7 @@ class UniqueRegistrationNumberValidatorTest {
     void shouldReturnFalseWhenRegistrationNumberAlreadyExists() {
         //given
         String registrationNumber = "WA 12345";
+        when(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, registrationNumber)).thenReturn(true);
         when(carRepository.existsByRegistrationNumber(registrationNumber)).thenReturn(true);
 
         //when
@@ -75,4 +82,18 @@ class UniqueRegistrationNumberValidatorTest {
         assertFalse(result);
     }
 
+    @Test
+    void shouldSkipDatabaseWhenRegistrationNumberIsAbsentFromIndex() {
+        //given
+        String registrationNumber = "WA 12345";
+        when(uniquenessIndex.mightContain(UniqueKey.CAR_REGISTRATION_NUMBER, registrationNumber)).thenReturn(false);
+
+        //when
+        boolean result = validator.isValid(registrationNumber, context);
+
+        //then
+        assertTrue(result);
+        verifyNoInteractions(carRepository);
+    }
+
 }
\ No newline at end of file